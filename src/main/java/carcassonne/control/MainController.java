@@ -5,7 +5,7 @@ import java.lang.reflect.InvocationTargetException;
 
 import carcassonne.control.state.StateMachine;
 import carcassonne.model.ai.ArtificialIntelligence;
-import carcassonne.model.ai.RuleBasedAI;
+import carcassonne.model.ai.PlayerSpecificAI;
 import carcassonne.model.grid.GridDirection;
 import carcassonne.settings.GameSettings;
 import carcassonne.view.GlobalKeyBindingManager;
@@ -34,7 +34,7 @@ public class MainController implements ControllerFacade {
     public MainController() {
         settings = new GameSettings();
         createUserInterface();
-        ArtificialIntelligence playerAI = new RuleBasedAI(settings);
+        ArtificialIntelligence playerAI = new PlayerSpecificAI(settings);
         ViewFacade views = new ViewFacade(mainView, tileView, meepleView);
         stateMachine = new StateMachine(views, playerAI, settings);
     }
@@ -1,5 +1,7 @@
 package carcassonne.control.state;
 
+import java.util.Map;
+
 import carcassonne.model.Player;
 import carcassonne.model.Round;
 import carcassonne.model.ai.ArtificialIntelligence;
@@ -8,7 +10,9 @@ import carcassonne.model.grid.GridDirection;
 import carcassonne.model.grid.GridSpot;
 import carcassonne.model.tile.Tile;
 import carcassonne.model.tile.TileStack;
+import carcassonne.model.tile.TileType;
 import carcassonne.settings.GameSettings;
+import carcassonne.util.RandomStreams;
 import carcassonne.view.ViewFacade;
 
 /**
@@ -106,7 +110,11 @@ public abstract class AbstractGameState { // TODO (HIGH) [AI] separate human mov
      */
     protected void startNewRound(int playerCount) {
         Grid newGrid = new Grid(settings.getGridWidth(), settings.getGridHeight(), settings.isAllowingEnclaves());
-        TileStack tileStack = new TileStack(settings.getTileDistribution(), settings.getStackSizeMultiplier());
+        RandomStreams random = settings.createRandomStreams();
+        TileStack tileStack = new TileStack(settings.getTileDistribution(), settings.getStackSizeMultiplier(), random);
+        tileStack.registerChangeListener(() -> updateStackSize(tileStack)); // on every draw and return
+        playerAI.prepareForGame(random);
+        newGrid.setRemainingTiles(tileStack.getTileQuantities()); // before dealing, the stack contains all remaining tiles
         Round newRound = new Round(playerCount, tileStack, newGrid, settings);
         stateMachine.updateStates(newRound, tileStack, newGrid);
         updateScores();
@@ -150,10 +158,10 @@ public abstract class AbstractGameState { // TODO (HIGH) [AI] separate human mov
     }
 
     /**
-     * Updates the label which displays the current stack size.
+     * Updates the label which displays the current stack size and the remaining tiles per type.
      */
     protected void updateStackSize() {
-        views.onScoreboard(it -> it.updateStackSize(tileStack.getSize()));
+        updateStackSize(tileStack);
     }
 
     /**
@@ -167,4 +175,10 @@ public abstract class AbstractGameState { // TODO (HIGH) [AI] separate human mov
             }
         }
     }
+
+    private void updateStackSize(TileStack stack) {
+        int size = stack.getSize(); // retrieved before scheduling, the stack may change in the meantime
+        Map<TileType, Integer> quantities = stack.getTileQuantities();
+        views.onScoreboard(it -> it.updateStackSize(size, quantities));
+    }
 }
@@ -14,6 +14,7 @@ import carcassonne.view.util.GameMessage;
 public class StateGameOver extends AbstractGameState {
 
     private static final String GAME_OVER_MESSAGE = "The game is over. Winning player(s): ";
+    private static final String GAME_SEED = "\nGame seed: ";
 
     /**
      * Constructor of the state.
@@ -75,6 +76,7 @@ public class StateGameOver extends AbstractGameState {
      */
     @Override
     protected void entry() {
+        playerAI.finishGame(); // every game ends in this state, whether it is finished or aborted
         System.out.println("FINAL PATTERNS:"); // TODO (LOW) [PRINT] remove debug output
         for (GridPattern pattern : grid.getAllPatterns()) {
             System.out.println(pattern); // TODO (LOW) [PRINT] remove debug output
@@ -83,7 +85,7 @@ public class StateGameOver extends AbstractGameState {
         updateScores();
         updateStackSize();
         views.onMainView(it -> it.resetMenuState());
-        GameMessage.showMessage(GAME_OVER_MESSAGE + round.winningPlayers());
+        GameMessage.showMessage(GAME_OVER_MESSAGE + round.winningPlayers() + GAME_SEED + settings.getCurrentSeed());
         views.showGameStatistics(round);
     }
 
@@ -79,7 +79,9 @@ public class StatePlacing extends AbstractGameState {
 
     private void skipPlacingTile() {
         Tile tile = getTileToDrop();
-        tileStack.putBack(tile);
+        if (!tileStack.putBack(tile)) {
+            grid.discard(tile); // the tile leaves the game
+        }
         if (!round.getActivePlayer().dropTile(tile)) {
             throw new IllegalStateException("Cannot drop tile " + tile + "from player " + round.getActivePlayer());
         }
@@ -105,6 +107,10 @@ public class StatePlacing extends AbstractGameState {
     }
 
     private void placeTileWithAI(Player player) {
+        if (player.getHandOfTiles().stream().noneMatch(grid::hasLegalPlacement)) {
+            skipPlacingTile(); // no need to search for moves
+            return;
+        }
         Optional<AbstractCarcassonneMove> bestMove = playerAI.calculateBestMoveFor(player.getHandOfTiles(), player, grid, tileStack);
         if (bestMove.isEmpty()) {
             skipPlacingTile();
@@ -118,7 +124,7 @@ public class StatePlacing extends AbstractGameState {
 
     private Tile getTileToDrop() {
         if (round.getActivePlayer().isComputerControlled()) {
-            return playerAI.chooseTileToDrop(round.getActivePlayer().getHandOfTiles());
+            return playerAI.chooseTileToDrop(round.getActivePlayer().getHandOfTiles(), round.getActivePlayer(), grid);
         }
         return views.getSelectedTile();
     }
@@ -143,14 +149,13 @@ public class StatePlacing extends AbstractGameState {
         if (!player.hasFullHand() && !tileStack.isEmpty()) {
             player.addTile(tileStack.drawTile());
         }
-        updateStackSize();
         if (round.isOver()) {
             changeState(StateGameOver.class);
         } else if (player.isComputerControlled()) {
             waitForUI();
             placeTileWithAI(player);
         } else {
-            views.onTileView(it -> it.setTiles(player));
+            views.onTileView(it -> it.setTiles(player, grid));
         }
     }
 
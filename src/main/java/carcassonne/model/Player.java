@@ -89,14 +89,6 @@ public class Player {
         return freeMeeples;
     }
 
-    /**
-     * Returns the number of placed meeples that cannot be retrieved, meaning placed on a field.
-     * @return the number of placed fields meeples.
-     */
-    public int getUnretrievableMeeples() {
-        return (int) placedMeeples.stream().filter(it -> it.getType() == TerrainType.FIELDS).count();
-    }
-
     /**
      * Gives read access to the hand of tiles.
      * @return the hand of tiles.
@@ -0,0 +1,49 @@
+package carcassonne.model.ai;
+
+import java.util.function.Function;
+
+import carcassonne.model.ai.ParallelMonteCarloAI.Parallelization;
+import carcassonne.settings.GameSettings;
+
+/**
+ * The strategies that computer-controlled players can use, which can be selected for each player.
+ * @author Timur Saglam
+ */
+public enum AIStrategy {
+    RULE_BASED("Rule-Based", RuleBasedAI::new),
+    MONTE_CARLO("Monte Carlo", MonteCarloAI::new),
+    EXPECTIMINIMAX("Expectiminimax", ExpectiminimaxAI::new),
+    TREE_PARALLEL_MONTE_CARLO("Tree-Parallel Monte Carlo", ParallelMonteCarloAI::new),
+    ROOT_PARALLEL_MONTE_CARLO("Root-Parallel Monte Carlo",
+            it -> new ParallelMonteCarloAI(it, Parallelization.ROOT, Runtime.getRuntime().availableProcessors()));
+
+    private final String description;
+    private final Function<GameSettings, ArtificialIntelligence> factory;
+
+    AIStrategy(String description, Function<GameSettings, ArtificialIntelligence> factory) {
+        this.description = description;
+        this.factory = factory;
+    }
+
+    /**
+     * Creates a new AI that employs this strategy.
+     * @param settings are the game settings.
+     * @return the AI.
+     */
+    public ArtificialIntelligence createAI(GameSettings settings) {
+        return factory.apply(settings);
+    }
+
+    /**
+     * Returns a readable name of the strategy.
+     * @return the textual description.
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public String toString() {
+        return description;
+    }
+}
@@ -9,13 +9,16 @@ import carcassonne.model.grid.GridDirection;
 import carcassonne.model.grid.GridPattern;
 import carcassonne.model.grid.GridSpot;
 import carcassonne.model.terrain.TerrainType;
+import carcassonne.model.tile.OrientedTile;
 import carcassonne.model.tile.Tile;
 import carcassonne.model.tile.TileRotation;
 import carcassonne.settings.GameSettings;
 
 /**
  * Represents a single move of a player, consisting of a placement of a tile and optionally a placement of a meeple on
- * that tile.
+ * that tile. A move is a lightweight descriptor that is only evaluated once its value is requested. Until then, it can
+ * provide cheap upper bounds of its value, which allows to skip the evaluation of moves that cannot be the best move.
+ * The evaluation requires the grid to be in the same state as when the move was created.
  * @author Timur Saglam
  */
 public abstract class AbstractCarcassonneMove implements Comparable<AbstractCarcassonneMove> {
@@ -26,11 +29,12 @@ public abstract class AbstractCarcassonneMove implements Comparable<AbstractCarc
     protected final GridDirection meeplePosition;
     protected final GameSettings settings;
     protected final TemporaryTile tile;
-    private final double value;
+    private double value;
+    private boolean evaluated;
     protected double fieldValue;
 
     /**
-     * Creates the move. Does not check if the move is legal.
+     * Creates the move. Does not check if the move is legal and does not evaluate the move yet.
      * @param tile is the tile placed in the move. Needs to be assigned to a {@link GridSpot}.
      * @param meeplePosition is the position on which the meeple is placed on the tile.
      * @param actingPlayer is the player that is executing the move.
@@ -46,7 +50,6 @@ public abstract class AbstractCarcassonneMove implements Comparable<AbstractCarc
         }
         fieldValue = Double.NaN; // field score not yet set
         gridSpot = tile.getGridSpot();
-        value = calculateValue();
     }
 
     @Override
@@ -67,9 +70,19 @@ public abstract class AbstractCarcassonneMove implements Comparable<AbstractCarc
      * @return how many more meeples where retrieved than placed.
      */
     public int getGainedMeeples() {
+        evaluate();
         return gainedMeeples;
     }
 
+    /**
+     * Returns an upper bound of the gained meeples, which does not require the evaluation of this move.
+     * @return the upper bound, which is exact if the move was already evaluated.
+     * @see AbstractCarcassonneMove#getGainedMeeples()
+     */
+    public int getGainedMeeplesUpperBound() {
+        return evaluated ? gainedMeeples : estimateGainedMeeples();
+    }
+
     /**
      * Getter for the meeplePosition of the meeple placement.
      * @return the meeplePosition or null if no meeple is placed.
@@ -90,13 +103,22 @@ public abstract class AbstractCarcassonneMove implements Comparable<AbstractCarc
     }
 
     /**
-     * Getter for the tile placed in this move.
-     * @return the tile with the correct rotation.
+     * Getter for the tile placed in this move. The tile is not rotated by the move generation.
+     * @return the original tile, which might not have the required rotation yet.
+     * @see AbstractCarcassonneMove#getRequiredTileRotation()
      */
     public Tile getOriginalTile() {
         return tile.getOriginal();
     }
 
+    /**
+     * Getter for the tile placed in this move in the rotation it is placed with.
+     * @return the immutable view of the original tile in the required rotation.
+     */
+    public OrientedTile getOrientedTile() {
+        return tile.getOrientedOriginal();
+    }
+
     /**
      * Specifies which rotation needs to be applied to the original tile in order to correctly place it.
      * @return the rotation rotation for this move.
@@ -110,14 +132,25 @@ public abstract class AbstractCarcassonneMove implements Comparable<AbstractCarc
      * @return the combined value.
      */
     public double getValue() {
+        evaluate();
         return value;
     }
 
+    /**
+     * Returns an upper bound of the combined value, which does not require the evaluation of this move.
+     * @return the upper bound, which is exact if the move was already evaluated.
+     * @see AbstractCarcassonneMove#getValue()
+     */
+    public double getValueUpperBound() {
+        return evaluated ? value : estimateValue();
+    }
+
     /**
      * Getter for the value of the move regarding field patterns.
      * @return the field value.
      */
     public double getFieldValue() {
+        evaluate();
         return fieldValue;
     }
 
@@ -137,6 +170,14 @@ public abstract class AbstractCarcassonneMove implements Comparable<AbstractCarc
         return gridSpot.getY();
     }
 
+    /**
+     * Checks whether the move was already evaluated, which means its value is known.
+     * @return true if it was.
+     */
+    public boolean isEvaluated() {
+        return evaluated;
+    }
+
     /**
      * Determines if a meeple is placed as part of this move.
      * @return true if it does.
@@ -156,7 +197,7 @@ public abstract class AbstractCarcassonneMove implements Comparable<AbstractCarc
     @Override
     public String toString() {
         String meeple = involvesMeeplePlacement() ? tile.getTerrain(meeplePosition) + " on " + meeplePosition : "without meeple";
-        return getClass().getSimpleName() + " for " + actingPlayer.getName() + " with value " + value + " (field value: " + fieldValue + "): "
+        return getClass().getSimpleName() + " for " + actingPlayer.getName() + " with value " + getValue() + " (field value: " + fieldValue + "): "
                 + tile.getType() + " " + meeple + " " + gridSpot;
     }
 
@@ -178,4 +219,56 @@ public abstract class AbstractCarcassonneMove implements Comparable<AbstractCarc
      */
     protected abstract double calculateValue();
 
+    /**
+     * Estimates an upper bound of the gained meeples without evaluating the move.
+     * @return the upper bound, by default the maximal integer value.
+     */
+    protected int estimateGainedMeeples() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Estimates an upper bound of the combined value without evaluating the move.
+     * @return the upper bound, by default positive infinity.
+     */
+    protected double estimateValue() {
+        return Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Sets the evaluation of the move if it was already evaluated in its packed form.
+     * @param presetValue is the value of the move.
+     * @param presetFieldValue is the value of the move regarding field patterns.
+     * @param presetGainedMeeples is the number of gained meeples.
+     */
+    void presetEvaluation(double presetValue, double presetFieldValue, int presetGainedMeeples) {
+        value = presetValue;
+        fieldValue = presetFieldValue;
+        gainedMeeples = presetGainedMeeples;
+        evaluated = true;
+    }
+
+    /**
+     * Evaluates the move if it was not evaluated yet. The tile is placed temporarily if it is not placed anymore.
+     */
+    private void evaluate() {
+        if (!evaluated) {
+            boolean placed = gridSpot.getTile() == tile;
+            if (!placed && gridSpot.isOccupied()) {
+                throw new IllegalStateException("Grid changed since the creation of the move: " + gridSpot);
+            }
+            try {
+                if (!placed) {
+                    gridSpot.forcePlacement(tile);
+                }
+                value = calculateValue();
+                evaluated = true;
+            } finally {
+                if (!placed) {
+                    gridSpot.removeTile();
+                }
+            }
+        }
+    }
+
 }
\ No newline at end of file
@@ -7,6 +7,7 @@ import carcassonne.model.Player;
 import carcassonne.model.grid.Grid;
 import carcassonne.model.tile.Tile;
 import carcassonne.model.tile.TileStack;
+import carcassonne.util.RandomStreams;
 
 public interface ArtificialIntelligence {
     /**
@@ -27,8 +28,25 @@ public interface ArtificialIntelligence {
     /**
      * Determines which tile to drop when the AI is skipping a turn.
      * @param tiles is a list of tiles to drop.
+     * @param player is the player who skips the turn.
+     * @param grid is the grid on which the tiles could not be placed.
      * @return the best tile to drop.
      */
-    public Tile chooseTileToDrop(Collection<Tile> tiles);
+    public Tile chooseTileToDrop(Collection<Tile> tiles, Player player, Grid grid);
+
+    /**
+     * Releases the resources that the AI holds for the current game, such as threads. The AI can be prepared for another
+     * game afterwards.
+     */
+    public default void finishGame() {
+        // most AIs hold no resources.
+    }
+
+    /**
+     * Prepares the AI for a new game. All random decisions of the AI are derived from the random streams of that game,
+     * which makes them reproducible.
+     * @param random are the random streams of the game.
+     */
+    public void prepareForGame(RandomStreams random);
 
 }
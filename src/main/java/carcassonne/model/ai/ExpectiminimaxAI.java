@@ -0,0 +1,383 @@
+package carcassonne.model.ai;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import carcassonne.model.Player;
+import carcassonne.model.grid.Grid;
+import carcassonne.model.tile.Tile;
+import carcassonne.model.tile.TileStack;
+import carcassonne.model.tile.TileType;
+import carcassonne.settings.GameSettings;
+import carcassonne.util.RandomStreams;
+
+/**
+ * AI based on a depth-limited expectiminimax search. The search alternates between the decisions of the players and the
+ * tile draws before every following decision, which are chance nodes weighted by the remaining tiles of the tile stack.
+ * The other players are assumed to minimize the value of the searching player, and every move is valued by its zero-sum
+ * value on a {@link SearchState}. The values of the moves are clamped, which bounds the values of the chance nodes and
+ * allows to prune them: every chance node first probes each drawn tile with its best ordered move (Star2) and then
+ * searches the drawn tiles with windows derived from the bounds of the other tiles (Star1). The search is deepened
+ * iteratively until the maximal depth is searched or the time budget of the game settings is exhausted, and searches the
+ * best move of the previous iteration first. If the game settings limit the iterations instead, the search deepens up to
+ * that many plies without time limit. The moves are ordered by their values on the grid when the tile was first
+ * considered for the player, and equal values are ordered by the {@link RuleBasedComparator}. Moves on spots that did not
+ * exist at that point are searched first, as they are next to the moves that led to the decision. Only the best ordered
+ * moves of the decisions on the second ply, the replies to the first move, are searched. All other decisions are searched
+ * in full width.
+ * @author Timur Saglam
+ */
+public class ExpectiminimaxAI implements ArtificialIntelligence {
+    private static final int MAXIMAL_DEPTH = 3; // plies
+    private static final int MAXIMAL_BRANCHING = 8; // searched moves per decision on the second ply
+    private static final double VALUE_BOUND = 50; // maximal absolute value of a move in points
+    private static final TileType[] TYPES = TileType.values();
+    private final GameSettings settings;
+    private final MoveList possibleMoves; // reused for every decision
+    private final ZeroSumEvaluator evaluator; // reused for every decision
+    private RandomStreams random;
+    private Optional<AbstractCarcassonneMove> currentMove;
+    private SearchState state;
+    private RuleBasedComparator comparator;
+    private OrderingTable[][] orderingTables; // by player number and tile type ordinal, created on demand
+    private int searchingPlayer;
+    private int iterationDepth; // depth of the current iteration of the deepening
+    private long deadline;
+    private boolean aborted;
+    private int searchedDepth;
+
+    /**
+     * Creates the AI.
+     * @param settings are the game settings, which contain the search budget.
+     */
+    public ExpectiminimaxAI(GameSettings settings) {
+        this.settings = settings;
+        possibleMoves = new MoveList();
+        evaluator = new ZeroSumEvaluator(settings);
+        random = RandomStreams.withRandomSeed(); // until the AI is prepared for a specific game
+        currentMove = Optional.empty();
+    }
+
+    @Override
+    public Optional<AbstractCarcassonneMove> calculateBestMoveFor(Collection<Tile> tiles, Player player, Grid grid, TileStack stack) {
+        currentMove = Optional.empty();
+        searchedDepth = 0;
+        List<Tile> hand = new ArrayList<>(tiles);
+        possibleMoves.clear();
+        grid.generatePossibleMoves(hand, player, settings, possibleMoves);
+        if (possibleMoves.size() > 0) {
+            deadline = MonteCarloAI.deadlineOf(settings);
+            evaluator.reset(grid, hand, player);
+            for (int index = 0; index < possibleMoves.size(); index++) {
+                evaluator.evaluate(possibleMoves, index);
+            }
+            state = new SearchState(grid, player, stack, settings);
+            comparator = new RuleBasedComparator(grid.getFoundation(), settings.getDistanceMeasure());
+            orderingTables = new OrderingTable[state.getPlayerCount()][TYPES.length];
+            searchingPlayer = player.getNumber();
+            int bestMove = searchRoot(hand.stream().map(Tile::getType).toArray(TileType[]::new));
+            currentMove = Optional.of(possibleMoves.createMove(bestMove, hand, grid, player, settings));
+            state = null; // the search state and the tables hold a copy of the grid
+            orderingTables = null;
+        }
+        return currentMove;
+    }
+
+    @Override
+    public Tile chooseTileToDrop(Collection<Tile> tiles, Player player, Grid grid) {
+        return RuleBasedAI.chooseUnplaceableTile(tiles, grid, random.forTileDropping());
+    }
+
+    @Override
+    public Optional<AbstractCarcassonneMove> getCurrentMove() {
+        return currentMove;
+    }
+
+    /**
+     * Returns the depth of the last completed iteration of the last search, which is zero if no iteration was completed.
+     * @return the depth in plies.
+     */
+    public int getSearchedDepth() {
+        return searchedDepth;
+    }
+
+    @Override
+    public void prepareForGame(RandomStreams random) {
+        this.random = random;
+    }
+
+    /**
+     * Searches the possible moves with iterative deepening. If an iteration is aborted, its best move is still chosen if
+     * it was found, as the best move of the previous iteration is always searched first.
+     * @return the index of the best move.
+     */
+    private int searchRoot(TileType[] tiles) {
+        Integer[] order = sortMoves(possibleMoves, tiles);
+        double[] values = new double[order.length];
+        int bestMove = order[0];
+        aborted = false;
+        int maximalDepth = Math.min(MAXIMAL_DEPTH, settings.getSearchIterations()); // one iteration per depth
+        for (int depth = 1; depth <= maximalDepth && !aborted; depth++) {
+            iterationDepth = depth;
+            double alpha = Double.NEGATIVE_INFINITY;
+            int iterationBest = -1;
+            for (int index = 0; index < order.length && !isAborted(); index++) {
+                int move = order[index];
+                long packedMove = possibleMoves.get(move);
+                double value = searchMove(packedMove, tiles[PackedMove.tileIndex(packedMove)], searchingPlayer, depth, alpha,
+                        Double.POSITIVE_INFINITY);
+                if (!aborted) {
+                    values[move] = value; // an upper bound if it does not exceed alpha
+                    if (value > alpha) {
+                        alpha = value;
+                        iterationBest = move;
+                    }
+                }
+            }
+            if (iterationBest >= 0) {
+                bestMove = iterationBest;
+            }
+            if (!aborted) {
+                searchedDepth = depth;
+            }
+            Arrays.sort(order, (first, second) -> Double.compare(values[second], values[first])); // stable, best move first
+        }
+        return bestMove;
+    }
+
+    /**
+     * Searches the decision of a player for a drawn tile.
+     * @param probing determines whether only the first ordered move is searched, which bounds the value of the decision.
+     * @return the value of the decision for the searching player, which is only a bound if it is outside of the window.
+     */
+    private double searchDecision(TileType tile, int player, int depth, double alpha, double beta, boolean probing) {
+        MoveList moves = new MoveList();
+        state.generateMoves(tile, player, moves);
+        Integer[] order = orderMoves(moves, tile, player);
+        boolean maximizing = player == searchingPlayer;
+        double bestValue = maximizing ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        int branching = depth == iterationDepth - 1 ? MAXIMAL_BRANCHING : Integer.MAX_VALUE; // forward pruning of the second ply
+        int searchedMoves = 0;
+        for (int index = 0; index < order.length && searchedMoves < branching && !isAborted(); index++) {
+            long packedMove = moves.get(order[index]);
+            if (state.isLegal(packedMove, tile, player)) {
+                double value = searchMove(packedMove, tile, player, depth, alpha, beta);
+                searchedMoves++;
+                if (maximizing) {
+                    bestValue = Math.max(bestValue, value);
+                    alpha = Math.max(alpha, value);
+                } else {
+                    bestValue = Math.min(bestValue, value);
+                    beta = Math.min(beta, value);
+                }
+                if (probing || alpha >= beta) {
+                    break;
+                }
+            }
+        }
+        if (searchedMoves == 0) { // the tile cannot be placed, the next player draws
+            return depth > 1 && state.getRemainingTiles() > 0 ? searchChance(state.nextPlayer(player), depth - 1, alpha, beta) : 0;
+        }
+        return bestValue;
+    }
+
+    /**
+     * Searches the tile draw before the decision of a player, first probing all tiles and then searching them one after
+     * another, until the bounds of the expected value do not overlap with the window.
+     * @return the expected value for the searching player, which is only a bound if it is outside of the window.
+     */
+    private double searchChance(int player, int depth, double alpha, double beta) {
+        List<TileType> tiles = new ArrayList<>();
+        for (TileType type : TYPES) {
+            if (state.getRemainingTiles(type) > 0) {
+                tiles.add(type);
+            }
+        }
+        double[] probabilities = tiles.stream().mapToDouble(it -> state.getRemainingTiles(it) / (double) state.getRemainingTiles()).toArray();
+        ChanceBounds bounds = new ChanceBounds(probabilities, depth * VALUE_BOUND);
+        boolean maximizing = player == searchingPlayer;
+        for (int tile = 0; tile < tiles.size() && !isAborted(); tile++) { // Star2: probe every tile
+            double childAlpha = bounds.childAlpha(tile, alpha);
+            double childBeta = bounds.childBeta(tile, beta);
+            double value = searchTile(tiles.get(tile), player, depth, childAlpha, childBeta, true);
+            if (maximizing && value > childAlpha) {
+                bounds.raiseLower(tile, value); // the best move is at least as good as the first move
+            } else if (!maximizing && value < childBeta) {
+                bounds.lowerUpper(tile, value);
+            }
+            if (bounds.getUpper() <= alpha || bounds.getLower() >= beta) {
+                return bounds.getUpper() <= alpha ? bounds.getUpper() : bounds.getLower();
+            }
+        }
+        for (int tile = 0; tile < tiles.size() && !isAborted(); tile++) { // Star1: search every tile
+            double childAlpha = bounds.childAlpha(tile, alpha);
+            double childBeta = bounds.childBeta(tile, beta);
+            double value = searchTile(tiles.get(tile), player, depth, childAlpha, childBeta, false);
+            if (value <= childAlpha) {
+                bounds.lowerUpper(tile, value);
+            } else if (value >= childBeta) {
+                bounds.raiseLower(tile, value);
+            } else {
+                bounds.raiseLower(tile, value);
+                bounds.lowerUpper(tile, value);
+            }
+            if (bounds.getUpper() <= alpha || bounds.getLower() >= beta) {
+                return bounds.getUpper() <= alpha ? bounds.getUpper() : bounds.getLower();
+            }
+        }
+        return bounds.getLower();
+    }
+
+    /**
+     * Plays a move and searches the following tile draw.
+     * @return the value of the move and the following plies for the searching player.
+     */
+    private double searchMove(long packedMove, TileType tile, int player, int depth, double alpha, double beta) {
+        double value = Math.max(-VALUE_BOUND, Math.min(state.play(packedMove, tile, player), VALUE_BOUND));
+        if (player != searchingPlayer) {
+            value = -value;
+        }
+        if (depth > 1 && state.getRemainingTiles() > 0) {
+            value += searchChance(state.nextPlayer(player), depth - 1, alpha - value, beta - value);
+        }
+        state.undo();
+        return value;
+    }
+
+    private double searchTile(TileType tile, int player, int depth, double alpha, double beta, boolean probing) {
+        state.drawTile(tile);
+        double value = searchDecision(tile, player, depth, alpha, beta, probing);
+        state.returnTile(tile);
+        return value;
+    }
+
+    private boolean isAborted() {
+        aborted = aborted || System.nanoTime() > deadline;
+        return aborted;
+    }
+
+    /**
+     * Orders the moves of a decision with the values of the ordering table of the player and tile, which is created when
+     * it is first needed.
+     */
+    private Integer[] orderMoves(MoveList moves, TileType tile, int player) {
+        OrderingTable table = orderingTables[player][tile.ordinal()];
+        if (table == null) {
+            table = new OrderingTable(moves, tile, player);
+            orderingTables[player][tile.ordinal()] = table;
+        }
+        table.copyEvaluationTo(moves);
+        return sortMoves(moves, tile);
+    }
+
+    /**
+     * Sorts the move indices by the upper bounds of the values and the rule-based comparator, the best move first.
+     */
+    private Integer[] sortMoves(MoveList moves, TileType... tiles) {
+        Integer[] order = IntStream.range(0, moves.size()).boxed().toArray(Integer[]::new);
+        Arrays.sort(order, (first, second) -> {
+            int valueDifference = Double.compare(moves.getValueUpperBound(second), moves.getValueUpperBound(first));
+            return valueDifference == 0 ? comparator.compare(moves, second, first, tiles) : valueDifference;
+        });
+        return order;
+    }
+
+    /**
+     * Bounds of the expected value of a chance node, which are tightened with every searched tile.
+     */
+    private static class ChanceBounds {
+        private final double[] probabilities;
+        private final double[] lower;
+        private final double[] upper;
+
+        ChanceBounds(double[] probabilities, double bound) {
+            this.probabilities = probabilities;
+            lower = new double[probabilities.length];
+            upper = new double[probabilities.length];
+            Arrays.fill(lower, -bound);
+            Arrays.fill(upper, bound);
+        }
+
+        /**
+         * Calculates the lower end of the window of a tile, below which the expected value cannot exceed alpha.
+         */
+        double childAlpha(int tile, double alpha) {
+            double others = getUpper() - probabilities[tile] * upper[tile];
+            return Math.max(lower[tile], (alpha - others) / probabilities[tile]);
+        }
+
+        /**
+         * Calculates the upper end of the window of a tile, above which the expected value cannot be below beta.
+         */
+        double childBeta(int tile, double beta) {
+            double others = getLower() - probabilities[tile] * lower[tile];
+            return Math.min(upper[tile], (beta - others) / probabilities[tile]);
+        }
+
+        double getLower() {
+            return expectation(lower);
+        }
+
+        double getUpper() {
+            return expectation(upper);
+        }
+
+        void lowerUpper(int tile, double value) {
+            upper[tile] = Math.min(upper[tile], value);
+        }
+
+        void raiseLower(int tile, double value) {
+            lower[tile] = Math.max(lower[tile], value);
+        }
+
+        private double expectation(double[] values) {
+            double expectation = 0;
+            for (int tile = 0; tile < values.length; tile++) {
+                expectation += probabilities[tile] * values[tile];
+            }
+            return expectation;
+        }
+    }
+
+    /**
+     * Values of the moves of a player with a tile on the grid when the table was created, which serve as a cheap
+     * estimate of their values on later grids. The meeple placements are only bounded by their tile placement.
+     */
+    private class OrderingTable {
+        private final MoveList moves;
+        private final Map<Long, Integer> indices;
+
+        OrderingTable(MoveList generatedMoves, TileType tile, int player) {
+            moves = new MoveList();
+            moves.addAll(generatedMoves);
+            state.evaluatePlacements(moves, tile, player);
+            indices = new HashMap<>();
+            for (int index = 0; index < moves.size(); index++) {
+                indices.put(moves.get(index), index);
+            }
+        }
+
+        /**
+         * Copies the evaluation of the known moves. Unknown tile placements remain unevaluated and are ordered first,
+         * unknown meeple placements are ordered last.
+         */
+        void copyEvaluationTo(MoveList target) {
+            for (int index = 0; index < target.size(); index++) {
+                Integer known = indices.get(target.get(index));
+                if (known != null && moves.isEvaluated(known)) {
+                    target.setEvaluation(index, moves.getValue(known), moves.getFieldValue(known), moves.getGainedMeeples(known));
+                } else if (known != null) {
+                    target.setUpperBounds(index, moves.getValueUpperBound(known), moves.getGainedMeeples(known));
+                } else if (PackedMove.hasMeeple(target.get(index))) {
+                    target.setUpperBounds(index, Double.NEGATIVE_INFINITY, 0);
+                }
+            }
+        }
+    }
+}
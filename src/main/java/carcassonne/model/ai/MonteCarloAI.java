@@ -0,0 +1,380 @@
+package carcassonne.model.ai;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import carcassonne.model.Player;
+import carcassonne.model.grid.Grid;
+import carcassonne.model.tile.Tile;
+import carcassonne.model.tile.TileStack;
+import carcassonne.model.tile.TileType;
+import carcassonne.settings.GameSettings;
+import carcassonne.util.RandomStreams;
+
+/**
+ * AI based on a Monte Carlo tree search with UCT selection. The tree alternates between the decisions of the players and
+ * the tile draws before every following decision, which are chance events weighted by the remaining tiles of the tile
+ * stack. Every playout descends the tree on a {@link SearchState} until it plays a move for the first time or reaches the
+ * maximal depth, and is valued by the sum of the zero-sum values of its moves. The game is too long to be played out
+ * randomly within a turn, but the zero-sum values already count the potential of the unfinished patterns. The moves of a
+ * decision are considered in the order of their values as evaluated by {@link ZeroSumEvaluator}, which also serve as
+ * priors that bias the selection of rarely visited moves. The number of considered moves grows with the visits of a
+ * decision, and the decisions after a move are only expanded once the move was visited a few times. As the value of a move
+ * only depends on its position in the tree, the moves are only played on the search state when they are valued for the
+ * first time or when a decision is expanded. The search conducts the iterations of the game settings, or as many playouts
+ * as fit into the search time if no iterations are set, and chooses the most visited move.
+ * @author Timur Saglam
+ */
+public class MonteCarloAI implements ArtificialIntelligence {
+    static final int MAXIMAL_DEPTH = 4; // moves per playout
+    static final double EXPLORATION = 0.5; // UCT exploration constant, relative to the value scale
+    static final double VALUE_SCALE = 10; // typical value spread in points
+    static final double WIDENING_FACTOR = 2; // considered moves per square root of the visits of a decision
+    static final int EXPANSION_THRESHOLD = 8; // visits of a move before the decisions after it are expanded
+    private final GameSettings settings;
+    private final MoveList possibleMoves; // reused for every decision
+    private final ZeroSumEvaluator evaluator; // reused for every decision
+    private final Decision[] path; // reused for every playout
+    private final int[] pathMoves;
+    private final TileType[] drawnTiles;
+    private RandomStreams random;
+    private SplittableRandom search; // tile draws of the current search
+    private Optional<AbstractCarcassonneMove> currentMove;
+    private int playouts;
+    private int searchingPlayer;
+
+    /**
+     * Creates the AI.
+     * @param settings are the game settings, which contain the search budget.
+     */
+    public MonteCarloAI(GameSettings settings) {
+        this.settings = settings;
+        possibleMoves = new MoveList();
+        evaluator = new ZeroSumEvaluator(settings);
+        path = new Decision[MAXIMAL_DEPTH];
+        pathMoves = new int[MAXIMAL_DEPTH];
+        drawnTiles = new TileType[MAXIMAL_DEPTH];
+        random = RandomStreams.withRandomSeed(); // until the AI is prepared for a specific game
+        currentMove = Optional.empty();
+    }
+
+    @Override
+    public Optional<AbstractCarcassonneMove> calculateBestMoveFor(Collection<Tile> tiles, Player player, Grid grid, TileStack stack) {
+        currentMove = Optional.empty();
+        playouts = 0;
+        List<Tile> hand = new ArrayList<>(tiles);
+        possibleMoves.clear();
+        grid.generatePossibleMoves(hand, player, settings, possibleMoves);
+        if (possibleMoves.size() > 0) {
+            SearchState state = new SearchState(grid, player, stack, settings);
+            evaluator.reset(grid, hand, player);
+            for (int index = 0; index < possibleMoves.size(); index++) {
+                evaluator.evaluate(possibleMoves, index);
+            }
+            TileType[] types = hand.stream().map(Tile::getType).toArray(TileType[]::new);
+            Decision root = searchTree(possibleMoves, types, state, random.forSearch(), deadlineOf(settings), settings.getSearchIterations());
+            currentMove = Optional.of(possibleMoves.createMove(root.getMostVisitedMove(), hand, grid, player, settings));
+        }
+        return currentMove;
+    }
+
+    @Override
+    public Tile chooseTileToDrop(Collection<Tile> tiles, Player player, Grid grid) {
+        return RuleBasedAI.chooseUnplaceableTile(tiles, grid, random.forTileDropping());
+    }
+
+    @Override
+    public Optional<AbstractCarcassonneMove> getCurrentMove() {
+        return currentMove;
+    }
+
+    /**
+     * Returns the number of playouts of the last search, which measures the throughput of the search.
+     * @return the number of playouts.
+     */
+    public int getPlayouts() {
+        return playouts;
+    }
+
+    @Override
+    public void prepareForGame(RandomStreams random) {
+        this.random = random;
+    }
+
+    /**
+     * Searches the evaluated moves of a decision on its own tree until the budget is exhausted, without choosing a move.
+     * This allows to search independent trees in parallel with one AI per thread.
+     * @param moves are the evaluated moves of the searching player.
+     * @param tiles are the types of the tiles that are referenced by the tile indices of the moves.
+     * @param state is the search state of the current game, which is used exclusively by this search.
+     * @param search is the random stream for the tile draws.
+     * @param deadline is the system time in nanoseconds at which the search stops.
+     * @param iterations is the maximal number of playouts.
+     * @return the visits of the moves, by their index.
+     */
+    int[] search(MoveList moves, TileType[] tiles, SearchState state, SplittableRandom search, long deadline, int iterations) {
+        return searchTree(moves, tiles, state, search, deadline, iterations).visits.clone();
+    }
+
+    /**
+     * Conducts playouts until the budget is exhausted.
+     * @return the root of the tree.
+     */
+    private Decision searchTree(MoveList moves, TileType[] tiles, SearchState state, SplittableRandom search, long deadline,
+            int iterations) {
+        this.search = search;
+        playouts = 0;
+        searchingPlayer = state.getSearchingPlayer();
+        Decision root = new Decision(searchingPlayer, tiles, moves, state, true);
+        do {
+            playout(root, state);
+            playouts++;
+        } while (playouts < iterations && System.nanoTime() < deadline);
+        return root;
+    }
+
+    /**
+     * Descends the tree from the root until a move is played for the first time, the maximal depth is reached or no
+     * tiles are left, and updates the statistics of all played moves with the value of the playout. The value of a move
+     * only depends on its position in the tree, thus the moves are only played on the search state when they are played
+     * for the first time or a decision needs to be expanded. Afterwards, the state is restored.
+     */
+    private void playout(Decision root, SearchState state) {
+        double value = 0;
+        int depth = 0;
+        int playedMoves = 0; // moves of the path that are played on the search state
+        Decision decision = root;
+        while (true) {
+            int move = decision.select();
+            if (move < 0) {
+                break; // the drawn tile cannot be placed
+            }
+            boolean firstVisit = decision.visits[move] == 0;
+            if (firstVisit) {
+                playedMoves = playPath(state, playedMoves, depth);
+                if (!decision.checked && !state.isLegal(decision.moves[move], decision.tileOf(move), decision.player)) {
+                    decision.removeIllegalMove(move);
+                    continue;
+                }
+                decision.priors[move] = state.play(decision.moves[move], decision.tileOf(move), decision.player); // exact value
+                playedMoves++;
+            }
+            value += decision.player == searchingPlayer ? decision.priors[move] : -decision.priors[move];
+            path[depth] = decision;
+            pathMoves[depth] = move;
+            depth++;
+            if (firstVisit || depth == MAXIMAL_DEPTH || state.getRemainingTiles() == 0) {
+                break;
+            }
+            drawnTiles[depth - 1] = state.drawRandomTile(search);
+            if (!decision.hasChild(move, drawnTiles[depth - 1])) {
+                if (decision.visits[move] < EXPANSION_THRESHOLD) {
+                    break;
+                }
+                playedMoves = playPath(state, playedMoves, depth);
+            }
+            decision = decision.child(move, drawnTiles[depth - 1], state);
+        }
+        for (int ply = depth - 1; ply >= 0; ply--) {
+            path[ply].update(pathMoves[ply], value);
+            if (ply < playedMoves) {
+                state.undo();
+            }
+            if (drawnTiles[ply] != null) {
+                state.returnTile(drawnTiles[ply]);
+                drawnTiles[ply] = null;
+            }
+        }
+    }
+
+    /**
+     * Plays the moves of the current path that are not yet played on the search state.
+     * @return the number of played moves of the path.
+     */
+    private int playPath(SearchState state, int playedMoves, int depth) {
+        for (int ply = playedMoves; ply < depth; ply++) {
+            Decision decision = path[ply];
+            state.play(decision.moves[pathMoves[ply]], decision.tileOf(pathMoves[ply]), decision.player);
+        }
+        return depth;
+    }
+
+    /**
+     * Decision of a player in the search tree, with the statistics of all its moves. The values are stored from the
+     * perspective of the searching player.
+     */
+    private class Decision {
+        private final int player;
+        private final TileType[] tiles; // by tile index of the moves
+        private final boolean checked; // whether the meeple placements are known to be legal
+        private final long[] moves;
+        private final double[] priors;
+        private final int[] order; // move indices by descending prior, the illegal moves are moved to the end
+        private int legalMoves;
+        private final int[] visits;
+        private final double[] values;
+        private final Decision[][] children; // by move and tile type ordinal, created on demand
+        private int totalVisits;
+
+        /**
+         * Creates a decision from evaluated moves.
+         */
+        Decision(int player, TileType[] tiles, MoveList moveList, SearchState state, boolean checked) {
+            this.player = player;
+            this.tiles = tiles;
+            this.checked = checked;
+            moves = new long[moveList.size()];
+            for (int index = 0; index < moves.length; index++) {
+                moves[index] = moveList.get(index);
+            }
+            priors = priorsOf(moveList, state, player);
+            order = sortByPriors(priors);
+            legalMoves = moves.length;
+            visits = new int[moves.length];
+            values = new double[moves.length];
+            children = new Decision[moves.length][];
+        }
+
+        /**
+         * Returns the child decision after a move and a tile draw, which is created on demand.
+         */
+        Decision child(int move, TileType tile, SearchState state) {
+            if (children[move] == null) {
+                children[move] = new Decision[TileType.values().length];
+            }
+            if (children[move][tile.ordinal()] == null) {
+                int nextPlayer = state.nextPlayer(player);
+                MoveList moveList = new MoveList();
+                state.generateMoves(tile, nextPlayer, moveList);
+                state.evaluatePlacements(moveList, tile, nextPlayer);
+                children[move][tile.ordinal()] = new Decision(nextPlayer, new TileType[] {tile}, moveList, state, false);
+            }
+            return children[move][tile.ordinal()];
+        }
+
+        int getMostVisitedMove() {
+            int best = order[0];
+            for (int index = 1; index < legalMoves; index++) {
+                int move = order[index];
+                if (visits[move] > visits[best] || visits[move] == visits[best] && values[move] > values[best]) {
+                    best = move;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Selects the next move among the considered moves. Unvisited moves are selected first, in the order of their
+         * priors, otherwise the move with the highest upper confidence bound is selected.
+         * @return the selected move or -1 if there is no legal move.
+         */
+        int select() {
+            int considered = Math.min(legalMoves, 1 + (int) (WIDENING_FACTOR * Math.sqrt(totalVisits)));
+            for (int index = 0; index < considered; index++) {
+                if (visits[order[index]] == 0) {
+                    return order[index];
+                }
+            }
+            int best = -1;
+            double bestBound = Double.NEGATIVE_INFINITY;
+            double logarithm = Math.log(totalVisits);
+            double sign = player == searchingPlayer ? 1 : -1;
+            for (int index = 0; index < considered; index++) {
+                int move = order[index];
+                double bound = upperConfidenceBound(sign * values[move] / visits[move], priors[move], visits[move], logarithm);
+                if (bound > bestBound) {
+                    best = move;
+                    bestBound = bound;
+                }
+            }
+            return best;
+        }
+
+        boolean hasChild(int move, TileType tile) {
+            return children[move] != null && children[move][tile.ordinal()] != null;
+        }
+
+        /**
+         * Moves an illegal move to the end of the order, where it is no longer considered.
+         */
+        void removeIllegalMove(int move) {
+            int index = 0;
+            while (order[index] != move) {
+                index++;
+            }
+            legalMoves--;
+            System.arraycopy(order, index + 1, order, index, legalMoves - index); // keeps the order of the priors
+            order[legalMoves] = move;
+        }
+
+        TileType tileOf(int move) {
+            return tiles[PackedMove.tileIndex(moves[move])];
+        }
+
+        void update(int move, double value) {
+            visits[move]++;
+            values[move] += value;
+            totalVisits++;
+        }
+    }
+
+    /**
+     * Calculates the deadline of a search that starts now. Searches with a number of iterations have no deadline, which
+     * makes them independent of the speed of the machine.
+     * @param settings are the game settings, which contain the search budget.
+     * @return the system time in nanoseconds at which the search stops.
+     */
+    static long deadlineOf(GameSettings settings) {
+        if (settings.isSearchLimitedByTime()) {
+            return System.nanoTime() + settings.getSearchTime() * 1_000_000L;
+        }
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Calculates the priors of evaluated moves, which combine their value with the value of the gained meeples. Meeple
+     * placements that are not evaluated get the prior of their tile placement.
+     * @param moves are the moves, where every meeple placement follows its tile placement.
+     * @param state is the search state on which the moves are conducted.
+     * @param player is the number of the player that conducts the moves.
+     * @return the priors by move index.
+     */
+    static double[] priorsOf(MoveList moves, SearchState state, int player) {
+        double[] priors = new double[moves.size()];
+        double baseMovePrior = 0;
+        for (int index = 0; index < priors.length; index++) {
+            if (moves.isEvaluated(index)) {
+                priors[index] = moves.getValue(index) + moves.getGainedMeeples(index) * state.meepleValue(player);
+                baseMovePrior = priors[index];
+            } else {
+                priors[index] = baseMovePrior; // meeple placement of the preceding move, not yet evaluated
+            }
+        }
+        return priors;
+    }
+
+    /**
+     * Calculates the upper confidence bound of a visited move, where the prior biases the selection of rarely visited
+     * moves.
+     * @param mean is the mean value of the move for the player of the decision.
+     * @param prior is the prior of the move.
+     * @param visits are the visits of the move.
+     * @param logarithm is the natural logarithm of the visits of the decision.
+     * @return the upper confidence bound.
+     */
+    static double upperConfidenceBound(double mean, double prior, int visits, double logarithm) {
+        return (mean + prior / (visits + 1)) / VALUE_SCALE + EXPLORATION * Math.sqrt(logarithm / visits);
+    }
+
+    /**
+     * Sorts the move indices by descending prior. The sort is stable, thus equal priors keep the order of the moves.
+     */
+    static int[] sortByPriors(double[] priors) {
+        return IntStream.range(0, priors.length).boxed().sorted((first, second) -> Double.compare(priors[second], priors[first]))
+                .mapToInt(Integer::intValue).toArray();
+    }
+}
@@ -0,0 +1,16 @@
+package carcassonne.model.ai;
+
+/**
+ * Filter stage of a {@link MoveSelectionPipeline}, which checks a single evaluated move of a move list.
+ * @author Timur Saglam
+ */
+@FunctionalInterface
+public interface MoveFilter {
+    /**
+     * Checks whether an evaluated move passes the filter.
+     * @param moves is the move list that contains the move.
+     * @param index is the index of the move.
+     * @return true if the move is kept, false if it is dropped.
+     */
+    public boolean accepts(MoveList moves, int index);
+}
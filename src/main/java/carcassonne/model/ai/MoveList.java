@@ -0,0 +1,292 @@
+package carcassonne.model.ai;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.LongPredicate;
+
+import carcassonne.model.Player;
+import carcassonne.model.grid.Grid;
+import carcassonne.model.grid.GridSpot;
+import carcassonne.model.tile.OrientedTile;
+import carcassonne.model.tile.Tile;
+import carcassonne.settings.GameSettings;
+
+/**
+ * Growable list of {@link PackedMove packed moves} with their evaluation in parallel primitive arrays. Until a move is
+ * evaluated, its value is not a number and the upper bounds are unlimited. The arrays only grow, which means a list that
+ * is cleared and refilled for every decision does not allocate anything once it has reached its required capacity. Move
+ * objects are only created on demand.
+ * @author Timur Saglam
+ */
+public class MoveList {
+    private static final int INITIAL_CAPACITY = 256;
+    private long[] moves;
+    private double[] values;
+    private double[] fieldValues;
+    private double[] valueBounds;
+    private int[] gainedMeeples; // upper bounds until evaluated
+    private int size;
+
+    /**
+     * Creates an empty move list.
+     */
+    public MoveList() {
+        moves = new long[INITIAL_CAPACITY];
+        values = new double[INITIAL_CAPACITY];
+        fieldValues = new double[INITIAL_CAPACITY];
+        valueBounds = new double[INITIAL_CAPACITY];
+        gainedMeeples = new int[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Adds an unevaluated move to the end of the list.
+     * @param packedMove is the packed move.
+     */
+    public void add(long packedMove) {
+        ensureCapacity(size + 1);
+        moves[size] = packedMove;
+        values[size] = Double.NaN;
+        fieldValues[size] = Double.NaN;
+        valueBounds[size] = Double.POSITIVE_INFINITY;
+        gainedMeeples[size] = Integer.MAX_VALUE;
+        size++;
+    }
+
+    /**
+     * Adds all moves of another list including their evaluation to the end of this list.
+     * @param other is the other list.
+     */
+    public void addAll(MoveList other) {
+        ensureCapacity(size + other.size);
+        System.arraycopy(other.moves, 0, moves, size, other.size);
+        System.arraycopy(other.values, 0, values, size, other.size);
+        System.arraycopy(other.fieldValues, 0, fieldValues, size, other.size);
+        System.arraycopy(other.valueBounds, 0, valueBounds, size, other.size);
+        System.arraycopy(other.gainedMeeples, 0, gainedMeeples, size, other.size);
+        size += other.size;
+    }
+
+    /**
+     * Adds a move of another list including its evaluation to the end of this list.
+     * @param other is the other list.
+     * @param index is the index of the move in the other list.
+     */
+    public void add(MoveList other, int index) {
+        ensureCapacity(size + 1);
+        moves[size] = other.moves[index];
+        values[size] = other.values[index];
+        fieldValues[size] = other.fieldValues[index];
+        valueBounds[size] = other.valueBounds[index];
+        gainedMeeples[size] = other.gainedMeeples[index];
+        size++;
+    }
+
+    /**
+     * Removes all moves, while the capacity is kept.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Creates the object of an evaluated or unevaluated move. The tile placement of the move needs to be free on the grid.
+     * @param index is the index of the move.
+     * @param tiles are the tiles of the player, which are referenced by their index.
+     * @param grid is the grid on which the move was generated or a grid in the same state.
+     * @param player is the player that conducts the move.
+     * @param settings are the game settings.
+     * @return the move object, which does not need to be evaluated again.
+     */
+    public ZeroSumMove createMove(int index, List<Tile> tiles, Grid grid, Player player, GameSettings settings) {
+        ZeroSumMove move = createMove(get(index), tiles, grid, player, settings);
+        if (isEvaluated(index)) {
+            move.presetEvaluation(values[index], fieldValues[index], gainedMeeples[index]);
+        }
+        return move;
+    }
+
+    /**
+     * Creates the unevaluated objects of all moves. Moves with a meeple are based on the preceding move of the same tile
+     * placement, thus they share its evaluation of the grid before the move.
+     * @param tiles are the tiles of the player, which are referenced by their index.
+     * @param grid is the grid on which the moves were generated or a grid in the same state.
+     * @param player is the player that conducts the moves.
+     * @param settings are the game settings.
+     * @return the list of move objects in the order of this list.
+     */
+    public List<ZeroSumMove> createMoves(List<Tile> tiles, Grid grid, Player player, GameSettings settings) {
+        List<ZeroSumMove> moveObjects = new ArrayList<>(size);
+        ZeroSumMove baseMove = null;
+        long packedBaseMove = 0;
+        for (int index = 0; index < size; index++) {
+            if (baseMove != null && PackedMove.isVariantOf(moves[index], packedBaseMove)) {
+                moveObjects.add(new ZeroSumMove(baseMove, PackedMove.meeplePosition(moves[index]))); // base tile is still placed
+            } else {
+                removeTile(baseMove);
+                TemporaryTile tile = placeTile(moves[index], tiles, grid);
+                ZeroSumMove move = new ZeroSumMove(tile, PackedMove.meeplePosition(moves[index]), player, settings);
+                baseMove = move.involvesMeeplePlacement() ? null : move;
+                packedBaseMove = moves[index];
+                if (baseMove == null) {
+                    tile.getGridSpot().removeTile();
+                }
+                moveObjects.add(move);
+            }
+        }
+        removeTile(baseMove);
+        return moveObjects;
+    }
+
+    /**
+     * Returns a packed move.
+     * @param index is the index of the move.
+     * @return the packed move.
+     */
+    public long get(int index) {
+        return moves[Objects.checkIndex(index, size)];
+    }
+
+    /**
+     * Returns the field value of a move.
+     * @param index is the index of the move.
+     * @return the field value or not a number if the move is not evaluated.
+     */
+    public double getFieldValue(int index) {
+        return fieldValues[Objects.checkIndex(index, size)];
+    }
+
+    /**
+     * Returns the gained meeples of a move, which is an upper bound until the move is evaluated.
+     * @param index is the index of the move.
+     * @return the gained meeples or their upper bound.
+     */
+    public int getGainedMeeples(int index) {
+        return gainedMeeples[Objects.checkIndex(index, size)];
+    }
+
+    /**
+     * Returns the value of a move.
+     * @param index is the index of the move.
+     * @return the value or not a number if the move is not evaluated.
+     */
+    public double getValue(int index) {
+        return values[Objects.checkIndex(index, size)];
+    }
+
+    /**
+     * Returns an upper bound of the value of a move.
+     * @param index is the index of the move.
+     * @return the upper bound, which is exact if the move is evaluated.
+     */
+    public double getValueUpperBound(int index) {
+        return valueBounds[Objects.checkIndex(index, size)];
+    }
+
+    /**
+     * Checks whether a move is evaluated.
+     * @param index is the index of the move.
+     * @return true if it is.
+     */
+    public boolean isEvaluated(int index) {
+        return !Double.isNaN(getValue(index));
+    }
+
+    /**
+     * Removes all moves that match a filter. The order of the remaining moves is kept.
+     * @param filter is the filter for the packed moves.
+     */
+    public void removeIf(LongPredicate filter) {
+        int kept = 0;
+        for (int index = 0; index < size; index++) {
+            if (!filter.test(moves[index])) {
+                moves[kept] = moves[index];
+                values[kept] = values[index];
+                fieldValues[kept] = fieldValues[index];
+                valueBounds[kept] = valueBounds[index];
+                gainedMeeples[kept] = gainedMeeples[index];
+                kept++;
+            }
+        }
+        size = kept;
+    }
+
+    /**
+     * Sets the evaluation of a move, which also makes its upper bounds exact.
+     * @param index is the index of the move.
+     * @param value is the value of the move.
+     * @param fieldValue is the value of the move regarding field patterns.
+     * @param gained is the number of gained meeples.
+     */
+    public void setEvaluation(int index, double value, double fieldValue, int gained) {
+        values[Objects.checkIndex(index, size)] = value;
+        fieldValues[index] = fieldValue;
+        valueBounds[index] = value;
+        gainedMeeples[index] = gained;
+    }
+
+    /**
+     * Sets the upper bounds of an unevaluated move. Evaluated moves are not changed.
+     * @param index is the index of the move.
+     * @param valueBound is the upper bound of the value.
+     * @param gainedBound is the upper bound of the gained meeples.
+     */
+    public void setUpperBounds(int index, double valueBound, int gainedBound) {
+        if (!isEvaluated(index)) {
+            valueBounds[index] = valueBound;
+            gainedMeeples[index] = gainedBound;
+        }
+    }
+
+    /**
+     * Returns the number of moves.
+     * @return the size of the list.
+     */
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " with " + size + " moves";
+    }
+
+    private ZeroSumMove createMove(long packedMove, List<Tile> tiles, Grid grid, Player player, GameSettings settings) {
+        TemporaryTile tile = placeTile(packedMove, tiles, grid);
+        ZeroSumMove move = new ZeroSumMove(tile, PackedMove.meeplePosition(packedMove), player, settings);
+        tile.getGridSpot().removeTile();
+        return move;
+    }
+
+    /**
+     * Places a temporary tile for a move, as move objects can only be created for placed tiles.
+     */
+    private TemporaryTile placeTile(long packedMove, List<Tile> tiles, Grid grid) {
+        GridSpot spot = grid.getSpot(PackedMove.x(packedMove), PackedMove.y(packedMove));
+        if (spot.isOccupied()) {
+            throw new IllegalStateException("Grid changed since the generation of the move: " + PackedMove.toString(packedMove));
+        }
+        Tile tile = tiles.get(PackedMove.tileIndex(packedMove));
+        TemporaryTile temporaryTile = new TemporaryTile(new OrientedTile(tile, PackedMove.rotation(packedMove)));
+        spot.forcePlacement(temporaryTile);
+        return temporaryTile;
+    }
+
+    private void removeTile(ZeroSumMove baseMove) {
+        if (baseMove != null) {
+            baseMove.gridSpot.removeTile();
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > moves.length) {
+            int newCapacity = Math.max(capacity, moves.length * 2);
+            moves = Arrays.copyOf(moves, newCapacity);
+            values = Arrays.copyOf(values, newCapacity);
+            fieldValues = Arrays.copyOf(fieldValues, newCapacity);
+            valueBounds = Arrays.copyOf(valueBounds, newCapacity);
+            gainedMeeples = Arrays.copyOf(gainedMeeples, newCapacity);
+        }
+    }
+}
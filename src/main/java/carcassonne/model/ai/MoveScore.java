@@ -0,0 +1,24 @@
+package carcassonne.model.ai;
+
+/**
+ * Score stage of a {@link MoveSelectionPipeline}, which ranks the moves that passed all filters.
+ * @author Timur Saglam
+ */
+public interface MoveScore {
+    /**
+     * Calculates the score of an evaluated move.
+     * @param moves is the move list that contains the move.
+     * @param index is the index of the move.
+     * @return the score, where higher is better.
+     */
+    public double score(MoveList moves, int index);
+
+    /**
+     * Calculates an upper bound of the score of a move that is not yet evaluated, based on the upper bounds of the move
+     * list.
+     * @param moves is the move list that contains the move.
+     * @param index is the index of the move.
+     * @return the upper bound, which must never be lower than the score after the evaluation.
+     */
+    public double upperBound(MoveList moves, int index);
+}
@@ -0,0 +1,132 @@
+package carcassonne.model.ai;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongPredicate;
+
+/**
+ * Selects the best moves of a move list in a single pass through pluggable stages. Packed filters drop moves before they
+ * are evaluated, the moves that pass them are evaluated on demand. Evaluated moves then pass the filters, and the score
+ * stage feeds the remaining moves into a bounded {@link TopMoves top-k selection}. Moves whose score upper bound cannot
+ * reach the selection are never evaluated. Every stage is applied at most once per move and counts the moves it drops.
+ * The moves without meeple placement are evaluated first, as they provide the upper bounds of the other moves.
+ * @author Timur Saglam
+ */
+public class MoveSelectionPipeline {
+    private static final String BOUND_STAGE = "upper bound";
+    private static final String SELECTION_STAGE = "top-k";
+    private final List<String> packedFilterNames;
+    private final List<LongPredicate> packedFilters;
+    private final List<String> filterNames;
+    private final List<MoveFilter> filters;
+    private final MoveScore score;
+    private final int capacity;
+    private final Map<String, Integer> droppedMoves;
+
+    /**
+     * Creates a pipeline without filters.
+     * @param score is the score stage that ranks the moves.
+     * @param capacity is the number of moves with the highest scores that are selected, not counting ties.
+     */
+    public MoveSelectionPipeline(MoveScore score, int capacity) {
+        this.score = score;
+        this.capacity = capacity;
+        packedFilterNames = new ArrayList<>();
+        packedFilters = new ArrayList<>();
+        filterNames = new ArrayList<>();
+        filters = new ArrayList<>();
+        droppedMoves = new LinkedHashMap<>();
+    }
+
+    /**
+     * Adds a filter stage for evaluated moves. The filters are applied in the order they were added.
+     * @param name is the name of the stage, which is used for the metrics.
+     * @param filter is the filter.
+     * @return this pipeline, to chain the stages.
+     */
+    public MoveSelectionPipeline addFilter(String name, MoveFilter filter) {
+        filterNames.add(name);
+        filters.add(filter);
+        return this;
+    }
+
+    /**
+     * Adds a filter stage that only needs the packed move, which is applied before the move is evaluated.
+     * @param name is the name of the stage, which is used for the metrics.
+     * @param filter is the filter, which keeps a move if it returns true.
+     * @return this pipeline, to chain the stages.
+     */
+    public MoveSelectionPipeline addPackedFilter(String name, LongPredicate filter) {
+        packedFilterNames.add(name);
+        packedFilters.add(filter);
+        return this;
+    }
+
+    /**
+     * Returns how many moves each stage dropped during the last selection, including the moves that were skipped due to
+     * their upper bound and the moves that did not make it into the top-k selection.
+     * @return the number of dropped moves by stage name, in the order of the stages.
+     */
+    public Map<String, Integer> getDroppedMoves() {
+        return Collections.unmodifiableMap(droppedMoves);
+    }
+
+    /**
+     * Selects the moves of a move list with the highest scores.
+     * @param moves is the move list. The moves dropped by the packed filters are removed from it.
+     * @param evaluator evaluates the moves on demand, it needs to be created for the same grid, tiles and player.
+     * @return the indices of the selected moves in the order of the move list, including ties.
+     */
+    public int[] select(MoveList moves, ZeroSumEvaluator evaluator) {
+        droppedMoves.clear();
+        for (int stage = 0; stage < packedFilters.size(); stage++) {
+            int size = moves.size();
+            LongPredicate filter = packedFilters.get(stage);
+            moves.removeIf(it -> !filter.test(it));
+            droppedMoves.put(packedFilterNames.get(stage), size - moves.size());
+        }
+        filterNames.forEach(it -> droppedMoves.put(it, 0));
+        droppedMoves.put(BOUND_STAGE, 0);
+        for (int index = 0; index < moves.size(); index++) {
+            if (!PackedMove.hasMeeple(moves.get(index)) && !moves.isEvaluated(index)) {
+                evaluator.evaluate(moves, index);
+            }
+        }
+        TopMoves selection = new TopMoves(capacity);
+        for (int index = 0; index < moves.size(); index++) {
+            if (moves.isEvaluated(index)) {
+                offer(moves, index, selection);
+            }
+        }
+        for (int index = 0; index < moves.size(); index++) {
+            if (!moves.isEvaluated(index)) {
+                if (score.upperBound(moves, index) >= selection.getThreshold()) { // equal scores are still selected
+                    evaluator.evaluate(moves, index);
+                    offer(moves, index, selection);
+                } else {
+                    droppedMoves.merge(BOUND_STAGE, 1, Integer::sum);
+                }
+            }
+        }
+        droppedMoves.put(SELECTION_STAGE, selection.getRejected());
+        return selection.selectedIndices();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + droppedMoves;
+    }
+
+    private void offer(MoveList moves, int index, TopMoves selection) {
+        for (int stage = 0; stage < filters.size(); stage++) {
+            if (!filters.get(stage).accepts(moves, index)) {
+                droppedMoves.merge(filterNames.get(stage), 1, Integer::sum);
+                return;
+            }
+        }
+        selection.offer(index, score.score(moves, index));
+    }
+}
@@ -0,0 +1,137 @@
+package carcassonne.model.ai;
+
+import carcassonne.model.grid.GridDirection;
+import carcassonne.model.tile.TileRotation;
+
+/**
+ * Utility class for a compact encoding of a move in a single long. The encoding contains the coordinates of the tile
+ * placement, the {@link TileRotation}, the position of a meeple and the index of the placed tile in the hand of the
+ * player. Packed moves are independent of tile and grid objects, which means they can be generated on a copy of the grid
+ * and evaluated on the grid itself. They are stored in a {@link MoveList}.
+ * <p>
+ * Bit layout, starting with the least significant bit: 8 bits tile index, 2 bits rotation ordinal, 4 bits meeple position
+ * ordinal plus one (zero if there is no meeple), 16 bits y-coordinate, 16 bits x-coordinate.
+ * @author Timur Saglam
+ */
+public final class PackedMove {
+    private static final int TILE_BITS = 8;
+    private static final int ROTATION_BITS = 2;
+    private static final int POSITION_BITS = 4;
+    private static final int COORDINATE_BITS = 16;
+    private static final int ROTATION_SHIFT = TILE_BITS;
+    private static final int POSITION_SHIFT = ROTATION_SHIFT + ROTATION_BITS;
+    private static final int Y_SHIFT = POSITION_SHIFT + POSITION_BITS;
+    private static final int X_SHIFT = Y_SHIFT + COORDINATE_BITS;
+    private static final long TILE_MASK = (1L << TILE_BITS) - 1;
+    private static final long ROTATION_MASK = (1L << ROTATION_BITS) - 1;
+    private static final long POSITION_MASK = (1L << POSITION_BITS) - 1;
+    private static final long COORDINATE_MASK = (1L << COORDINATE_BITS) - 1;
+    private static final GridDirection[] POSITIONS = GridDirection.values();
+    private static final TileRotation[] ROTATIONS = TileRotation.values();
+
+    private PackedMove() {
+        throw new IllegalStateException(); // private constructor for non-instantiability
+    }
+
+    /**
+     * Encodes a move.
+     * @param x is the x-coordinate of the tile placement.
+     * @param y is the y-coordinate of the tile placement.
+     * @param rotation is the rotation of the placed tile.
+     * @param meeplePosition is the position of the placed meeple or null if no meeple is placed.
+     * @param tileIndex is the index of the placed tile in the hand of the player.
+     * @return the packed move.
+     */
+    public static long encode(int x, int y, TileRotation rotation, GridDirection meeplePosition, int tileIndex) {
+        if (x < 0 || x > COORDINATE_MASK || y < 0 || y > COORDINATE_MASK || tileIndex < 0 || tileIndex > TILE_MASK) {
+            throw new IllegalArgumentException("Move cannot be encoded: " + x + ", " + y + " with tile " + tileIndex);
+        }
+        long position = meeplePosition == null ? 0 : meeplePosition.ordinal() + 1;
+        return tileIndex | (long) rotation.ordinal() << ROTATION_SHIFT | position << POSITION_SHIFT | (long) y << Y_SHIFT | (long) x << X_SHIFT;
+    }
+
+    /**
+     * Checks whether a meeple is placed as part of a packed move.
+     * @param packedMove is the packed move.
+     * @return true if it does.
+     */
+    public static boolean hasMeeple(long packedMove) {
+        return (packedMove >>> POSITION_SHIFT & POSITION_MASK) != 0;
+    }
+
+    /**
+     * Checks whether a packed move places a meeple on the same tile placement as another packed move without meeple.
+     * @param packedMove is the packed move that is checked.
+     * @param baseMove is the packed move without meeple.
+     * @return true if the first move is the second move with an additional meeple placement.
+     */
+    public static boolean isVariantOf(long packedMove, long baseMove) {
+        return hasMeeple(packedMove) && !hasMeeple(baseMove) && (packedMove & ~(POSITION_MASK << POSITION_SHIFT)) == baseMove;
+    }
+
+    /**
+     * Returns the packed move with the same tile placement but without meeple placement.
+     * @param packedMove is the packed move.
+     * @return the packed move without meeple.
+     */
+    public static long withoutMeeple(long packedMove) {
+        return packedMove & ~(POSITION_MASK << POSITION_SHIFT);
+    }
+
+    /**
+     * Returns the position of the meeple of a packed move.
+     * @param packedMove is the packed move.
+     * @return the position or null if no meeple is placed.
+     */
+    public static GridDirection meeplePosition(long packedMove) {
+        int position = (int) (packedMove >>> POSITION_SHIFT & POSITION_MASK);
+        return position == 0 ? null : POSITIONS[position - 1];
+    }
+
+    /**
+     * Returns the rotation of the placed tile of a packed move.
+     * @param packedMove is the packed move.
+     * @return the tile rotation.
+     */
+    public static TileRotation rotation(long packedMove) {
+        return ROTATIONS[(int) (packedMove >>> ROTATION_SHIFT & ROTATION_MASK)];
+    }
+
+    /**
+     * Returns the index of the placed tile of a packed move.
+     * @param packedMove is the packed move.
+     * @return the index of the tile in the hand of the player.
+     */
+    public static int tileIndex(long packedMove) {
+        return (int) (packedMove & TILE_MASK);
+    }
+
+    /**
+     * Returns the x-coordinate of the tile placement of a packed move.
+     * @param packedMove is the packed move.
+     * @return the x-coordinate on the grid.
+     */
+    public static int x(long packedMove) {
+        return (int) (packedMove >>> X_SHIFT & COORDINATE_MASK);
+    }
+
+    /**
+     * Returns the y-coordinate of the tile placement of a packed move.
+     * @param packedMove is the packed move.
+     * @return the y-coordinate on the grid.
+     */
+    public static int y(long packedMove) {
+        return (int) (packedMove >>> Y_SHIFT & COORDINATE_MASK);
+    }
+
+    /**
+     * Returns a readable representation of a packed move.
+     * @param packedMove is the packed move.
+     * @return the representation, such as "Move[tile 0 TILTED_LEFT on (3, 4), meeple: NORTH]".
+     */
+    public static String toString(long packedMove) {
+        String meeple = hasMeeple(packedMove) ? meeplePosition(packedMove).toString() : "none";
+        return "Move[tile " + tileIndex(packedMove) + " " + rotation(packedMove) + " on (" + x(packedMove) + ", " + y(packedMove) + "), meeple: "
+                + meeple + "]";
+    }
+}
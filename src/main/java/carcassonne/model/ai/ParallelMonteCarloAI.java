@@ -0,0 +1,497 @@
+package carcassonne.model.ai;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import carcassonne.model.Player;
+import carcassonne.model.grid.Grid;
+import carcassonne.model.tile.Tile;
+import carcassonne.model.tile.TileStack;
+import carcassonne.model.tile.TileType;
+import carcassonne.settings.GameSettings;
+import carcassonne.util.RandomStreams;
+
+/**
+ * Multi-threaded variant of the {@link MonteCarloAI}, which searches with one worker per thread. With tree parallelism,
+ * all workers share one search tree. Its statistics are updated with atomic operations without locks, and every move
+ * that a worker selects receives a virtual loss until the playout is backed up, which steers the other workers towards
+ * other moves. With root parallelism, every worker searches its own tree and the visits of the moves of the independent
+ * trees are merged, which avoids all contention at the cost of redundant work. In both cases, every worker plays the moves
+ * on its own {@link SearchState} and draws the tiles from its own random stream. With a number of iterations instead of a
+ * search time, root parallelism is reproducible, as every tree conducts its share of the iterations, while the workers of
+ * a shared tree interleave differently in every search. Unless a pool is given, the AI owns a fork-join pool for the
+ * current game, which is created by the first search of the game and shut down when the game is finished.
+ * @author Timur Saglam
+ */
+public class ParallelMonteCarloAI implements ArtificialIntelligence {
+    private static final double VIRTUAL_LOSS = MonteCarloAI.VALUE_SCALE; // value of a selected move until it is backed up
+    private static final int TILE_TYPES = TileType.values().length;
+    private final GameSettings settings;
+    private final Parallelization parallelization;
+    private final int threads;
+    private final boolean ownsPool; // whether the pool is created and shut down by the AI
+    private ForkJoinPool pool; // null while the AI owns no pool
+    private final MoveList possibleMoves; // reused for every decision
+    private final ZeroSumEvaluator evaluator; // reused for every decision
+    private RandomStreams random;
+    private Optional<AbstractCarcassonneMove> currentMove;
+    private int playouts;
+
+    /**
+     * Creates the AI with tree parallelism and one worker per available processor.
+     * @param settings are the game settings, which contain the search budget.
+     */
+    public ParallelMonteCarloAI(GameSettings settings) {
+        this(settings, Parallelization.TREE, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates the AI with a specific parallelization and number of workers. The AI creates its own pool for every game.
+     * @param settings are the game settings, which contain the search budget.
+     * @param parallelization determines whether the workers share a tree or search independent trees.
+     * @param threads is the number of workers, each with its own thread.
+     */
+    public ParallelMonteCarloAI(GameSettings settings, Parallelization parallelization, int threads) {
+        this(settings, parallelization, threads, null);
+    }
+
+    /**
+     * Creates the AI with a specific parallelization and a specific pool, with one worker per thread of the pool. The pool
+     * is not shut down by the AI.
+     * @param settings are the game settings, which contain the search budget.
+     * @param parallelization determines whether the workers share a tree or search independent trees.
+     * @param pool is the pool that executes the workers.
+     */
+    public ParallelMonteCarloAI(GameSettings settings, Parallelization parallelization, ForkJoinPool pool) {
+        this(settings, parallelization, pool.getParallelism(), pool);
+    }
+
+    private ParallelMonteCarloAI(GameSettings settings, Parallelization parallelization, int threads, ForkJoinPool pool) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("The search needs at least one thread: " + threads);
+        }
+        this.settings = settings;
+        this.parallelization = parallelization;
+        this.threads = threads;
+        this.pool = pool;
+        ownsPool = pool == null;
+        possibleMoves = new MoveList();
+        evaluator = new ZeroSumEvaluator(settings);
+        random = RandomStreams.withRandomSeed(); // until the AI is prepared for a specific game
+        currentMove = Optional.empty();
+    }
+
+    @Override
+    public Optional<AbstractCarcassonneMove> calculateBestMoveFor(Collection<Tile> tiles, Player player, Grid grid, TileStack stack) {
+        currentMove = Optional.empty();
+        playouts = 0;
+        List<Tile> hand = new ArrayList<>(tiles);
+        possibleMoves.clear();
+        grid.generatePossibleMoves(hand, player, settings, possibleMoves);
+        if (possibleMoves.size() > 0) {
+            evaluator.reset(grid, hand, player);
+            for (int index = 0; index < possibleMoves.size(); index++) {
+                evaluator.evaluate(possibleMoves, index);
+            }
+            TileType[] types = hand.stream().map(Tile::getType).toArray(TileType[]::new);
+            List<SearchState> states = new ArrayList<>();
+            List<SplittableRandom> streams = new ArrayList<>();
+            for (int worker = 0; worker < threads; worker++) { // the workers only read their own copies of the game
+                states.add(new SearchState(grid, player, stack, settings));
+                streams.add(random.forSearch().split());
+            }
+            if (pool == null) {
+                pool = new ForkJoinPool(threads);
+            }
+            long deadline = MonteCarloAI.deadlineOf(settings);
+            int bestMove;
+            if (parallelization == Parallelization.TREE) {
+                bestMove = searchSharedTree(types, states, streams, deadline);
+            } else {
+                bestMove = searchIndependentTrees(types, states, streams, deadline);
+            }
+            currentMove = Optional.of(possibleMoves.createMove(bestMove, hand, grid, player, settings));
+        }
+        return currentMove;
+    }
+
+    @Override
+    public Tile chooseTileToDrop(Collection<Tile> tiles, Player player, Grid grid) {
+        return RuleBasedAI.chooseUnplaceableTile(tiles, grid, random.forTileDropping());
+    }
+
+    /**
+     * Shuts down the pool of the AI unless it was given. The next search creates a new pool.
+     */
+    @Override
+    public void finishGame() {
+        if (ownsPool && pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+    }
+
+    @Override
+    public Optional<AbstractCarcassonneMove> getCurrentMove() {
+        return currentMove;
+    }
+
+    /**
+     * Returns the parallelization of the search.
+     * @return whether the workers share a tree or search independent trees.
+     */
+    public Parallelization getParallelization() {
+        return parallelization;
+    }
+
+    /**
+     * Returns the number of playouts of all workers during the last search, which measures the throughput of the search.
+     * @return the number of playouts.
+     */
+    public int getPlayouts() {
+        return playouts;
+    }
+
+    /**
+     * Returns the number of workers of the search.
+     * @return the number of threads.
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    @Override
+    public void prepareForGame(RandomStreams random) {
+        this.random = random;
+    }
+
+    /**
+     * Searches independent trees, one per worker, which share the iteration budget. The visits of the moves are summed
+     * up, and the move with most visits is chosen.
+     */
+    private int searchIndependentTrees(TileType[] tiles, List<SearchState> states, List<SplittableRandom> streams, long deadline) {
+        int iterations = Math.max(1, settings.getSearchIterations() / threads);
+        List<MonteCarloAI> workers = new ArrayList<>();
+        List<ForkJoinTask<int[]>> tasks = new ArrayList<>();
+        for (int worker = 0; worker < threads; worker++) {
+            MonteCarloAI ai = new MonteCarloAI(settings);
+            SearchState state = states.get(worker);
+            SplittableRandom stream = streams.get(worker);
+            workers.add(ai);
+            tasks.add(pool.submit(() -> ai.search(possibleMoves, tiles, state, stream, deadline, iterations)));
+        }
+        int[] visits = new int[possibleMoves.size()];
+        for (ForkJoinTask<int[]> task : tasks) {
+            int[] treeVisits = task.join();
+            for (int move = 0; move < visits.length; move++) {
+                visits[move] += treeVisits[move];
+            }
+        }
+        playouts = workers.stream().mapToInt(MonteCarloAI::getPlayouts).sum();
+        int bestMove = 0;
+        for (int move = 1; move < visits.length; move++) {
+            if (visits[move] > visits[bestMove]) {
+                bestMove = move;
+            }
+        }
+        return bestMove;
+    }
+
+    /**
+     * Searches a shared tree with all workers until the shared budget is exhausted, and chooses the most visited move.
+     */
+    private int searchSharedTree(TileType[] tiles, List<SearchState> states, List<SplittableRandom> streams, long deadline) {
+        SearchState rootState = states.get(0);
+        SharedDecision root = new SharedDecision(rootState.getSearchingPlayer(), tiles, possibleMoves, rootState, true);
+        AtomicInteger sharedPlayouts = new AtomicInteger();
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        for (int worker = 0; worker < threads; worker++) {
+            Worker searcher = new Worker(states.get(worker), streams.get(worker));
+            tasks.add(pool.submit(() -> {
+                do {
+                    searcher.playout(root);
+                } while (sharedPlayouts.incrementAndGet() < settings.getSearchIterations() && System.nanoTime() < deadline);
+            }));
+        }
+        tasks.forEach(ForkJoinTask::join);
+        playouts = sharedPlayouts.get();
+        return root.getMostVisitedMove();
+    }
+
+    /**
+     * The parallelizations of the search.
+     */
+    public enum Parallelization {
+        /**
+         * All workers share one tree.
+         */
+        TREE,
+
+        /**
+         * Every worker searches its own tree, which are merged at the root.
+         */
+        ROOT;
+    }
+
+    /**
+     * Decision of a player in the shared search tree, with the statistics of all its moves. The values are stored from
+     * the perspective of the searching player as raw bits of doubles. The visits include the virtual visits of the
+     * playouts that are not yet backed up.
+     */
+    private static class SharedDecision {
+        private final int player;
+        private final int searchingPlayer;
+        private final TileType[] tiles; // by tile index of the moves
+        private final boolean checked; // whether the meeple placements are known to be legal
+        private final long[] moves;
+        private final double[] priors;
+        private final int[] order; // move indices by descending prior
+        private final AtomicLongArray exactValues; // exact values of the moves once they were played, otherwise not a number
+        private final AtomicIntegerArray illegalMoves; // one for illegal moves
+        private final AtomicIntegerArray visits;
+        private final AtomicLongArray values;
+        private final AtomicInteger totalVisits;
+        private final AtomicReferenceArray<AtomicReferenceArray<SharedDecision>> children; // by move and tile type ordinal
+
+        /**
+         * Creates a decision from evaluated moves.
+         */
+        SharedDecision(int player, TileType[] tiles, MoveList moveList, SearchState state, boolean checked) {
+            this.player = player;
+            this.tiles = tiles;
+            this.checked = checked;
+            searchingPlayer = state.getSearchingPlayer();
+            moves = new long[moveList.size()];
+            exactValues = new AtomicLongArray(moves.length);
+            for (int index = 0; index < moves.length; index++) {
+                moves[index] = moveList.get(index);
+                exactValues.set(index, Double.doubleToRawLongBits(Double.NaN));
+            }
+            priors = MonteCarloAI.priorsOf(moveList, state, player);
+            order = MonteCarloAI.sortByPriors(priors);
+            illegalMoves = new AtomicIntegerArray(moves.length);
+            visits = new AtomicIntegerArray(moves.length);
+            values = new AtomicLongArray(moves.length);
+            totalVisits = new AtomicInteger();
+            children = new AtomicReferenceArray<>(moves.length);
+        }
+
+        /**
+         * Adds a virtual visit and loss to a selected move.
+         */
+        void addVirtualLoss(int move) {
+            visits.incrementAndGet(move);
+            totalVisits.incrementAndGet();
+            addValue(move, -sign() * VIRTUAL_LOSS);
+        }
+
+        /**
+         * Returns the child decision after a move and a tile draw, or null if it is not yet expanded.
+         */
+        SharedDecision getChild(int move, TileType tile) {
+            AtomicReferenceArray<SharedDecision> moveChildren = children.get(move);
+            return moveChildren == null ? null : moveChildren.get(tile.ordinal());
+        }
+
+        double getExactValue(int move) {
+            return Double.longBitsToDouble(exactValues.get(move));
+        }
+
+        int getMostVisitedMove() {
+            int best = order[0];
+            for (int move = 0; move < moves.length; move++) {
+                if (visits.get(move) > visits.get(best) || visits.get(move) == visits.get(best) && valueOf(move) > valueOf(best)) {
+                    best = move;
+                }
+            }
+            return best;
+        }
+
+        int getVisits(int move) {
+            return visits.get(move);
+        }
+
+        /**
+         * Creates the child decision after a move and a tile draw, unless another worker was faster.
+         * @return the child decision that is part of the tree.
+         */
+        SharedDecision expand(int move, TileType tile, SearchState state) {
+            children.compareAndSet(move, null, new AtomicReferenceArray<>(TILE_TYPES));
+            int nextPlayer = state.nextPlayer(player);
+            MoveList moveList = new MoveList();
+            state.generateMoves(tile, nextPlayer, moveList);
+            state.evaluatePlacements(moveList, tile, nextPlayer);
+            SharedDecision child = new SharedDecision(nextPlayer, new TileType[] {tile}, moveList, state, false);
+            AtomicReferenceArray<SharedDecision> moveChildren = children.get(move);
+            moveChildren.compareAndSet(tile.ordinal(), null, child);
+            return moveChildren.get(tile.ordinal());
+        }
+
+        /**
+         * Marks a selected move as illegal and takes back its virtual loss.
+         */
+        void removeIllegalMove(int move) {
+            illegalMoves.set(move, 1);
+            visits.decrementAndGet(move);
+            totalVisits.decrementAndGet();
+            addValue(move, sign() * VIRTUAL_LOSS);
+        }
+
+        /**
+         * Selects the next move among the considered legal moves. Unvisited moves are selected first, in the order of
+         * their priors, otherwise the move with the highest upper confidence bound is selected.
+         * @return the selected move or -1 if there is no legal move.
+         */
+        int select() {
+            int total = totalVisits.get();
+            int considered = 1 + (int) (MonteCarloAI.WIDENING_FACTOR * Math.sqrt(total));
+            double logarithm = Math.log(total);
+            int best = -1;
+            double bestBound = Double.NEGATIVE_INFINITY;
+            for (int index = 0; index < order.length && considered > 0; index++) {
+                int move = order[index];
+                if (illegalMoves.get(move) == 0) {
+                    considered--;
+                    int moveVisits = visits.get(move);
+                    if (moveVisits == 0) {
+                        return move;
+                    }
+                    double prior = Double.isNaN(getExactValue(move)) ? priors[move] : getExactValue(move);
+                    double bound = MonteCarloAI.upperConfidenceBound(sign() * valueOf(move) / moveVisits, prior, moveVisits, logarithm);
+                    if (bound > bestBound) {
+                        best = move;
+                        bestBound = bound;
+                    }
+                }
+            }
+            return best;
+        }
+
+        void setExactValue(int move, double value) {
+            exactValues.set(move, Double.doubleToRawLongBits(value)); // every worker calculates the same value
+        }
+
+        double sign() {
+            return player == searchingPlayer ? 1 : -1;
+        }
+
+        TileType tileOf(int move) {
+            return tiles[PackedMove.tileIndex(moves[move])];
+        }
+
+        /**
+         * Backs up the value of a playout and replaces the virtual loss of the move.
+         */
+        void update(int move, double value) {
+            addValue(move, value + sign() * VIRTUAL_LOSS);
+        }
+
+        private void addValue(int move, double value) {
+            long current;
+            do {
+                current = values.get(move);
+            } while (!values.compareAndSet(move, current, Double.doubleToRawLongBits(Double.longBitsToDouble(current) + value)));
+        }
+
+        private double valueOf(int move) {
+            return Double.longBitsToDouble(values.get(move));
+        }
+    }
+
+    /**
+     * Worker that conducts playouts on the shared tree with its own search state and random stream.
+     */
+    private static class Worker {
+        private final SearchState state;
+        private final SplittableRandom search;
+        private final SharedDecision[] path;
+        private final int[] pathMoves;
+        private final TileType[] drawnTiles;
+
+        Worker(SearchState state, SplittableRandom search) {
+            this.state = state;
+            this.search = search;
+            path = new SharedDecision[MonteCarloAI.MAXIMAL_DEPTH];
+            pathMoves = new int[MonteCarloAI.MAXIMAL_DEPTH];
+            drawnTiles = new TileType[MonteCarloAI.MAXIMAL_DEPTH];
+        }
+
+        /**
+         * Descends the shared tree in the same way as a playout of the {@link MonteCarloAI}, where every selected move
+         * receives a virtual loss. A move is valued by the worker that plays it first, which ends that playout.
+         */
+        void playout(SharedDecision root) {
+            double value = 0;
+            int depth = 0;
+            int playedMoves = 0; // moves of the path that are played on the search state
+            SharedDecision decision = root;
+            while (true) {
+                int move = decision.select();
+                if (move < 0) {
+                    break; // the drawn tile cannot be placed
+                }
+                decision.addVirtualLoss(move);
+                double moveValue = decision.getExactValue(move);
+                boolean firstValuation = Double.isNaN(moveValue);
+                if (firstValuation) {
+                    playedMoves = playPath(playedMoves, depth);
+                    if (!decision.checked && !state.isLegal(decision.moves[move], decision.tileOf(move), decision.player)) {
+                        decision.removeIllegalMove(move);
+                        continue;
+                    }
+                    moveValue = state.play(decision.moves[move], decision.tileOf(move), decision.player);
+                    decision.setExactValue(move, moveValue);
+                    playedMoves++;
+                }
+                value += decision.sign() * moveValue;
+                path[depth] = decision;
+                pathMoves[depth] = move;
+                depth++;
+                if (firstValuation || depth == MonteCarloAI.MAXIMAL_DEPTH || state.getRemainingTiles() == 0) {
+                    break;
+                }
+                drawnTiles[depth - 1] = state.drawRandomTile(search);
+                SharedDecision child = decision.getChild(move, drawnTiles[depth - 1]);
+                if (child == null) {
+                    if (decision.getVisits(move) < MonteCarloAI.EXPANSION_THRESHOLD) {
+                        break;
+                    }
+                    playedMoves = playPath(playedMoves, depth);
+                    child = decision.expand(move, drawnTiles[depth - 1], state);
+                }
+                decision = child;
+            }
+            for (int ply = depth - 1; ply >= 0; ply--) {
+                path[ply].update(pathMoves[ply], value);
+                if (ply < playedMoves) {
+                    state.undo();
+                }
+                if (drawnTiles[ply] != null) {
+                    state.returnTile(drawnTiles[ply]);
+                    drawnTiles[ply] = null;
+                }
+            }
+        }
+
+        /**
+         * Plays the moves of the current path that are not yet played on the search state.
+         * @return the number of played moves of the path.
+         */
+        private int playPath(int playedMoves, int depth) {
+            for (int ply = playedMoves; ply < depth; ply++) {
+                SharedDecision decision = path[ply];
+                state.play(decision.moves[pathMoves[ply]], decision.tileOf(pathMoves[ply]), decision.player);
+            }
+            return depth;
+        }
+    }
+}
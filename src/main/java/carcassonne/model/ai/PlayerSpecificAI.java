@@ -0,0 +1,71 @@
+package carcassonne.model.ai;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+
+import carcassonne.model.Player;
+import carcassonne.model.grid.Grid;
+import carcassonne.model.tile.Tile;
+import carcassonne.model.tile.TileStack;
+import carcassonne.settings.GameSettings;
+import carcassonne.util.RandomStreams;
+
+/**
+ * Delegates the decisions of every computer-controlled player to an AI of the {@link AIStrategy} that the game settings
+ * assign to the player. The AIs are created on demand and shared by all players with the same strategy.
+ * @author Timur Saglam
+ */
+public class PlayerSpecificAI implements ArtificialIntelligence {
+    private final GameSettings settings;
+    private final Map<AIStrategy, ArtificialIntelligence> strategies;
+    private ArtificialIntelligence currentAI; // the AI of the last decision
+    private RandomStreams random;
+
+    /**
+     * Creates the AI without creating the AIs of the strategies.
+     * @param settings are the game settings, which assign the strategies to the players.
+     */
+    public PlayerSpecificAI(GameSettings settings) {
+        this.settings = settings;
+        strategies = new EnumMap<>(AIStrategy.class);
+        random = RandomStreams.withRandomSeed(); // until the AI is prepared for a specific game
+    }
+
+    @Override
+    public Optional<AbstractCarcassonneMove> calculateBestMoveFor(Collection<Tile> tiles, Player player, Grid grid, TileStack stack) {
+        currentAI = aiOf(player);
+        return currentAI.calculateBestMoveFor(tiles, player, grid, stack);
+    }
+
+    @Override
+    public Tile chooseTileToDrop(Collection<Tile> tiles, Player player, Grid grid) {
+        return aiOf(player).chooseTileToDrop(tiles, player, grid);
+    }
+
+    @Override
+    public void finishGame() {
+        strategies.values().forEach(ArtificialIntelligence::finishGame);
+    }
+
+    @Override
+    public Optional<AbstractCarcassonneMove> getCurrentMove() {
+        return currentAI == null ? Optional.empty() : currentAI.getCurrentMove();
+    }
+
+    @Override
+    public void prepareForGame(RandomStreams random) {
+        this.random = random;
+        currentAI = null;
+        strategies.values().forEach(it -> it.prepareForGame(random));
+    }
+
+    private ArtificialIntelligence aiOf(Player player) {
+        return strategies.computeIfAbsent(settings.getPlayerStrategy(player.getNumber()), strategy -> {
+            ArtificialIntelligence ai = strategy.createAI(settings);
+            ai.prepareForGame(random);
+            return ai;
+        });
+    }
+}
@@ -6,15 +6,18 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.Random;
-import java.util.stream.Stream;
+import java.util.SplittableRandom;
 
 import carcassonne.model.Player;
 import carcassonne.model.grid.Grid;
+import carcassonne.model.grid.ParallelMoveGenerator;
+import carcassonne.model.terrain.TerrainType;
 import carcassonne.model.tile.Tile;
 import carcassonne.model.tile.TileStack;
 import carcassonne.settings.GameSettings;
+import carcassonne.util.RandomStreams;
 
 public class RuleBasedAI implements ArtificialIntelligence {
     private static final double REQUIRED_FIELD_VALUE = 12;
@@ -25,43 +28,49 @@ public class RuleBasedAI implements ArtificialIntelligence {
     private static final double LAST_MEEPLE_INCENTIVE = 2.5;
     private static final String EMPTY_COLLECTION = "Cannot choose random element from empty collection!";
     private static final double EPSILON = 0.01;
+    private static final int SELECTED_MOVES = 1; // all moves with the maximal combined value
     private final GameSettings settings;
-    private final Random random;
+    private ParallelMoveGenerator moveGenerator; // created on demand, as the parallel move generation is optional
+    private final MoveList possibleMoves; // reused for every decision
+    private final ZeroSumEvaluator evaluator; // reused for every decision
+    private MoveSelectionPipeline pipeline;
+    private RandomStreams random;
     private Optional<AbstractCarcassonneMove> currentMove;
 
     public RuleBasedAI(GameSettings settings) {
         this.settings = settings;
-        random = new Random();
+        possibleMoves = new MoveList();
+        evaluator = new ZeroSumEvaluator(settings);
+        random = RandomStreams.withRandomSeed(); // until the AI is prepared for a specific game
     }
 
     @Override
     public Optional<AbstractCarcassonneMove> calculateBestMoveFor(Collection<Tile> tiles, Player player, Grid grid, TileStack stack) {
         currentMove = Optional.empty();
-        Collection<AbstractCarcassonneMove> possibleMoves = new ArrayList<>();
-        for (Tile tile : tiles) {
-            possibleMoves.addAll(grid.getPossibleMoves(tile, player, settings));
+        List<Tile> hand = new ArrayList<>(tiles);
+        possibleMoves.clear();
+        if (settings.isParallelMoveGeneration()) { // same moves either way
+            if (moveGenerator == null) {
+                moveGenerator = new ParallelMoveGenerator();
+            }
+            moveGenerator.generatePossibleMoves(grid, hand, player, settings, possibleMoves);
+        } else {
+            grid.generatePossibleMoves(hand, player, settings, possibleMoves);
         }
-        // RULE 1: Only consider move with a positive value:
-        List<AbstractCarcassonneMove> consideredMoves = possibleMoves.stream().filter(it -> it.getValue() >= 0).collect(toList());
-        // RULE 2: Do not place last meeple on fields (except at the end):
-        if (player.getFreeMeeples() == 1 && stack.getSize() > settings.getNumberOfPlayers()) {
-            consideredMoves = consideredMoves.stream().filter(it -> !it.isFieldMove()).collect(toList());
-        }
-        // RULE 3: Avoid placing low value fields early in the game:
-        consideredMoves = filterEarlyFieldMoves(consideredMoves, stack, player);
-        // RULE 4: Find best move based on score value and meeple value
-        if (!consideredMoves.isEmpty()) {
-            double maximumValue = consideredMoves.stream().mapToDouble(it -> combinedValue(it, stack)).max().getAsDouble();
-            Stream<AbstractCarcassonneMove> bestMoves = consideredMoves.stream().filter(it -> combinedValue(it, stack) == maximumValue);
-            currentMove = chooseAmongBestMoves(bestMoves.collect(toList()), grid);
+        evaluator.reset(grid, hand, player);
+        pipeline = createPipeline(evaluator, player, grid, stack);
+        int[] bestIndices = pipeline.select(possibleMoves, evaluator);
+        List<AbstractCarcassonneMove> bestMoves = createBestMoves(bestIndices, hand, player, grid);
+        if (!bestMoves.isEmpty()) {
+            currentMove = chooseAmongBestMoves(bestMoves, grid);
         }
         System.out.println(currentMove); // TODO (HIGH) [AI] remove debug output
         return currentMove;
     }
 
     @Override
-    public Tile chooseTileToDrop(Collection<Tile> tiles) {
-        return chooseRandom(tiles); // TODO (HIGH) [AI] find a meaningful heuristic
+    public Tile chooseTileToDrop(Collection<Tile> tiles, Player player, Grid grid) {
+        return chooseUnplaceableTile(tiles, grid, random.forTileDropping());
     }
 
     @Override
@@ -69,52 +78,106 @@ public class RuleBasedAI implements ArtificialIntelligence {
         return currentMove;
     }
 
+    /**
+     * Returns how many moves each stage of the last move selection dropped.
+     * @return the number of dropped moves by stage name, in the order of the stages.
+     */
+    public Map<String, Integer> getDroppedMoves() {
+        return pipeline == null ? Collections.emptyMap() : pipeline.getDroppedMoves();
+    }
+
+    @Override
+    public void prepareForGame(RandomStreams random) {
+        this.random = random;
+    }
+
     private Optional<AbstractCarcassonneMove> chooseAmongBestMoves(List<AbstractCarcassonneMove> listOfMoves, Grid grid) {
         RuleBasedComparator comparator = new RuleBasedComparator(grid.getFoundation(), settings.getDistanceMeasure());
         AbstractCarcassonneMove maximum = Collections.max(listOfMoves, comparator);
         List<AbstractCarcassonneMove> bestMoves = listOfMoves.stream().filter(it -> comparator.compare(it, maximum) == 0).collect(toList());
-        return Optional.of(chooseRandom(bestMoves));
+        return Optional.of(chooseRandom(bestMoves, random.forTieBreaking()));
     }
 
-    private <T> T chooseRandom(Collection<T> elements) {
+    /**
+     * Chooses a random tile to drop among the tiles that cannot be placed anywhere on the grid, as placeable tiles are kept.
+     * Only if all tiles can be placed, any of them is chosen. Shared by all artificial intelligences.
+     * @param tiles are the tiles to choose from.
+     * @param grid is the grid on which the tiles could be placed.
+     * @param random is the random stream of the tile dropping.
+     * @return the tile to drop.
+     */
+    static Tile chooseUnplaceableTile(Collection<Tile> tiles, Grid grid, SplittableRandom random) {
+        List<Tile> unplaceableTiles = tiles.stream().filter(it -> !grid.hasLegalPlacement(it)).collect(toList());
+        return chooseRandom(unplaceableTiles.isEmpty() ? tiles : unplaceableTiles, random); // keep placeable tiles
+    }
+
+    private static <T> T chooseRandom(Collection<T> elements, SplittableRandom random) {
         Optional<T> randomElement = elements.stream().skip(random.nextInt(elements.size())).findFirst();
         return randomElement.orElseThrow(() -> new IllegalArgumentException(EMPTY_COLLECTION));
     }
 
     /**
-     * Filters field moves if their value is too low. The required value decreases with a shrinking tile stack.
+     * Creates the move selection of a decision. RULE 2 drops moves before their evaluation, RULE 1 and RULE 3 drop
+     * evaluated moves, and RULE 4 ranks the remaining moves by their combined value. All moves with the maximal combined
+     * value are selected.
      */
-    private List<AbstractCarcassonneMove> filterEarlyFieldMoves(Collection<AbstractCarcassonneMove> moves, TileStack stack, Player player) {
-        double tiles = Math.max(LOWER_BOUND, Math.min(stack.getSize(), UPPER_BOUND));
-        double variableRequiredValue = REQUIRED_FIELD_VALUE * (tiles / (UPPER_BOUND - LOWER_BOUND) - OFFSET);
-        double requiredValue = player.getUnretrievableMeeples() + variableRequiredValue;
-        return moves.stream().filter(move -> !move.isFieldMove() || move.getFieldValue() > requiredValue).collect(toList());
+    private MoveSelectionPipeline createPipeline(ZeroSumEvaluator evaluator, Player player, Grid grid, TileStack stack) {
+        MoveSelectionPipeline selection = new MoveSelectionPipeline(new CombinedScore(player, stack), SELECTED_MOVES);
+        // RULE 2: Do not place last meeple on fields (except at the end):
+        if (player.getFreeMeeples() == 1 && stack.getSize() > settings.getNumberOfPlayers()) {
+            selection.addPackedFilter("RULE 2 (last meeple on fields)", it -> !evaluator.isFieldMove(it));
+        }
+        // RULE 1: Only consider moves with a positive value:
+        selection.addFilter("RULE 1 (negative value)", (moves, index) -> moves.getValue(index) >= 0);
+        // RULE 3: Only consider field moves with a high value:
+        double requiredFieldValue = requiredFieldValue(stack, player, grid);
+        selection.addFilter("RULE 3 (low value fields)",
+                (moves, index) -> !evaluator.isFieldMove(moves.get(index)) || moves.getFieldValue(index) > requiredFieldValue);
+        return selection;
     }
 
-    private double combinedValue(AbstractCarcassonneMove move, TileStack stack) {
-        double meepleValue = variableMeepleValue(move, stack);
-        if (move.getValue() > 0 && move.getValue() + meepleValue <= 0 && move.getActingPlayer().getFreeMeeples() > 1) {
-            return EPSILON; // meeple value should only lead to wasted moves if there is only one meeple left
+    /**
+     * Creates the move objects of the selected moves. The moves of every tile are sorted by their value in descending
+     * order, thus the random choice among the best moves does not depend on the order of their evaluation.
+     */
+    private List<AbstractCarcassonneMove> createBestMoves(int[] bestIndices, List<Tile> hand, Player player, Grid grid) {
+        List<List<AbstractCarcassonneMove>> bestMovesPerTile = new ArrayList<>();
+        hand.forEach(it -> bestMovesPerTile.add(new ArrayList<>()));
+        for (int index : bestIndices) {
+            int tileIndex = PackedMove.tileIndex(possibleMoves.get(index));
+            bestMovesPerTile.get(tileIndex).add(possibleMoves.createMove(index, hand, grid, player, settings));
+        }
+        List<AbstractCarcassonneMove> bestMoves = new ArrayList<>();
+        for (List<AbstractCarcassonneMove> tileMoves : bestMovesPerTile) {
+            Collections.sort(tileMoves);
+            Collections.reverse(tileMoves);
+            bestMoves.addAll(tileMoves);
         }
-        return move.getValue() + meepleValue;
+        return bestMoves;
+    }
+
+    /**
+     * Calculates the field value a field move requires. The required value decreases with a shrinking tile stack.
+     */
+    private double requiredFieldValue(TileStack stack, Player player, Grid grid) {
+        double tiles = Math.max(LOWER_BOUND, Math.min(stack.getSize(), UPPER_BOUND));
+        double variableRequiredValue = REQUIRED_FIELD_VALUE * (tiles / (UPPER_BOUND - LOWER_BOUND) - OFFSET);
+        return grid.getMeepleIndex().count(player, TerrainType.FIELDS) + variableRequiredValue;
     }
 
     /**
      * Calculates the value of the spend and retrieved meeples. Depends on the fill level of the tile stack.
      */
-    private double variableMeepleValue(AbstractCarcassonneMove move, TileStack stack) {
-        int meepleDifference = move.getGainedMeeples();
-        int freeMeeples = move.getActingPlayer().getFreeMeeples();
-        if (endIsNear(stack, move.getActingPlayer()) && meepleDifference < 0) {
+    private double variableMeepleValue(int meepleDifference, Player player, TileStack stack) {
+        int freeMeeples = player.getFreeMeeples();
+        if (endIsNear(stack, player) && meepleDifference < 0) {
             return 0;
         }
         double value = 0;
         if (freeMeeples == 0 && meepleDifference > 0 || freeMeeples == 1 && meepleDifference < 0) {
             value += LAST_MEEPLE_INCENTIVE;
         }
-        for (int i = 0; i < Math.abs(meepleDifference); i++) {
-            value += (GameSettings.MAXIMAL_MEEPLES - freeMeeples) * MEEPLE_VALUE_FACTOR;
-        }
+        value += Math.abs((double) meepleDifference) * (GameSettings.MAXIMAL_MEEPLES - freeMeeples) * MEEPLE_VALUE_FACTOR;
         return value * Math.signum(meepleDifference);
     }
 
@@ -125,4 +188,35 @@ public class RuleBasedAI implements ArtificialIntelligence {
         return stack.getSize() / (double) settings.getNumberOfPlayers() <= player.getFreeMeeples();
     }
 
+    /**
+     * RULE 4: Scores the moves by their combined value of the move value and the value of the spent or gained meeples.
+     */
+    private class CombinedScore implements MoveScore {
+        private final Player player;
+        private final TileStack stack;
+
+        CombinedScore(Player player, TileStack stack) {
+            this.player = player;
+            this.stack = stack;
+        }
+
+        @Override
+        public double score(MoveList moves, int index) {
+            double value = moves.getValue(index);
+            double meepleValue = variableMeepleValue(moves.getGainedMeeples(index), player, stack);
+            if (value > 0 && value + meepleValue <= 0 && player.getFreeMeeples() > 1) {
+                return EPSILON; // meeple value should only lead to wasted moves if there is only one meeple left
+            }
+            return value + meepleValue;
+        }
+
+        /**
+         * Relies on the meeple value never decreasing with more gained meeples.
+         */
+        @Override
+        public double upperBound(MoveList moves, int index) {
+            double meepleValue = variableMeepleValue(moves.getGainedMeeples(index), player, stack);
+            return Math.max(moves.getValueUpperBound(index) + meepleValue, EPSILON);
+        }
+    }
 }
@@ -2,7 +2,11 @@ package carcassonne.model.ai;
 
 import java.util.Comparator;
 
+import carcassonne.model.grid.GridDirection;
 import carcassonne.model.grid.GridSpot;
+import carcassonne.model.terrain.TerrainType;
+import carcassonne.model.tile.PackedTile;
+import carcassonne.model.tile.TileType;
 import carcassonne.util.MinkowskiDistance;
 
 /**
@@ -26,26 +30,49 @@ public class RuleBasedComparator implements Comparator<AbstractCarcassonneMove>
 
     @Override
     public int compare(AbstractCarcassonneMove firstMove, AbstractCarcassonneMove secondMove) {
-        if (firstMove.getGainedMeeples() != secondMove.getGainedMeeples()) {
+        int gainedMeepleDifference = firstMove.getGainedMeeples() - secondMove.getGainedMeeples();
+        double distanceDifference = distanceToCenter(secondMove.getX(), secondMove.getY()) - distanceToCenter(firstMove.getX(), firstMove.getY());
+        return compare(gainedMeepleDifference, firstMove.getMeepleType(), secondMove.getMeepleType(), distanceDifference);
+    }
+
+    /**
+     * Compares two moves of a move list with the same rules as their move objects, without creating them. Moves that are
+     * not evaluated are compared by the upper bounds of their gained meeples.
+     * @param moves is the move list that contains both moves.
+     * @param first is the index of the first move.
+     * @param second is the index of the second move.
+     * @param tiles are the types of the tiles that are referenced by the tile indices of the moves.
+     * @return a negative integer, zero, or a positive integer as the first move is worse, equally good, or better.
+     */
+    public int compare(MoveList moves, int first, int second, TileType... tiles) {
+        long firstMove = moves.get(first);
+        long secondMove = moves.get(second);
+        int gainedMeepleDifference = moves.getGainedMeeples(first) - moves.getGainedMeeples(second);
+        double distanceDifference = distanceToCenter(PackedMove.x(secondMove), PackedMove.y(secondMove))
+                - distanceToCenter(PackedMove.x(firstMove), PackedMove.y(firstMove));
+        return compare(gainedMeepleDifference, meepleType(firstMove, tiles), meepleType(secondMove, tiles), distanceDifference);
+    }
+
+    private int compare(int gainedMeepleDifference, TerrainType firstMeepleType, TerrainType secondMeepleType, double distanceDifference) {
+        if (gainedMeepleDifference != 0) {
             // Rule 1: Prefer move with a maximal meeple gain
-            return firstMove.getGainedMeeples() - secondMove.getGainedMeeples();
-        } else if (firstMove.involvesMeeplePlacement() != secondMove.involvesMeeplePlacement()) {
+            return gainedMeepleDifference;
+        } else if ((firstMeepleType == null) != (secondMeepleType == null)) {
             // Rule 2: Prefer move without meeple placement
-            return preferFalse(firstMove.involvesMeeplePlacement(), secondMove.involvesMeeplePlacement());
+            return preferFalse(firstMeepleType != null, secondMeepleType != null);
         }
         // Rule 3: Choose in the order of castle > monastery > road > fields
-        int moveTypeDifference = compareMoveType(firstMove) - compareMoveType(secondMove);
+        int moveTypeDifference = compareMoveType(firstMeepleType) - compareMoveType(secondMeepleType);
         if (moveTypeDifference != 0) {
             return moveTypeDifference;
         }
         // Rule 4: Finally, choose closest move to the center of the grid
-        return (int) (ROUNDING_FACTOR * (distanceToCenter(secondMove) - distanceToCenter(firstMove)));
-
+        return (int) (ROUNDING_FACTOR * distanceDifference);
     }
 
-    private int compareMoveType(AbstractCarcassonneMove move) {
-        if (move.involvesMeeplePlacement()) {
-            switch (move.getMeepleType()) {
+    private int compareMoveType(TerrainType meepleType) {
+        if (meepleType != null) {
+            switch (meepleType) {
                 case CASTLE:
                     return 3;
                 case MONASTERY:
@@ -58,8 +85,17 @@ public class RuleBasedComparator implements Comparator<AbstractCarcassonneMove>
         return 0; // fields or no meeple placed
     }
 
-    private double distanceToCenter(AbstractCarcassonneMove move) {
-        return distanceMeasure.distance(center.getX(), center.getY(), move.getX(), move.getY());
+    private double distanceToCenter(int x, int y) {
+        return distanceMeasure.distance(center.getX(), center.getY(), x, y);
+    }
+
+    private TerrainType meepleType(long packedMove, TileType... tiles) {
+        GridDirection position = PackedMove.meeplePosition(packedMove);
+        if (position == null) {
+            return null;
+        }
+        TileType type = tiles[PackedMove.tileIndex(packedMove)];
+        return PackedTile.terrain(PackedTile.encode(type, PackedMove.rotation(packedMove)), position);
     }
 
     private int preferFalse(Boolean first, Boolean second) {
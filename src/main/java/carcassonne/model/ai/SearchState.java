@@ -0,0 +1,420 @@
+package carcassonne.model.ai;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import carcassonne.model.Meeple;
+import carcassonne.model.Player;
+import carcassonne.model.grid.Grid;
+import carcassonne.model.grid.GridDirection;
+import carcassonne.model.grid.GridPattern;
+import carcassonne.model.grid.GridSpot;
+import carcassonne.model.terrain.TileTerrain;
+import carcassonne.model.tile.OrientedTile;
+import carcassonne.model.tile.Tile;
+import carcassonne.model.tile.TileCatalog;
+import carcassonne.model.tile.TileRotation;
+import carcassonne.model.tile.TileStack;
+import carcassonne.model.tile.TileType;
+import carcassonne.settings.GameSettings;
+
+/**
+ * Mutable state of a game for tree searches, which plays moves on a copy of the grid and takes them back in reverse
+ * order. It tracks the free meeples of all players and the quantities of the tiles that can still be drawn, but no
+ * scores: every move is valued by the change of its local patterns when modeling the game as a zero-sum game, in the
+ * same way as {@link ZeroSumEvaluator} values a move. Meeples on patterns that a move completes are returned to their
+ * owners. Tile placements are generated from the free spots next to the placed tiles, while meeple placements are only
+ * checked on demand. The indexes of the grid copy only answer these checks before the first move, as the played moves
+ * do not update them. A state is confined to a single thread.
+ * @author Timur Saglam
+ */
+class SearchState {
+    private static final double MEEPLE_VALUE_FACTOR = 0.5;
+    private static final TileType[] TYPES = TileType.values();
+    private final Grid grid;
+    private final GameSettings settings;
+    private final Player[] players; // by player number
+    private final int searchingPlayer;
+    private final int[] freeMeeples; // by player number
+    private final int[] remainingTiles; // by tile type ordinal
+    private int remainingTileCount;
+    private final int[] frontier; // spot indices of the free spots next to placed tiles, occupied spots are skipped
+    private final boolean[] inFrontier;
+    private int frontierSize;
+    private final Tile[] prototypes; // by tile type ordinal, created on demand
+    private final OrientedTile[][] orientedTiles; // by tile type and rotation ordinal, created on demand
+    private final Deque<PlayedMove> playedMoves;
+    private final ZeroSumEvaluator evaluator; // reset for every evaluation
+
+    /**
+     * Creates a search state for the current state of a game. The grid is copied, thus the game is never changed.
+     * @param grid is the grid of the game.
+     * @param player is the player whose turn it is.
+     * @param stack is the tile stack, which determines the tiles that can be drawn.
+     * @param settings are the game settings.
+     */
+    SearchState(Grid grid, Player player, TileStack stack, GameSettings settings) {
+        this.grid = grid.copy();
+        this.settings = settings;
+        evaluator = new ZeroSumEvaluator(settings);
+        players = collectPlayers(grid, player, settings);
+        searchingPlayer = player.getNumber();
+        freeMeeples = new int[players.length];
+        for (Player known : players) {
+            freeMeeples[known.getNumber()] = known.getFreeMeeples();
+        }
+        remainingTiles = new int[TYPES.length];
+        for (Map.Entry<TileType, Integer> entry : stack.getTileQuantities().entrySet()) {
+            remainingTiles[entry.getKey().ordinal()] = entry.getValue();
+            remainingTileCount += entry.getValue();
+        }
+        frontier = new int[grid.getWidth() * grid.getHeight()];
+        inFrontier = new boolean[frontier.length];
+        for (int x = 0; x < grid.getWidth(); x++) {
+            for (int y = 0; y < grid.getHeight(); y++) {
+                if (this.grid.getSpot(x, y).isOccupied()) {
+                    addFreeNeighborsToFrontier(this.grid.getSpot(x, y));
+                }
+            }
+        }
+        prototypes = new Tile[TYPES.length];
+        orientedTiles = new OrientedTile[TYPES.length][TileRotation.values().length];
+        playedMoves = new ArrayDeque<>();
+    }
+
+    /**
+     * Draws a random tile, where every tile type is weighted with its remaining quantity.
+     * @param random is the random stream that determines the tile.
+     * @return the type of the drawn tile.
+     */
+    TileType drawRandomTile(SplittableRandom random) {
+        if (remainingTileCount == 0) {
+            throw new IllegalStateException("No tiles remaining to draw.");
+        }
+        int tile = random.nextInt(remainingTileCount);
+        int ordinal = 0;
+        while (tile >= remainingTiles[ordinal]) {
+            tile -= remainingTiles[ordinal];
+            ordinal++;
+        }
+        remainingTiles[ordinal]--;
+        remainingTileCount--;
+        return TYPES[ordinal];
+    }
+
+    /**
+     * Draws a tile of a specific type, which needs to be remaining.
+     * @param type is the type of the drawn tile.
+     */
+    void drawTile(TileType type) {
+        if (remainingTiles[type.ordinal()] == 0) {
+            throw new IllegalStateException("No tiles of type " + type + " remaining to draw.");
+        }
+        remainingTiles[type.ordinal()]--;
+        remainingTileCount--;
+    }
+
+    /**
+     * Evaluates the generated moves without meeple placement in the same way as {@link ZeroSumEvaluator}, which also
+     * bounds the values of the moves with the same tile placement.
+     * @param moves are the generated moves.
+     * @param type is the type of the placed tile.
+     * @param player is the number of the player that conducts the moves.
+     */
+    void evaluatePlacements(MoveList moves, TileType type, int player) {
+        evaluator.reset(grid, List.of(prototypeOf(type)), players[player]);
+        for (int index = 0; index < moves.size(); index++) {
+            if (!PackedMove.hasMeeple(moves.get(index))) {
+                evaluator.evaluate(moves, index);
+            }
+        }
+    }
+
+    /**
+     * Generates the legal tile placements of a tile type and their meeple placements in their packed form, with zero as
+     * tile index. The meeple placements are only checked for their terrain and the meeple rules, the pattern occupation
+     * needs to be checked with {@link #isLegal(long, TileType, int)}.
+     * @param type is the type of the tile.
+     * @param player is the number of the player that places the tile.
+     * @param moves is the move list to which the moves are added.
+     */
+    void generateMoves(TileType type, int player, MoveList moves) {
+        for (int index = 0; index < frontierSize; index++) {
+            GridSpot spot = grid.getSpot(frontier[index] / grid.getHeight(), frontier[index] % grid.getHeight());
+            if (spot.isOccupied() || !isAllowedByEnclaveRule(spot)) {
+                continue;
+            }
+            int signature = signatureOf(spot);
+            for (TileRotation rotation : TileTerrain.distinctRotations(type)) {
+                if (TileCatalog.fits(signature, type, rotation)) {
+                    moves.add(PackedMove.encode(spot.getX(), spot.getY(), rotation, null, 0));
+                    if (freeMeeples[player] > 0) {
+                        TileTerrain terrain = TileTerrain.of(type, rotation);
+                        for (GridDirection position : GridDirection.values()) {
+                            if (terrain.getMeepleSpots().contains(position) && settings.getMeepleRule(terrain.at(position))) {
+                                moves.add(PackedMove.encode(spot.getX(), spot.getY(), rotation, position, 0));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the copy of the grid on which the moves are played.
+     * @return the grid copy.
+     */
+    Grid getGrid() {
+        return grid;
+    }
+
+    /**
+     * Returns the number of players of the game.
+     * @return the number of players.
+     */
+    int getPlayerCount() {
+        return players.length;
+    }
+
+    /**
+     * Returns the number of tiles that can still be drawn.
+     * @return the number of tiles.
+     */
+    int getRemainingTiles() {
+        return remainingTileCount;
+    }
+
+    /**
+     * Returns the number of tiles of a specific type that can still be drawn.
+     * @param type is the type of the tiles.
+     * @return the number of tiles.
+     */
+    int getRemainingTiles(TileType type) {
+        return remainingTiles[type.ordinal()];
+    }
+
+    /**
+     * Returns the number of the player whose turn it is in the game, who conducts the search.
+     * @return the player number.
+     */
+    int getSearchingPlayer() {
+        return searchingPlayer;
+    }
+
+    /**
+     * Checks whether the meeple placement of a generated move is allowed by the occupation of its pattern.
+     * @param packedMove is the generated move.
+     * @param type is the type of the placed tile.
+     * @param player is the number of the player that conducts the move.
+     * @return true if the move is legal.
+     */
+    boolean isLegal(long packedMove, TileType type, int player) {
+        GridDirection position = PackedMove.meeplePosition(packedMove);
+        if (position == null) {
+            return true;
+        }
+        GridSpot spot = grid.getSpot(PackedMove.x(packedMove), PackedMove.y(packedMove));
+        TemporaryTile tile = temporaryTile(type, PackedMove.rotation(packedMove));
+        spot.forcePlacement(tile);
+        boolean legal;
+        if (playedMoves.isEmpty()) { // the indexes of the grid copy are up to date
+            legal = tile.allowsPlacingMeeple(position, players[player], settings);
+        } else { // the played tiles and meeples are not indexed, but patterns can run through them
+            legal = grid.allowsPlacingMeepleByPattern(spot, position, players[player], settings);
+        }
+        spot.removeTile();
+        return legal;
+    }
+
+    /**
+     * Returns the value of a single meeple for a player. Spent meeples are worthless when the end is near, otherwise
+     * meeples are more valuable the fewer are left.
+     * @param player is the number of the player.
+     * @return the value in points.
+     */
+    double meepleValue(int player) {
+        if (remainingTileCount / (double) players.length <= freeMeeples[player]) {
+            return 0;
+        }
+        return (GameSettings.MAXIMAL_MEEPLES - freeMeeples[player]) * MEEPLE_VALUE_FACTOR;
+    }
+
+    /**
+     * Returns the number of the player that follows another player.
+     * @param player is the number of the player.
+     * @return the number of the next player.
+     */
+    int nextPlayer(int player) {
+        return (player + 1) % players.length;
+    }
+
+    /**
+     * Plays a legal move, which can be taken back with {@link #undo()}.
+     * @param packedMove is the move, its tile index is ignored.
+     * @param type is the type of the placed tile.
+     * @param player is the number of the player that conducts the move.
+     * @return the zero-sum value of the move for the player, including the value of the spent or regained meeples.
+     */
+    double play(long packedMove, TileType type, int player) {
+        GridSpot spot = grid.getSpot(PackedMove.x(packedMove), PackedMove.y(packedMove));
+        GridDirection position = PackedMove.meeplePosition(packedMove);
+        int scoreBefore = zeroSumScore(grid.getLocalPatterns(spot), player);
+        TemporaryTile tile = temporaryTile(type, PackedMove.rotation(packedMove));
+        spot.forcePlacement(tile);
+        PlayedMove move = new PlayedMove(spot, player, addFreeNeighborsToFrontier(spot));
+        int gainedMeeples = 0;
+        if (position != null) {
+            tile.forceMeeple(players[player], position);
+            freeMeeples[player]--;
+            gainedMeeples--;
+        }
+        double meepleValue = meepleValue(player);
+        Iterable<GridPattern> patterns = grid.getLocalPatterns(spot);
+        int scoreAfter = zeroSumScore(patterns, player);
+        for (GridPattern pattern : patterns) {
+            if (pattern.isComplete()) {
+                for (Meeple meeple : pattern.getMeepleList()) {
+                    move.returnedMeeples.add(meeple);
+                    meeple.getLocation().getTile().removeMeeple();
+                    freeMeeples[meeple.getOwner().getNumber()]++;
+                    if (meeple.getOwner() == players[player]) {
+                        gainedMeeples++;
+                    }
+                }
+            }
+        }
+        playedMoves.push(move);
+        return scoreAfter - scoreBefore + gainedMeeples * meepleValue;
+    }
+
+    /**
+     * Returns a drawn tile to the tiles that can still be drawn.
+     * @param type is the type of the tile.
+     */
+    void returnTile(TileType type) {
+        remainingTiles[type.ordinal()]++;
+        remainingTileCount++;
+    }
+
+    /**
+     * Takes back the last played move.
+     */
+    void undo() {
+        PlayedMove move = playedMoves.pop();
+        for (Meeple meeple : move.returnedMeeples) {
+            ((TemporaryTile) meeple.getLocation().getTile()).forceMeeple(meeple.getOwner(), meeple.getPosition());
+            freeMeeples[meeple.getOwner().getNumber()]--;
+        }
+        Tile tile = move.spot.getTile();
+        if (tile.hasMeeple()) {
+            tile.removeMeeple();
+            freeMeeples[move.player]++;
+        }
+        move.spot.removeTile();
+        for (int added = 0; added < move.addedFrontierSpots; added++) {
+            inFrontier[frontier[--frontierSize]] = false;
+        }
+    }
+
+    private int addFreeNeighborsToFrontier(GridSpot spot) {
+        int added = 0;
+        for (GridSpot neighbor : grid.getNeighbors(spot, true, GridDirection.directNeighbors())) {
+            int index = neighbor.getX() * grid.getHeight() + neighbor.getY();
+            if (neighbor.isFree() && !inFrontier[index]) {
+                inFrontier[index] = true;
+                frontier[frontierSize++] = index;
+                added++;
+            }
+        }
+        return added;
+    }
+
+    private boolean isAllowedByEnclaveRule(GridSpot spot) {
+        if (grid.isAllowingEnclaves()) {
+            return true;
+        }
+        for (GridDirection direction : GridDirection.directNeighbors()) {
+            if (grid.getNeighbor(spot, direction) == null && grid.isClosingFreeSpotsOff(spot, direction)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int signatureOf(GridSpot spot) {
+        int signature = TileCatalog.UNCONSTRAINED;
+        for (GridDirection direction : GridDirection.directNeighbors()) {
+            GridSpot neighbor = grid.getNeighbor(spot, direction);
+            if (neighbor != null) {
+                signature = TileCatalog.require(signature, direction, neighbor.getTile().getTerrain(direction.opposite()));
+            }
+        }
+        return signature;
+    }
+
+    private Tile prototypeOf(TileType type) {
+        if (prototypes[type.ordinal()] == null) {
+            prototypes[type.ordinal()] = new Tile(type);
+        }
+        return prototypes[type.ordinal()];
+    }
+
+    private TemporaryTile temporaryTile(TileType type, TileRotation rotation) {
+        if (orientedTiles[type.ordinal()][rotation.ordinal()] == null) {
+            orientedTiles[type.ordinal()][rotation.ordinal()] = new OrientedTile(prototypeOf(type), rotation);
+        }
+        return new TemporaryTile(orientedTiles[type.ordinal()][rotation.ordinal()]); // a type can be placed multiple times
+    }
+
+    private int zeroSumScore(Iterable<GridPattern> patterns, int player) {
+        int score = 0;
+        for (GridPattern pattern : patterns) {
+            score += ZeroSumMove.zeroSumScore(pattern, players[player]);
+        }
+        return score;
+    }
+
+    /**
+     * Collects the players of the game by their number. The other players are only known by their meeples on the grid,
+     * the players without placed meeples are replaced by new players with all their meeples.
+     */
+    private static Player[] collectPlayers(Grid grid, Player player, GameSettings settings) {
+        List<Player> knownPlayers = new ArrayList<>();
+        knownPlayers.add(player);
+        grid.getMeepleIndex().getMeeples().stream().map(Meeple::getOwner).distinct().forEach(knownPlayers::add);
+        int playerCount = settings.getNumberOfPlayers();
+        for (Player known : knownPlayers) {
+            playerCount = Math.max(playerCount, known.getNumber() + 1);
+        }
+        Player[] players = new Player[playerCount];
+        knownPlayers.forEach(it -> players[it.getNumber()] = it);
+        for (int number = 0; number < playerCount; number++) {
+            if (players[number] == null) {
+                players[number] = new Player(number, settings);
+            }
+        }
+        return players;
+    }
+
+    /**
+     * A move that can be taken back, with the meeples it returned to their owners.
+     */
+    private static class PlayedMove {
+        private final GridSpot spot;
+        private final int player;
+        private final int addedFrontierSpots;
+        private final List<Meeple> returnedMeeples;
+
+        PlayedMove(GridSpot spot, int player, int addedFrontierSpots) {
+            this.spot = spot;
+            this.player = player;
+            this.addedFrontierSpots = addedFrontierSpots;
+            returnedMeeples = new ArrayList<>();
+        }
+    }
+}
@@ -1,10 +1,11 @@
 package carcassonne.model.ai;
 
+import carcassonne.model.Meeple;
 import carcassonne.model.Player;
 import carcassonne.model.grid.GridDirection;
 import carcassonne.model.grid.GridSpot;
+import carcassonne.model.tile.OrientedTile;
 import carcassonne.model.tile.Tile;
-import carcassonne.model.tile.TileRotation;
 import carcassonne.settings.GameSettings;
 
 /**
@@ -13,16 +14,16 @@ import carcassonne.settings.GameSettings;
  */
 public class TemporaryTile extends Tile {
 
-    private final Tile original;
+    private final OrientedTile original;
 
-    public TemporaryTile(Tile original) {
+    /**
+     * Creates a temporary copy of an oriented tile. The original tile is neither rotated nor placed.
+     * @param original is the original tile in the rotation of the copy.
+     */
+    public TemporaryTile(OrientedTile original) {
         super(original.getType());
         this.original = original;
-    }
-
-    public TemporaryTile(Tile original, TileRotation rotation) {
-        this(original);
-        rotateTo(rotation);
+        rotateTo(original.getRotation());
     }
 
     /**
@@ -30,14 +31,47 @@ public class TemporaryTile extends Tile {
      * @return the original tile.
      */
     public Tile getOriginal() {
+        return original.getTile();
+    }
+
+    /**
+     * Returns the original tile in the rotation of this copy.
+     * @return the immutable oriented tile.
+     */
+    public OrientedTile getOrientedOriginal() {
         return original;
     }
 
+    /**
+     * Places a temporary copy of a meeple on this tile without checking the placement rules, as the state of another tile
+     * is copied.
+     * @param original is the meeple to copy, which needs to be placed.
+     */
+    public void copyMeeple(Meeple original) {
+        forceMeeple(original.getOwner(), original.getPosition());
+    }
+
+    /**
+     * Places a temporary meeple on this tile without checking the placement rules, as the placement is known to be legal.
+     * @param player is the owner of the meeple.
+     * @param position is the position of the meeple on the tile.
+     */
+    public void forceMeeple(Player player, GridDirection position) {
+        meeple = new TemporaryMeeple(player);
+        meeple.setLocation(gridSpot);
+        meeple.setPosition(position);
+    }
+
     @Override
     public void placeMeeple(Player player, GridDirection position, GameSettings settings) {
         super.placeMeeple(player, position, new TemporaryMeeple(player), settings);
     }
 
+    @Override
+    protected void indexMeeple() {
+        // temporary meeples are never indexed
+    }
+
     @Override
     public void removeMeeple() {
         meeple = null;
@@ -0,0 +1,161 @@
+package carcassonne.model.ai;
+
+import java.util.Arrays;
+
+/**
+ * Bounded selection of the moves with the highest scores, stored as indices of a move list. A binary min-heap keeps the
+ * lowest selected score on top, thus a move that cannot enter the selection is rejected in constant time. Moves with the
+ * same score as the lowest selected move are all kept, which means the selection can exceed its capacity but never
+ * depends on the order in which the moves are offered.
+ * @author Timur Saglam
+ */
+public class TopMoves {
+    private final int capacity;
+    private double[] scores;
+    private int[] indices;
+    private int size;
+    private int rejected;
+
+    /**
+     * Creates an empty selection.
+     * @param capacity is the number of moves with the highest scores that are selected, not counting ties.
+     */
+    public TopMoves(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity needs to be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        scores = new double[capacity + 1];
+        indices = new int[capacity + 1];
+    }
+
+    /**
+     * Returns the minimal score a move needs to enter the selection.
+     * @return the lowest selected score if the selection is full, otherwise negative infinity.
+     */
+    public double getThreshold() {
+        return size < capacity ? Double.NEGATIVE_INFINITY : scores[0];
+    }
+
+    /**
+     * Returns the number of offered moves that were rejected or evicted from the selection.
+     * @return the number of moves.
+     */
+    public int getRejected() {
+        return rejected;
+    }
+
+    /**
+     * Offers a move to the selection.
+     * @param index is the index of the move in its move list.
+     * @param score is the score of the move.
+     * @return true if the move was selected, which does not mean it stays selected.
+     */
+    public boolean offer(int index, double score) {
+        if (score < getThreshold()) {
+            rejected++;
+            return false;
+        }
+        push(index, score);
+        evictLowest();
+        return true;
+    }
+
+    /**
+     * Returns the indices of the selected moves.
+     * @return the indices in ascending order, which is the order of the move list.
+     */
+    public int[] selectedIndices() {
+        int[] result = Arrays.copyOf(indices, size);
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Returns the number of selected moves.
+     * @return the size of the selection, including ties.
+     */
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[" + size + " of " + capacity + ", threshold: " + getThreshold() + "]";
+    }
+
+    /**
+     * Removes the moves with the lowest score as long as enough moves with a higher score remain.
+     */
+    private void evictLowest() {
+        while (size > capacity) {
+            double lowest = scores[0];
+            int ties = 0;
+            while (size > 0 && scores[0] == lowest) {
+                ties++;
+                pop(); // moved behind the heap, see below
+            }
+            if (size < capacity) {
+                size += ties; // the ties are needed, restore them
+                for (int tie = size - ties; tie < size; tie++) {
+                    siftUp(tie);
+                }
+                return;
+            }
+            rejected += ties;
+        }
+    }
+
+    /**
+     * Removes the top of the heap by swapping it with the last element, which keeps it right behind the heap.
+     */
+    private void pop() {
+        size--;
+        swap(0, size);
+        siftDown(0);
+    }
+
+    private void push(int index, double score) {
+        if (size == scores.length) {
+            scores = Arrays.copyOf(scores, size * 2);
+            indices = Arrays.copyOf(indices, size * 2);
+        }
+        scores[size] = score;
+        indices[size] = index;
+        siftUp(size++);
+    }
+
+    private void siftDown(int position) {
+        int current = position;
+        while (true) {
+            int smallest = current;
+            for (int child = 2 * current + 1; child <= 2 * current + 2 && child < size; child++) {
+                if (scores[child] < scores[smallest]) {
+                    smallest = child;
+                }
+            }
+            if (smallest == current) {
+                return;
+            }
+            swap(current, smallest);
+            current = smallest;
+        }
+    }
+
+    private void siftUp(int position) {
+        int current = position;
+        while (current > 0 && scores[current] < scores[(current - 1) / 2]) {
+            swap(current, (current - 1) / 2);
+            current = (current - 1) / 2;
+        }
+    }
+
+    private void swap(int first, int second) {
+        double score = scores[first];
+        scores[first] = scores[second];
+        scores[second] = score;
+        int index = indices[first];
+        indices[first] = indices[second];
+        indices[second] = index;
+    }
+}
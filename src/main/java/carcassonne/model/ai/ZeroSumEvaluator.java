@@ -0,0 +1,254 @@
+package carcassonne.model.ai;
+
+import static carcassonne.model.terrain.TerrainType.FIELDS;
+
+import java.util.Arrays;
+import java.util.List;
+
+import carcassonne.model.Meeple;
+import carcassonne.model.Player;
+import carcassonne.model.grid.Grid;
+import carcassonne.model.grid.GridDirection;
+import carcassonne.model.grid.GridPattern;
+import carcassonne.model.grid.GridSpot;
+import carcassonne.model.tile.OrientedTile;
+import carcassonne.model.tile.PackedTile;
+import carcassonne.model.tile.Tile;
+import carcassonne.model.tile.TileRotation;
+import carcassonne.settings.GameSettings;
+
+/**
+ * Evaluates {@link PackedMove packed moves} in the same way as {@link ZeroSumMove} evaluates a move object. The analysis
+ * of the grid before a move only depends on the spot of the tile placement, thus it is done once per spot for all tiles,
+ * rotations and meeple placements. Temporary tiles are reused for all moves of a tile and rotation. An evaluator is only
+ * valid as long as the grid does not change, but it can be {@link #reset reset} for the next decision, which reuses its
+ * per spot arrays instead of allocating them again.
+ * @author Timur Saglam
+ */
+public class ZeroSumEvaluator {
+    private static final int ROTATIONS = TileRotation.values().length;
+    private final GameSettings settings;
+    private Grid grid;
+    private List<Tile> tiles;
+    private Player player;
+    private TemporaryTile[][] temporaryTiles; // by tile index and rotation ordinal, created on demand
+    private boolean[][] analyzedSpots;
+    private int[][] scoresBefore;
+    private int[][] fieldScoresBefore;
+    private int[][] meeplesBefore;
+    private int[] analyzedX; // coordinates of the analyzed spots, to only reset these
+    private int[] analyzedY;
+    private int analyzedCount;
+
+    /**
+     * Creates an evaluator for the moves of a player.
+     * @param grid is the grid on which the moves are evaluated.
+     * @param tiles are the tiles of the player, which are referenced by their index.
+     * @param player is the player that conducts the moves.
+     * @param settings are the game settings.
+     */
+    public ZeroSumEvaluator(Grid grid, List<Tile> tiles, Player player, GameSettings settings) {
+        this(settings);
+        reset(grid, tiles, player);
+    }
+
+    /**
+     * Creates an evaluator that is reused for multiple decisions. It needs to be {@link #reset reset} before every
+     * decision.
+     * @param settings are the game settings.
+     */
+    public ZeroSumEvaluator(GameSettings settings) {
+        this.settings = settings;
+        temporaryTiles = new TemporaryTile[0][ROTATIONS];
+    }
+
+    /**
+     * Prepares the evaluator for the moves of another decision. Only the spots analyzed since the last reset are cleared,
+     * the per spot arrays are only allocated again if the grid size changed.
+     * @param grid is the grid on which the moves are evaluated.
+     * @param tiles are the tiles of the player, which are referenced by their index.
+     * @param player is the player that conducts the moves.
+     */
+    public void reset(Grid grid, List<Tile> tiles, Player player) {
+        int width = grid.getWidth();
+        int height = grid.getHeight();
+        if (analyzedSpots == null || analyzedSpots.length != width || analyzedSpots[0].length != height) {
+            analyzedSpots = new boolean[width][height];
+            scoresBefore = new int[width][height];
+            fieldScoresBefore = new int[width][height];
+            meeplesBefore = new int[width][height];
+            analyzedX = new int[width * height];
+            analyzedY = new int[width * height];
+        } else {
+            for (int index = 0; index < analyzedCount; index++) {
+                int x = analyzedX[index];
+                int y = analyzedY[index];
+                analyzedSpots[x][y] = false;
+                scoresBefore[x][y] = 0;
+                fieldScoresBefore[x][y] = 0;
+                meeplesBefore[x][y] = 0;
+            }
+        }
+        analyzedCount = 0;
+        if (temporaryTiles.length < tiles.size()) {
+            temporaryTiles = new TemporaryTile[tiles.size()][ROTATIONS];
+        }
+        for (int index = 0; index < temporaryTiles.length; index++) {
+            if (!isSameTile(index, tiles)) {
+                Arrays.fill(temporaryTiles[index], null); // temporary tiles of other tiles cannot be reused
+            }
+        }
+        this.grid = grid;
+        this.tiles = List.copyOf(tiles);
+        this.player = player;
+    }
+
+    /**
+     * Evaluates a move of a move list. If the move does not place a meeple, the upper bounds of the following moves with the
+     * same tile placement are set, as their patterns are the same and no player can gain more than the full score of a
+     * pattern. Their meeple adds at least one employed meeple. If the move places a meeple and the move without it was
+     * already evaluated, only the pattern of the meeple is built again, as the meeple does not change the other patterns.
+     * @param moves is the move list.
+     * @param index is the index of the move.
+     */
+    public void evaluate(MoveList moves, int index) {
+        long packedMove = moves.get(index);
+        GridSpot spot = grid.getSpot(PackedMove.x(packedMove), PackedMove.y(packedMove));
+        if (spot.isOccupied()) {
+            throw new IllegalStateException("Grid changed since the generation of the move: " + PackedMove.toString(packedMove));
+        }
+        analyzeBefore(spot);
+        int placementIndex = findEvaluatedPlacement(moves, index);
+        if (placementIndex >= 0) {
+            evaluateMeeple(moves, index, placementIndex, spot);
+        } else {
+            evaluateLocalPatterns(moves, index, spot);
+        }
+    }
+    /**
+     * Checks whether a move places a meeple on a field.
+     * @param packedMove is the packed move.
+     * @return true if it is a fields move.
+     */
+    public boolean isFieldMove(long packedMove) {
+        GridDirection meeplePosition = PackedMove.meeplePosition(packedMove);
+        if (meeplePosition == null) {
+            return false;
+        }
+        Tile tile = tiles.get(PackedMove.tileIndex(packedMove));
+        return PackedTile.terrain(PackedTile.encode(tile.getType(), PackedMove.rotation(packedMove)), meeplePosition) == FIELDS;
+    }
+
+    // evaluates a move by building all local patterns after the move.
+    private void evaluateLocalPatterns(MoveList moves, int index, GridSpot spot) {
+        long packedMove = moves.get(index);
+        int x = spot.getX();
+        int y = spot.getY();
+        TemporaryTile tile = temporaryTile(packedMove);
+        GridDirection meeplePosition = PackedMove.meeplePosition(packedMove);
+        spot.forcePlacement(tile);
+        if (meeplePosition != null) {
+            tile.placeMeeple(player, meeplePosition, new TemporaryMeeple(player), settings);
+        }
+        int score = 0;
+        int fieldScore = 0;
+        int potential = 0;
+        int employedMeeples = 0;
+        for (GridPattern pattern : grid.getLocalPatterns(spot)) {
+            int zeroSumScore = ZeroSumMove.zeroSumScore(pattern, player);
+            score += zeroSumScore;
+            if (pattern.getType() == FIELDS) {
+                fieldScore += zeroSumScore;
+            }
+            potential += pattern.getPatternScore();
+            employedMeeples += countMeeples(pattern);
+        }
+        tile.removeMeeple();
+        spot.removeTile();
+        int gainedMeeples = meeplesBefore[x][y] - employedMeeples;
+        moves.setEvaluation(index, (double) score - scoresBefore[x][y], (double) fieldScore - fieldScoresBefore[x][y], gainedMeeples);
+        if (meeplePosition == null) {
+            for (int next = index + 1; next < moves.size() && PackedMove.isVariantOf(moves.get(next), packedMove); next++) {
+                moves.setUpperBounds(next, (double) potential - scoresBefore[x][y], gainedMeeples - 1);
+            }
+        }
+    }
+
+    // evaluates a meeple move by the change of the pattern of the meeple, relative to the evaluated move without meeple.
+    private void evaluateMeeple(MoveList moves, int index, int placementIndex, GridSpot spot) {
+        long packedMove = moves.get(index);
+        GridDirection meeplePosition = PackedMove.meeplePosition(packedMove);
+        TemporaryTile tile = temporaryTile(packedMove);
+        spot.forcePlacement(tile);
+        GridPattern pattern = grid.getPattern(spot, meeplePosition);
+        int scoreChange = -ZeroSumMove.zeroSumScore(pattern, player);
+        int employedChange = -countMeeples(pattern);
+        tile.placeMeeple(player, meeplePosition, new TemporaryMeeple(player), settings);
+        pattern = grid.getPattern(spot, meeplePosition);
+        scoreChange += ZeroSumMove.zeroSumScore(pattern, player);
+        employedChange += countMeeples(pattern);
+        tile.removeMeeple();
+        spot.removeTile();
+        double fieldChange = pattern.getType() == FIELDS ? scoreChange : 0;
+        double value = moves.getValue(placementIndex) + scoreChange;
+        double fieldValue = moves.getFieldValue(placementIndex) + fieldChange;
+        moves.setEvaluation(index, value, fieldValue, moves.getGainedMeeples(placementIndex) - employedChange);
+    }
+
+    // finds the evaluated move without meeple that precedes a meeple move with the same tile placement, or returns -1.
+    private int findEvaluatedPlacement(MoveList moves, int index) {
+        long packedMove = moves.get(index);
+        long placement = PackedMove.withoutMeeple(packedMove);
+        if (PackedMove.hasMeeple(packedMove)) {
+            for (int previous = index - 1; previous >= 0 && PackedMove.withoutMeeple(moves.get(previous)) == placement; previous--) {
+                if (!PackedMove.hasMeeple(moves.get(previous))) {
+                    return moves.isEvaluated(previous) ? previous : -1;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private void analyzeBefore(GridSpot spot) {
+        int x = spot.getX();
+        int y = spot.getY();
+        if (!analyzedSpots[x][y]) {
+            for (GridPattern pattern : grid.getLocalPatterns(spot)) {
+                int zeroSumScore = ZeroSumMove.zeroSumScore(pattern, player);
+                scoresBefore[x][y] += zeroSumScore;
+                if (pattern.getType() == FIELDS) {
+                    fieldScoresBefore[x][y] += zeroSumScore;
+                }
+                meeplesBefore[x][y] += countMeeples(pattern);
+            }
+            analyzedSpots[x][y] = true;
+            analyzedX[analyzedCount] = x;
+            analyzedY[analyzedCount] = y;
+            analyzedCount++;
+        }
+    }
+
+    // checks whether the tile of an index is the same tile as before the reset.
+    private boolean isSameTile(int index, List<Tile> newTiles) {
+        return tiles != null && index < tiles.size() && index < newTiles.size() && tiles.get(index) == newTiles.get(index);
+    }
+
+    private int countMeeples(GridPattern pattern) {
+        int count = 0;
+        for (Meeple meeple : pattern.getMeepleList()) {
+            if (meeple.getOwner() == player) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private TemporaryTile temporaryTile(long packedMove) {
+        int tileIndex = PackedMove.tileIndex(packedMove);
+        TileRotation rotation = PackedMove.rotation(packedMove);
+        if (temporaryTiles[tileIndex][rotation.ordinal()] == null) {
+            temporaryTiles[tileIndex][rotation.ordinal()] = new TemporaryTile(new OrientedTile(tiles.get(tileIndex), rotation));
+        }
+        return temporaryTiles[tileIndex][rotation.ordinal()];
+    }
+}
@@ -16,6 +16,12 @@ import carcassonne.settings.GameSettings;
  * @author Timur Saglam
  */
 public class ZeroSumMove extends AbstractCarcassonneMove {
+    private final ZeroSumMove baseMove; // same placement without meeple, shares the analysis of the grid before the move
+    private boolean analyzedBefore;
+    private double scoreBefore;
+    private double fieldScoreBefore;
+    private int meeplesBefore;
+    private double potentialAfter; // score of the patterns after the placement without the meeple analysis
 
     /**
      * Creates the move. Does not check if the move is legal.
@@ -26,6 +32,22 @@ public class ZeroSumMove extends AbstractCarcassonneMove {
      */
     public ZeroSumMove(TemporaryTile tile, GridDirection meeplePosition, Player actingPlayer, GameSettings settings) {
         super(tile, meeplePosition, actingPlayer, settings);
+        baseMove = null;
+    }
+
+    /**
+     * Creates a move with a meeple placement based on the move with the same tile placement but without a meeple. The
+     * moves share the analysis of the grid before the move, and the value of the base move yields cheap upper bounds for
+     * this move. Does not check if the move is legal.
+     * @param baseMove is the move without meeple placement.
+     * @param meeplePosition is the position on which the meeple is placed on the tile.
+     */
+    public ZeroSumMove(ZeroSumMove baseMove, GridDirection meeplePosition) {
+        super(baseMove.tile, meeplePosition, baseMove.actingPlayer, baseMove.settings);
+        if (baseMove.involvesMeeplePlacement()) {
+            throw new IllegalArgumentException("Base move cannot involve a meeple placement: " + baseMove);
+        }
+        this.baseMove = baseMove;
     }
 
     /**
@@ -40,28 +62,74 @@ public class ZeroSumMove extends AbstractCarcassonneMove {
 
     @Override
     protected double calculateValue() {
-        gridSpot.removeTile();
-        Collection<GridPattern> patterns = gridSpot.getGrid().getLocalPatterns(gridSpot);
-        double scoreBefore = patterns.stream().mapToInt(this::zeroSumScore).sum();
-        double fieldScoreBefore = patterns.stream().filter(it -> it.getType() == FIELDS).mapToInt(this::zeroSumScore).sum();
-        gainedMeeples = calculateEmployedMeeples(patterns);
-        gridSpot.place(tile, gridSpot.getGrid().isAllowingEnclaves());
+        ZeroSumMove before = analyzeBefore();
         if (involvesMeeplePlacement()) {
             tile.placeMeeple(actingPlayer, meeplePosition, new TemporaryMeeple(actingPlayer), settings);
         }
-        patterns = gridSpot.getGrid().getLocalPatterns(gridSpot);
-        double scoreAfter = patterns.stream().mapToInt(this::zeroSumScore).sum();
-        double fieldScoreAfter = patterns.stream().filter(it -> it.getType() == FIELDS).mapToInt(this::zeroSumScore).sum();
-        gainedMeeples -= calculateEmployedMeeples(patterns);
+        Collection<GridPattern> patterns = gridSpot.getGrid().getLocalPatterns(gridSpot);
+        double scoreAfter = patterns.stream().mapToInt(it -> zeroSumScore(it, actingPlayer)).sum();
+        double fieldScoreAfter = patterns.stream().filter(it -> it.getType() == FIELDS).mapToInt(it -> zeroSumScore(it, actingPlayer)).sum();
+        potentialAfter = patterns.stream().mapToInt(GridPattern::getPatternScore).sum();
+        gainedMeeples = before.meeplesBefore - calculateEmployedMeeples(patterns);
         tile.removeMeeple();
-        fieldValue = fieldScoreAfter - fieldScoreBefore;
-        return scoreAfter - scoreBefore;
+        fieldValue = fieldScoreAfter - before.fieldScoreBefore;
+        return scoreAfter - before.scoreBefore;
+    }
+
+    /**
+     * The meeple adds at least one employed meeple to the patterns of the base move.
+     */
+    @Override
+    protected int estimateGainedMeeples() {
+        if (baseMove == null) {
+            return super.estimateGainedMeeples();
+        }
+        return baseMove.getGainedMeeples() - 1;
     }
 
-    private int zeroSumScore(GridPattern pattern) {
-        int score = pattern.getScoreFor(actingPlayer); // acting players gain
+    /**
+     * The patterns are the same as for the base move, and no player can gain more than the full score of a pattern.
+     */
+    @Override
+    protected double estimateValue() {
+        if (baseMove == null) {
+            return super.estimateValue();
+        }
+        baseMove.getValue(); // evaluates the base move if required
+        return baseMove.potentialAfter - baseMove.scoreBefore;
+    }
+
+    /**
+     * Analyzes the local patterns before the tile placement, which is done only once for the base move and all moves based
+     * on it. The tile is removed temporarily.
+     * @return the move that holds the analysis.
+     */
+    private ZeroSumMove analyzeBefore() {
+        if (baseMove != null) {
+            return baseMove.analyzeBefore();
+        }
+        if (!analyzedBefore) {
+            gridSpot.removeTile();
+            Collection<GridPattern> patterns = gridSpot.getGrid().getLocalPatterns(gridSpot);
+            scoreBefore = patterns.stream().mapToInt(it -> zeroSumScore(it, actingPlayer)).sum();
+            fieldScoreBefore = patterns.stream().filter(it -> it.getType() == FIELDS).mapToInt(it -> zeroSumScore(it, actingPlayer)).sum();
+            meeplesBefore = calculateEmployedMeeples(patterns);
+            gridSpot.forcePlacement(tile); // the move is known to be legal
+            analyzedBefore = true;
+        }
+        return this;
+    }
+
+    /**
+     * Calculates the score of a pattern for a player when modeling the pattern as a zero-sum game.
+     * @param pattern is the pattern.
+     * @param player is the player whose score is calculated.
+     * @return the score of the player minus the scores of all other dominant players.
+     */
+    static int zeroSumScore(GridPattern pattern, Player player) {
+        int score = pattern.getScoreFor(player); // acting players gain
         for (Player dominantPlayer : pattern.getDominantPlayers()) {
-            if (dominantPlayer != actingPlayer) {
+            if (dominantPlayer != player) {
                 score -= pattern.getScoreFor(dominantPlayer); // other players gain = acting players loss
             }
         }
@@ -7,6 +7,7 @@ import carcassonne.model.terrain.TerrainType;
  */
 public class CastleAndRoadPattern extends GridPattern { // TODO (MEDIUM) [STYLE] use subclasses to make constructors generic (factory?)
     private static final double UNFINISHED_CASTLE_MULTIPLIER = 0.5;
+    private static final GridDirection[] SIDES = GridDirection.directNeighbors().toArray(new GridDirection[0]); // no iterator
 
     /**
      * Public constructor for creating road and monastery patterns.
@@ -38,7 +39,7 @@ public class CastleAndRoadPattern extends GridPattern { // TODO (MEDIUM) [STYLE]
 
     private boolean buildPattern(GridSpot spot, GridDirection startingPoint) {
         boolean isClosed = true;
-        for (GridDirection direction : GridDirection.directNeighbors()) { // for every side
+        for (GridDirection direction : SIDES) { // for every side
             if (spot.getTile().hasConnection(startingPoint, direction)) { // if is connected side
                 GridSpot neighbor = spot.getGrid().getNeighbor(spot, direction); // get the neighbor
                 if (neighbor == null) { // if it has no neighbor
@@ -0,0 +1,209 @@
+package carcassonne.model.grid;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import carcassonne.model.tile.TileCatalog;
+import carcassonne.model.tile.TileType;
+
+/**
+ * Index of the free spots on the grid that cannot be filled anymore. Every free spot next to a placed tile requires
+ * specific terrain on its sides. If no remaining tile matches these requirements in any rotation, the spot is dead. If
+ * only very few remaining tiles match, the spot is near-dead. The requirements are kept as edge signatures of the
+ * {@link TileCatalog}, which also allows to check quickly whether a specific tile fits on a spot. The index is updated
+ * whenever a tile is placed: the neighbors of the placed tile get new requirements, and every frontier spot that admits
+ * the type of the placed tile loses one fitting tile. Discarded tiles are deducted the same way.
+ * @author Timur Saglam
+ */
+class DeadSpotIndex {
+    static final int NEAR_DEAD_THRESHOLD = 2; // maximal number of fitting tiles of a near-dead spot
+    private final Grid grid;
+    private final boolean[][] frontier; // free spots with at least one placed neighbor
+    private final int[][] signatures; // edge signature of a frontier spot
+    private final int[][] fittingTiles; // number of remaining tiles that fit on a frontier spot
+    private final List<Set<GridSpot>> spotsByType; // frontier spots by the ordinal of the tile types that fit on them
+    private int[] remainingTiles; // remaining quantity per tile type ordinal, null if unknown
+
+    /**
+     * Creates an empty index for a grid. As long as the remaining tiles are unknown, no spot is considered to be dead.
+     * @param grid is the grid to index.
+     */
+    DeadSpotIndex(Grid grid) {
+        this.grid = grid;
+        frontier = new boolean[grid.getWidth()][grid.getHeight()];
+        signatures = new int[grid.getWidth()][grid.getHeight()];
+        fittingTiles = new int[grid.getWidth()][grid.getHeight()];
+        spotsByType = new ArrayList<>();
+        for (int type = 0; type < TileType.values().length; type++) {
+            spotsByType.add(new HashSet<>());
+        }
+    }
+
+    /**
+     * Sets the quantities of the tiles that are still to be placed and reevaluates every free spot.
+     * @param quantities maps the tile types to their remaining quantities.
+     */
+    void setRemainingTiles(Map<TileType, Integer> quantities) {
+        remainingTiles = new int[TileType.values().length];
+        quantities.forEach((type, quantity) -> remainingTiles[type.ordinal()] = quantity);
+        updateFrontier();
+    }
+
+    /**
+     * Builds the index for all placed tiles at once, with the remaining tiles of another index. Used for copies of a grid.
+     * @param original is the index of the original grid.
+     */
+    void indexAll(DeadSpotIndex original) {
+        remainingTiles = original.remainingTiles == null ? null : original.remainingTiles.clone();
+        updateFrontier();
+    }
+
+    /**
+     * Takes the remaining tiles of another index over if they differ, for example due to discarded tiles. Used for copies
+     * of a grid that are brought up to date.
+     * @param original is the index of the original grid.
+     */
+    void synchronizeWith(DeadSpotIndex original) {
+        if (!Arrays.equals(remainingTiles, original.remainingTiles)) {
+            indexAll(original);
+        }
+    }
+
+    /**
+     * Updates the index after a tile was placed on a spot. Deducts the tile from the remaining tiles.
+     * @param spot is the spot where the tile was placed.
+     */
+    void placed(GridSpot spot) {
+        update(spot);
+        grid.getNeighbors(spot, true, GridDirection.directNeighbors()).forEach(this::update);
+        deduct(spot.getTile().getType());
+    }
+
+    /**
+     * Updates the index after a tile was discarded without being placed. Deducts the tile from the remaining tiles.
+     * @param type is the type of the discarded tile.
+     */
+    void discarded(TileType type) {
+        deduct(type);
+    }
+
+    /**
+     * Returns the edge signature of a frontier spot, which is shared by all tiles and rotations checked on the spot.
+     * @param x is the x coordinate of the spot.
+     * @param y is the y coordinate of the spot.
+     * @return the edge signature of the {@link TileCatalog}.
+     */
+    int getSignature(int x, int y) {
+        return signatures[x][y];
+    }
+
+    /**
+     * Checks whether a spot is a free spot next to a placed tile, where tiles can be placed.
+     * @param x is the x coordinate of the spot.
+     * @param y is the y coordinate of the spot.
+     * @return true if it is part of the frontier.
+     */
+    boolean isFrontier(int x, int y) {
+        return frontier[x][y];
+    }
+
+    /**
+     * Checks whether a spot is dead, meaning it cannot be filled by any of the remaining tiles.
+     * @param x is the x coordinate of the spot.
+     * @param y is the y coordinate of the spot.
+     * @return true if it is dead.
+     */
+    boolean isDead(int x, int y) {
+        return remainingTiles != null && frontier[x][y] && fittingTiles[x][y] == 0;
+    }
+
+    /**
+     * Checks whether a spot is near-dead, meaning only a very small number of the remaining tiles fit on it.
+     * @param x is the x coordinate of the spot.
+     * @param y is the y coordinate of the spot.
+     * @return true if it is near-dead.
+     */
+    boolean isNearDead(int x, int y) {
+        return remainingTiles != null && frontier[x][y] && fittingTiles[x][y] > 0 && fittingTiles[x][y] <= NEAR_DEAD_THRESHOLD;
+    }
+
+    /**
+     * Returns all spots of the grid that are either dead or near-dead.
+     * @param nearDead determines whether near-dead spots are returned instead of dead spots.
+     * @return the list of spots.
+     */
+    List<GridSpot> collect(boolean nearDead) {
+        List<GridSpot> results = new ArrayList<>();
+        for (int x = 0; x < grid.getWidth(); x++) {
+            for (int y = 0; y < grid.getHeight(); y++) {
+                if (nearDead ? isNearDead(x, y) : isDead(x, y)) {
+                    results.add(grid.getSpot(x, y));
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Deducts a tile from the remaining tiles and recounts the fitting tiles of every spot where the tile would fit.
+     */
+    private void deduct(TileType tileType) {
+        int type = tileType.ordinal();
+        if (remainingTiles != null && remainingTiles[type] > 0) {
+            remainingTiles[type]--;
+            for (GridSpot affected : spotsByType.get(type)) { // every spot where the tile would have fit
+                fittingTiles[affected.getX()][affected.getY()] = TileCatalog.countFittingTiles(signatures[affected.getX()][affected.getY()],
+                        remainingTiles);
+            }
+        }
+    }
+
+    /**
+     * Reevaluates a single spot.
+     */
+    private void update(GridSpot spot) {
+        int x = spot.getX();
+        int y = spot.getY();
+        int signature = TileCatalog.UNCONSTRAINED;
+        boolean hasNeighbor = false;
+        if (spot.isFree()) {
+            for (GridDirection direction : GridDirection.directNeighbors()) {
+                GridSpot neighbor = grid.getNeighbor(spot, direction);
+                if (neighbor != null) {
+                    signature = TileCatalog.require(signature, direction, neighbor.getTile().getTerrain(direction.opposite()));
+                    hasNeighbor = true;
+                }
+            }
+        }
+        if (frontier[x][y]) {
+            for (TileType type : TileCatalog.fittingTypes(signatures[x][y])) {
+                spotsByType.get(type.ordinal()).remove(spot);
+            }
+        }
+        if (hasNeighbor) {
+            for (TileType type : TileCatalog.fittingTypes(signature)) {
+                spotsByType.get(type.ordinal()).add(spot);
+            }
+        }
+        frontier[x][y] = hasNeighbor;
+        signatures[x][y] = signature;
+        if (hasNeighbor && remainingTiles != null) {
+            fittingTiles[x][y] = TileCatalog.countFittingTiles(signature, remainingTiles);
+        }
+    }
+
+    /**
+     * Reevaluates every spot of the grid.
+     */
+    private void updateFrontier() {
+        for (int x = 0; x < grid.getWidth(); x++) {
+            for (int y = 0; y < grid.getHeight(); y++) {
+                update(grid.getSpot(x, y));
+            }
+        }
+    }
+}
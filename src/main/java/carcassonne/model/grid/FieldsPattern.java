@@ -1,6 +1,7 @@
 package carcassonne.model.grid;
 
 import static carcassonne.model.grid.GridDirection.CENTER;
+import static carcassonne.model.grid.GridDirection.NORTH_EAST;
 import static carcassonne.model.grid.GridDirection.NORTH_WEST;
 import static carcassonne.model.grid.GridDirection.WEST;
 import static carcassonne.model.terrain.RotationDirection.LEFT;
@@ -8,7 +9,7 @@ import static carcassonne.model.terrain.RotationDirection.RIGHT;
 import static carcassonne.model.terrain.TerrainType.CASTLE;
 import static carcassonne.model.terrain.TerrainType.FIELDS;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 
 import carcassonne.model.tile.Tile;
@@ -19,6 +20,11 @@ import carcassonne.model.tile.Tile;
  */
 public class FieldsPattern extends GridPattern {
     private static final int POINTS_PER_CASTLE = 3;
+    private static final GridDirection[] POSITIONS = GridDirection.values();
+    private static final GridDirection[] NO_CONNECTIONS = {};
+    private static final GridDirection[][] ADJACENT_POSITIONS = createAdjacentPositions(); // by position ordinal
+    private static final GridDirection[][] DIRECT_CONNECTIONS = createDirectConnections(); // by direction ordinal
+    private static final GridDirection[][] CORNER_CONNECTIONS = createCornerConnections(); // by corner and castle sides
     private final List<CastleAndRoadPattern> adjacentCastles;
     private final Grid grid;
 
@@ -32,7 +38,7 @@ public class FieldsPattern extends GridPattern {
         super(FIELDS, POINTS_PER_CASTLE);
         checkArgs(startingSpot, startingDirection);
         grid = startingSpot.getGrid();
-        adjacentCastles = new LinkedList<>();
+        adjacentCastles = new ArrayList<>();
         checkArgs(startingSpot, startingDirection);
         startingSpot.setTag(startingDirection, this); // initial tag, is needed for adding meeples!
         add(startingSpot); // initial tile
@@ -45,20 +51,19 @@ public class FieldsPattern extends GridPattern {
         return adjacentCastles.size() * scoreMultiplier;
     }
 
-    // adds a grid direction to a list if it has not castle terrain at that direction on the tile.
-    private void addIfNotCastle(List<GridDirection> results, Tile tile, GridDirection next) {
-        if (tile.getTerrain(next) != CASTLE) {
-            results.add(next);
-        }
-    }
-
     private void buildPattern(GridSpot spot, GridDirection startingPoint) {
-        List<GridDirection> fieldPositions = getFieldPositions(spot.getTile(), startingPoint);
-        for (GridDirection position : fieldPositions) { // for every positions of this field on this tile
-            countAdjacentCastles(spot, position); // count castles to determine pattern size
-            spot.setTag(position, this); // mark as visited
+        Tile tile = spot.getTile();
+        for (GridDirection position : POSITIONS) { // for every positions of this field on this tile
+            if (tile.hasConnection(startingPoint, position)) {
+                countAdjacentCastles(spot, position); // count castles to determine pattern size
+                spot.setTag(position, this); // mark as visited
+            }
+        }
+        for (GridDirection position : POSITIONS) {
+            if (tile.hasConnection(startingPoint, position)) {
+                checkNeighbors(spot, position); // check every possible neighbor
+            }
         }
-        fieldPositions.forEach(it -> checkNeighbors(spot, it)); // check every possible neighbor
     }
 
     private void checkNeighbors(GridSpot spot, GridDirection position) {
@@ -89,43 +94,87 @@ public class FieldsPattern extends GridPattern {
     }
 
     /**
-     * Returns every adjacent position on a tile for a specific initial position.
+     * Returns every adjacent position on a tile for a specific initial position. The array is shared and must not be
+     * modified.
      */
-    private List<GridDirection> getAdjacentPositions(GridDirection position) {
-        List<GridDirection> neighbors = new LinkedList<>();
-        if (position.isSmallerOrEquals(WEST)) {
-            neighbors.add(CENTER); // the classic direction are adjacent to the middle
+    private static GridDirection[] getAdjacentPositions(GridDirection position) {
+        return ADJACENT_POSITIONS[position.ordinal()];
+    }
+
+    /**
+     * Creates the arrays of adjacent positions on a tile for every position, as they are needed for every position of every
+     * field pattern. Arrays are used as the recursive pattern building would otherwise allocate an iterator per position.
+     */
+    private static GridDirection[][] createAdjacentPositions() {
+        GridDirection[][] adjacentPositions = new GridDirection[POSITIONS.length][];
+        for (GridDirection position : POSITIONS) {
+            List<GridDirection> neighbors = new ArrayList<>();
+            if (position.isSmallerOrEquals(WEST)) {
+                neighbors.add(CENTER); // the classic direction are adjacent to the middle
+            }
+            if (position.isSmallerOrEquals(NORTH_WEST)) { // everything except the middle has these two neighbors:
+                neighbors.add(position.nextDirectionTo(LEFT)); // counterclockwise adjacent position
+                neighbors.add(position.nextDirectionTo(RIGHT)); // clockwise adjacent position
+            } else {
+                neighbors.addAll(GridDirection.directNeighbors()); // the middle has the classic directions as neighbors
+            }
+            adjacentPositions[position.ordinal()] = neighbors.toArray(NO_CONNECTIONS);
         }
-        if (position.isSmallerOrEquals(NORTH_WEST)) { // everything except the middle has these two neighbors:
-            neighbors.add(position.nextDirectionTo(LEFT)); // counterclockwise adjacent position
-            neighbors.add(position.nextDirectionTo(RIGHT)); // clockwise adjacent position
-        } else {
-            neighbors.addAll(GridDirection.directNeighbors()); // the middle has the classic directions as neighbors
+        return adjacentPositions;
+    }
+
+    // Creates the single element arrays of the simple directions, as a field on a simple direction connects to itself.
+    private static GridDirection[][] createDirectConnections() {
+        GridDirection[][] connections = new GridDirection[GridDirection.directNeighbors().size()][];
+        for (GridDirection direction : GridDirection.directNeighbors()) {
+            connections[direction.ordinal()] = new GridDirection[] {direction};
         }
-        return neighbors;
+        return connections;
+    }
 
+    /**
+     * Creates the arrays of the directions in which a field on a corner connects to, for every corner and every
+     * combination of castle terrain on the neighboring sides. The index is the corner ordinal offset times four, plus one
+     * for castle terrain to the left and two for castle terrain to the right.
+     */
+    private static GridDirection[][] createCornerConnections() {
+        List<GridDirection[]> connections = new ArrayList<>();
+        for (GridDirection corner : GridDirection.indirectNeighbors()) {
+            for (int castleSides = 0; castleSides < 4; castleSides++) {
+                List<GridDirection> results = new ArrayList<>();
+                if ((castleSides & 1) == 0) {
+                    results.add(corner.nextDirectionTo(LEFT));
+                }
+                if ((castleSides & 2) == 0) {
+                    results.add(corner.nextDirectionTo(RIGHT));
+                }
+                connections.add(results.toArray(NO_CONNECTIONS));
+            }
+        }
+        return connections.toArray(new GridDirection[0][]);
     }
 
     /**
      * Gives for a specific tile and a specific position on that tile the directions in which the field connects to. If the
-     * tile has not the terrain field on this position the result list is empty.
+     * tile has not the terrain field on this position the result is empty. The resulting array is shared and must not be
+     * modified.
      */
-    private List<GridDirection> getFieldConnections(GridDirection position, Tile tile) {
-        List<GridDirection> results = new LinkedList<>();
+    static GridDirection[] getFieldConnections(GridDirection position, Tile tile) {
         if (tile.getTerrain(position) == FIELDS) {
             if (position.isSmallerOrEquals(WEST)) {
-                results.add(position); // for simple directions just return themselves.
-            } else if (position.isSmallerOrEquals(NORTH_WEST)) {
-                addIfNotCastle(results, tile, position.nextDirectionTo(LEFT)); // for edges it depends whether the neighboring
-                addIfNotCastle(results, tile, position.nextDirectionTo(RIGHT)); // directions have castle terrain or not
+                return DIRECT_CONNECTIONS[position.ordinal()]; // for simple directions just return themselves.
+            } else if (position.isSmallerOrEquals(NORTH_WEST)) { // for edges it depends on castle terrain at the neighbors
+                int castleSides = (tile.getTerrain(position.nextDirectionTo(LEFT)) == CASTLE ? 1 : 0)
+                        + (tile.getTerrain(position.nextDirectionTo(RIGHT)) == CASTLE ? 2 : 0);
+                return CORNER_CONNECTIONS[(position.ordinal() - NORTH_EAST.ordinal()) * 4 + castleSides];
             }
         }
-        return results;
+        return NO_CONNECTIONS;
     }
 
     // Returns the position on the grid of a neighboring tile on a direction which is directly in contact with a specific
     // position of the first tile.
-    private GridDirection getFieldOpposite(GridDirection position, GridDirection neighborDirection) {
+    static GridDirection getFieldOpposite(GridDirection position, GridDirection neighborDirection) {
         if (position.isSmallerOrEquals(WEST)) {
             return position.opposite(); // top, right, bottom, left are simply inverted
         } else if (position.isSmallerOrEquals(NORTH_WEST)) {
@@ -138,16 +187,6 @@ public class FieldsPattern extends GridPattern {
         return position; // middle stays middle
     }
 
-    private List<GridDirection> getFieldPositions(Tile tile, GridDirection startingPoint) {
-        List<GridDirection> fieldPositions = new LinkedList<>();
-        for (GridDirection position : GridDirection.values()) { // for every position on tile
-            if (tile.hasConnection(startingPoint, position)) {
-                fieldPositions.add(position);
-            }
-        }
-        return fieldPositions;
-    }
-
     private boolean isUntagged(GridSpot spot, GridDirection position) {
         boolean tagged = false;
         for (CastleAndRoadPattern castle : adjacentCastles) {
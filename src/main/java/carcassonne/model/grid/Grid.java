@@ -1,15 +1,22 @@
 package carcassonne.model.grid;
 
+import static java.util.stream.Collectors.toList;
+
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
+import carcassonne.model.Meeple;
 import carcassonne.model.Player;
 import carcassonne.model.ai.AbstractCarcassonneMove;
+import carcassonne.model.ai.MoveList;
+import carcassonne.model.ai.PackedMove;
 import carcassonne.model.ai.TemporaryTile;
-import carcassonne.model.ai.ZeroSumMove;
+import carcassonne.model.terrain.TerrainType;
+import carcassonne.model.tile.OrientedTile;
 import carcassonne.model.tile.Tile;
 import carcassonne.model.tile.TileRotation;
 import carcassonne.model.tile.TileType;
@@ -21,11 +28,16 @@ import carcassonne.settings.GameSettings;
  */
 public class Grid {
     private static final TileType FOUNDATION_TYPE = TileType.CastleWallRoad;
+    private static final int ROTATIONS = TileRotation.values().length;
     private final int width;
     private final int height;
     private final GridSpot[][] spots;
     private GridSpot foundation;
     private final boolean allowEnclaves;
+    private final DeadSpotIndex deadSpots;
+    private final PlacementIndex placements;
+    private final SegmentIndex segments;
+    private final MeepleIndex meeples;
 
     /**
      * Basic constructor
@@ -43,9 +55,73 @@ public class Grid {
                 spots[x][y] = new GridSpot(this, x, y);
             }
         }
+        deadSpots = new DeadSpotIndex(this);
+        placements = new PlacementIndex(this, deadSpots);
+        segments = new SegmentIndex(this);
+        meeples = new MeepleIndex(segments);
         placeFoundation(FOUNDATION_TYPE);
     }
 
+    /**
+     * Creates a copy of a grid, where every placed tile and meeple is replaced by a temporary copy.
+     * @param original is the grid to copy.
+     */
+    private Grid(Grid original) {
+        width = original.width;
+        height = original.height;
+        allowEnclaves = original.allowEnclaves;
+        spots = new GridSpot[width][height];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                spots[x][y] = new GridSpot(this, x, y);
+                if (original.spots[x][y].isOccupied()) {
+                    Tile originalTile = original.spots[x][y].getTile();
+                    TemporaryTile tile = new TemporaryTile(new OrientedTile(originalTile, originalTile.getRotation()));
+                    spots[x][y].forcePlacement(tile);
+                    if (originalTile.hasMeeple()) {
+                        tile.copyMeeple(originalTile.getMeeple());
+                    }
+                }
+            }
+        }
+        deadSpots = new DeadSpotIndex(this);
+        placements = new PlacementIndex(this, deadSpots);
+        segments = new SegmentIndex(this);
+        meeples = new MeepleIndex(segments);
+        foundation = spots[original.foundation.getX()][original.foundation.getY()];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                if (spots[x][y].isOccupied() && spots[x][y].getTile().hasMeeple()) {
+                    meeples.add(spots[x][y].getTile().getMeeple()); // before the segments, which count them by their patterns
+                }
+            }
+        }
+        deadSpots.indexAll(original.deadSpots);
+        placements.indexAll();
+        segments.indexAll();
+    }
+
+    /**
+     * Creates a copy of this grid for analysis purposes, such as the evaluation of possible moves on another thread. The
+     * placed tiles and meeples are temporary copies, changes to the copy do not affect this grid or the players. The
+     * indexes of the copy are built from the copied tiles and meeples, thus the copy answers all queries like this grid.
+     * @return the copy of the grid.
+     */
+    public Grid copy() {
+        return new Grid(this);
+    }
+
+    /**
+     * Deducts a tile from the tiles that are still to be placed in this round, without placing it. This is needed for
+     * tiles that leave the game for good, such as tiles that are discarded instead of being returned to the stack.
+     * @param tile is the discarded tile.
+     * @see Grid#setRemainingTiles(Map)
+     */
+    public void discard(Tile tile) {
+        checkParameters(tile);
+        deadSpots.discarded(tile.getType());
+    }
+
     /**
      * Returns list of all patterns on the grid.
      * @return the list of patterns.
@@ -63,6 +139,37 @@ public class Grid {
         return patterns;
     }
 
+    /**
+     * Returns all dead spots of the grid. A dead spot is a free spot that cannot be filled with any of the remaining tiles
+     * in any rotation.
+     * @return the list of dead spots, which is empty if the remaining tiles were never set.
+     * @see Grid#setRemainingTiles(Map)
+     */
+    public List<GridSpot> getDeadSpots() {
+        return deadSpots.collect(false);
+    }
+
+    /**
+     * Returns all spots where a tile type can be legally placed in a specific rotation. The legal placements are updated
+     * around every placement instead of being recomputed for the whole grid.
+     * @param type is the tile type.
+     * @param rotation is the rotation of the tile.
+     * @return the list of spots, ordered by their coordinates.
+     */
+    public List<GridSpot> getLegalSpots(TileType type, TileRotation rotation) {
+        return placements.collect(type, rotation);
+    }
+
+    /**
+     * Returns all near-dead spots of the grid. A near-dead spot is a free spot that can only be filled by very few of the
+     * remaining tiles, which makes them interesting for blocking.
+     * @return the list of near-dead spots, which is empty if the remaining tiles were never set.
+     * @see Grid#setRemainingTiles(Map)
+     */
+    public List<GridSpot> getNearDeadSpots() {
+        return deadSpots.collect(true);
+    }
+
     /**
      * Returns the spot of the first tile of round, the foundation tile.
      * @return the grid spot.
@@ -79,6 +186,14 @@ public class Grid {
         return height;
     }
 
+    /**
+     * Grants access to the index of all meeples placed on this grid.
+     * @return the meeple index.
+     */
+    public MeepleIndex getMeepleIndex() {
+        return meeples;
+    }
+
     /**
      * Method checks for patterns on a specific grid spot if it is occupied and additionally the direct neighbors.
      * neighboring tiles.
@@ -119,12 +234,13 @@ public class Grid {
      * @return the neighboring {@link GridSpot} or null if there is no tile placed.
      */
     public GridSpot getNeighbor(GridSpot spot, GridDirection direction) {
-        List<GridSpot> neighbors = getNeighbors(spot, false, direction);
-        if (neighbors.isEmpty()) {
-            return null; // return null if tile not placed or not on grid.
-        } else {
-            return neighbors.get(0);
+        checkParameters(spot);
+        int newX = direction.getX() + spot.getX();
+        int newY = direction.getY() + spot.getY();
+        if (isOnGrid(newX, newY) && spots[newX][newY].isOccupied()) {
+            return spots[newX][newY];
         }
+        return null; // return null if tile not placed or not on grid.
     }
 
     /**
@@ -149,26 +265,33 @@ public class Grid {
     }
 
     /**
-     * Returns a collection all possible and legal moves.
+     * Returns a collection all possible and legal moves. The tile itself is not rotated or placed.
      * @param tile is the tile that is placed during the move.
      * @param player is the player that conducts the move.
      * @param settings are the game settings.
-     * @return the collection of all moves.
+     * @return the collection of all moves in the order of their generation. They are only evaluated on demand.
      */
     public Collection<? extends AbstractCarcassonneMove> getPossibleMoves(Tile tile, Player player, GameSettings settings) {
-        checkParameters(tile);
-        List<ZeroSumMove> possibleMoves = new ArrayList<>();
-        for (TileRotation rotation : tile.getPossibleRotations()) {
-            tile.rotateTo(rotation);
-            for (int x = 0; x < width; x++) { // TODO (HIGH) [PERFORMANCE] maybe we should track free and occupied spots?
-                for (int y = 0; y < height; y++) {
-                    possibleMoves.addAll(movesForGridSpot(player, spots[x][y], tile, settings));
-                }
-            }
-        }
-        Collections.sort(possibleMoves);
-        Collections.reverse(possibleMoves);
-        return possibleMoves;
+        List<Tile> tiles = Collections.singletonList(tile);
+        MoveList moves = new MoveList();
+        generatePossibleMoves(tiles, player, settings, moves);
+        return moves.createMoves(tiles, this, player, settings);
+    }
+
+    /**
+     * Generates all possible and legal moves for multiple tiles in their packed form, without evaluating them. The spots
+     * are visited only once for all tiles and rotations. The tiles themselves are not rotated or placed. The moves can
+     * only be evaluated as long as the grid is not changed.
+     * @param tiles are the tiles that can be placed during the move, the packed moves reference them by their index.
+     * @param player is the player that conducts the move.
+     * @param settings are the game settings.
+     * @param moves is the move list to which the moves are added, ordered by tile, rotation and coordinates.
+     */
+    public void generatePossibleMoves(List<Tile> tiles, Player player, GameSettings settings, MoveList moves) {
+        tiles.forEach(this::checkParameters);
+        MoveList spotMoves = new MoveList(); // local, as the grid can be read by multiple generations at once
+        generateMovesForColumns(tiles, 0, width, player, settings, spotMoves);
+        orderByTile(tiles, spotMoves, moves);
     }
 
     /**
@@ -210,6 +333,116 @@ public class Grid {
         return allowEnclaves;
     }
 
+    /**
+     * Checks whether a spot is dead, meaning it is free but cannot be filled with any of the remaining tiles.
+     * @param spot is the spot to check.
+     * @return true if it is dead, false if not or if the remaining tiles were never set.
+     */
+    public boolean isDeadSpot(GridSpot spot) {
+        checkParameters(spot);
+        return deadSpots.isDead(spot.getX(), spot.getY());
+    }
+
+    /**
+     * Checks whether the pattern of a position of a placed tile allows a player to place a meeple there. That is the case
+     * if nobody occupies the pattern, or if only the player does while fortifying is allowed. The occupation is looked up
+     * in the segment index if possible, otherwise the pattern is built. The index relies on all other tiles and meeples
+     * being placed and removed through the grid.
+     * @param spot is the spot of the tile, which can be temporarily placed.
+     * @param position is the position of the meeple on the tile.
+     * @param player is the player that places the meeple.
+     * @param settings are the game settings to determine if fortifying is allowed.
+     * @return true if a meeple can be placed.
+     */
+    public boolean allowsPlacingMeeple(GridSpot spot, GridDirection position, Player player, GameSettings settings) {
+        checkParameters(spot);
+        Tile tile = spot.getTile();
+        if (segments.isIndexed(spot, tile)) {
+            return segments.allowsPlacingMeeple(spot.getX(), spot.getY(), tile, position, player, settings.isAllowingFortifying());
+        }
+        return allowsPlacingMeepleByPattern(spot, position, player, settings);
+    }
+
+    /**
+     * Checks whether the pattern of a position of a placed tile allows a player to place a meeple there, like
+     * {@link #allowsPlacingMeeple(GridSpot, GridDirection, Player, GameSettings)}, but always builds the pattern. This is
+     * needed when tiles or meeples were placed or removed without updating the indexes, such as in tree searches.
+     * @param spot is the spot of the tile, which can be temporarily placed.
+     * @param position is the position of the meeple on the tile.
+     * @param player is the player that places the meeple.
+     * @param settings are the game settings to determine if fortifying is allowed.
+     * @return true if a meeple can be placed.
+     */
+    public boolean allowsPlacingMeepleByPattern(GridSpot spot, GridDirection position, Player player, GameSettings settings) {
+        checkParameters(spot);
+        Tile tile = spot.getTile();
+        TerrainType terrain = tile.getTerrain(position);
+        if (terrain == TerrainType.OTHER || terrain == TerrainType.MONASTERY) {
+            return terrain == TerrainType.MONASTERY; // no pattern that can be occupied
+        }
+        GridPattern pattern = terrain == TerrainType.FIELDS ? new FieldsPattern(spot, position) : new CastleAndRoadPattern(spot, position, terrain);
+        boolean placeable = pattern.isNotOccupied() || pattern.isOccupiedBy(player) && settings.isAllowingFortifying();
+        pattern.removeTileTags();
+        return placeable;
+    }
+
+    /**
+     * Builds the single pattern that contains a specific position of a placed tile, without building the other patterns
+     * of the tile or its neighbors.
+     * @param spot is the spot of the tile, which can be temporarily placed.
+     * @param position is the position on the tile, which needs to have a terrain that forms patterns.
+     * @return the pattern of the position.
+     * @throws IllegalArgumentException if the terrain of the position does not form a pattern.
+     */
+    public GridPattern getPattern(GridSpot spot, GridDirection position) {
+        checkParameters(spot);
+        TerrainType terrain = spot.getTile().getTerrain(position);
+        GridPattern pattern;
+        if (terrain == TerrainType.FIELDS) {
+            pattern = new FieldsPattern(spot, position);
+        } else if (terrain == TerrainType.CASTLE || terrain == TerrainType.ROAD) {
+            pattern = new CastleAndRoadPattern(spot, position, terrain);
+        } else if (terrain == TerrainType.MONASTERY && position == GridDirection.CENTER) {
+            pattern = new MonasteryPattern(spot);
+        } else {
+            throw new IllegalArgumentException("No pattern on the " + terrain + " terrain at " + position + " of " + spot);
+        }
+        pattern.removeTileTags();
+        return pattern;
+    }
+
+    /**
+     * Checks whether a tile can be legally placed anywhere on the grid in any rotation.
+     * @param tile is the tile to check, its current rotation is irrelevant.
+     * @return true if there is at least one legal placement.
+     */
+    public boolean hasLegalPlacement(Tile tile) {
+        checkParameters(tile);
+        return tile.getPossibleRotations().stream().anyMatch(it -> !placements.collect(tile.getType(), it).isEmpty());
+    }
+
+    /**
+     * Checks whether a tile type can be legally placed on a spot in a specific rotation.
+     * @param spot is the spot to check.
+     * @param type is the tile type.
+     * @param rotation is the rotation of the tile.
+     * @return true if the placement is legal.
+     */
+    public boolean isLegalPlacement(GridSpot spot, TileType type, TileRotation rotation) {
+        checkParameters(spot);
+        return placements.isLegal(spot.getX(), spot.getY(), type, rotation);
+    }
+
+    /**
+     * Checks whether a spot is near-dead, meaning it is free but can only be filled with very few of the remaining tiles.
+     * @param spot is the spot to check.
+     * @return true if it is near-dead, false if not or if the remaining tiles were never set.
+     */
+    public boolean isNearDeadSpot(GridSpot spot) {
+        checkParameters(spot);
+        return deadSpots.isNearDead(spot.getX(), spot.getY());
+    }
+
     /**
      * Checks whether the grid is full.
      * @return true if full.
@@ -235,7 +468,51 @@ public class Grid {
     public boolean place(int x, int y, Tile tile) {
         checkParameters(x, y);
         checkParameters(tile);
-        return spots[x][y].place(tile, allowEnclaves);
+        if (spots[x][y].place(tile, allowEnclaves)) {
+            indexPlacement(spots[x][y]);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Sets the tiles that are still to be placed in this round, which enables the detection of dead spots. These are the
+     * tiles on the stack and on the hands of the players. Tiles placed on the grid afterwards are deducted automatically,
+     * discarded tiles need to be reported with {@link Grid#discard(Tile)}.
+     * @param remainingTiles maps the tile types to their remaining quantities.
+     */
+    public void setRemainingTiles(Map<TileType, Integer> remainingTiles) {
+        deadSpots.setRemainingTiles(remainingTiles);
+    }
+
+    /**
+     * Brings a copy of another grid up to date with that grid, instead of copying it again. The tiles placed on the other
+     * grid since the copy was made are copied and indexed one by one, the meeples of all tiles are copied again where they
+     * changed, and the remaining tiles are taken over. This only works if the other grid is a later state of the copied
+     * grid, which is checked beforehand.
+     * @param original is the grid this grid was copied from.
+     * @return true if this grid is up to date, false if it is no earlier state of the other grid and needs to be copied
+     * anew. Then, this grid is not changed.
+     */
+    boolean synchronizeWith(Grid original) {
+        if (!isEarlierStateOf(original)) {
+            return false;
+        }
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                Tile originalTile = original.spots[x][y].getTile();
+                if (spots[x][y].isOccupied()) {
+                    synchronizeMeeple((TemporaryTile) spots[x][y].getTile(), originalTile);
+                } else if (originalTile != null) {
+                    TemporaryTile tile = new TemporaryTile(new OrientedTile(originalTile, originalTile.getRotation()));
+                    spots[x][y].forcePlacement(tile);
+                    synchronizeMeeple(tile, originalTile); // before the segments, which count the meeples of new patterns
+                    indexPlacement(spots[x][y]);
+                }
+            }
+        }
+        deadSpots.synchronizeWith(original.deadSpots);
+        return true;
     }
 
     private void checkParameters(GridSpot spot) {
@@ -262,7 +539,7 @@ public class Grid {
      * Error checker method for other methods in this class. It just checks whether specific tile is not null.
      * @param tile the tile to check
      */
-    private void checkParameters(Tile tile) {
+    void checkParameters(Tile tile) {
         if (tile == null) {
             throw new IllegalArgumentException("Tile can't be null.");
         } else if (tile.getType() == TileType.Null) {
@@ -291,8 +568,34 @@ public class Grid {
         return false; // has not found boundary
     }
 
-    private List<GridSpot> getNeighbors(GridSpot spot, boolean allowEmptySpots, GridDirection direction) {
-        return getNeighbors(spot, allowEmptySpots, List.of(direction));
+    /**
+     * Updates the indexes after a tile was placed on a spot.
+     */
+    private void indexPlacement(GridSpot spot) {
+        deadSpots.placed(spot);
+        placements.placed(spot);
+        segments.placed(spot);
+    }
+
+    /**
+     * Checks whether this grid is a copy of an earlier state of another grid, where every placed tile of this grid is
+     * placed on the other grid as well.
+     */
+    private boolean isEarlierStateOf(Grid original) {
+        if (width != original.width || height != original.height || allowEnclaves != original.allowEnclaves) {
+            return false;
+        }
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                Tile tile = spots[x][y].getTile();
+                Tile originalTile = original.spots[x][y].getTile();
+                if (tile != null && (originalTile == null || tile.getType() != originalTile.getType()
+                        || tile.getRotation() != originalTile.getRotation())) {
+                    return false;
+                }
+            }
+        }
+        return true;
     }
 
     /**
@@ -305,23 +608,100 @@ public class Grid {
         return x >= 0 && x < width && y >= 0 && y < height;
     }
 
-    private List<ZeroSumMove> movesForGridSpot(Player player, GridSpot spot, Tile originalTile, GameSettings settings) {
-        List<ZeroSumMove> possibleMoves = new ArrayList<>();
-        if (spot.isPlaceable(originalTile, allowEnclaves)) {
-            TemporaryTile tile = new TemporaryTile(originalTile, originalTile.getRotation());
-            spot.place(tile, allowEnclaves);
-            possibleMoves.add(new ZeroSumMove(tile, player, settings));
-            if (player.hasFreeMeeples()) {
-                for (GridDirection position : GridDirection.values()) {
-                    if (tile.hasMeepleSpot(position) && settings.getMeepleRule(tile.getTerrain(position))
-                            && tile.allowsPlacingMeeple(position, player, settings)) {
-                        possibleMoves.add(new ZeroSumMove(tile, position, player, settings));
+    /**
+     * Generates the legal moves of all tiles for a range of columns in their packed form. Every frontier spot is visited
+     * once for all tiles and rotations, whose legality is looked up in the placement index. The meeple placements are
+     * checked with the segment index, thus no tiles are placed and the grid is only read. The moves are ordered by
+     * coordinates, tile and rotation.
+     * @param tiles are the tiles of the player, the packed moves reference them by their index.
+     * @param fromX is the first column (inclusive).
+     * @param toX is the last column (exclusive).
+     * @param player is the player that conducts the moves.
+     * @param settings are the game settings.
+     * @param moves is the move list to which the moves are added.
+     */
+    void generateMovesForColumns(List<Tile> tiles, int fromX, int toX, Player player, GameSettings settings, MoveList moves) {
+        List<List<TemporaryTile>> temporaryTiles = new ArrayList<>(); // reused for every spot
+        for (Tile tile : tiles) {
+            temporaryTiles.add(tile.getPossibleRotations().stream().map(it -> new TemporaryTile(new OrientedTile(tile, it))).collect(toList()));
+        }
+        for (int x = fromX; x < toX; x++) {
+            for (int y = 0; y < height; y++) {
+                if (!deadSpots.isFrontier(x, y)) {
+                    continue; // not next to the placed tiles
+                }
+                for (int tileIndex = 0; tileIndex < tiles.size(); tileIndex++) {
+                    for (TemporaryTile tile : temporaryTiles.get(tileIndex)) {
+                        if (placements.isLegal(x, y, tile.getType(), tile.getRotation())) {
+                            generateMovesForGridSpot(player, x, y, tile, tileIndex, settings, moves);
+                        }
                     }
                 }
             }
-            spot.removeTile();
         }
-        return possibleMoves;
+    }
+
+    /**
+     * Orders moves that are ordered by coordinates, tile and rotation by tile, rotation and coordinates instead. The moves
+     * are sorted in a single pass with a counting sort, which keeps the order of the coordinates.
+     * @param tiles are the tiles of the player, which determine the order of the tiles and rotations.
+     * @param spotMoves are the moves ordered by coordinates, tile and rotation.
+     * @param moves is the move list to which the ordered moves are added, including their evaluation.
+     */
+    static void orderByTile(List<Tile> tiles, MoveList spotMoves, MoveList moves) {
+        int[] nextPositions = new int[tiles.size() * ROTATIONS + 1]; // by tile index and rotation ordinal
+        for (int index = 0; index < spotMoves.size(); index++) {
+            nextPositions[orderKey(spotMoves.get(index)) + 1]++; // count the moves of every tile and rotation
+        }
+        for (int key = 1; key < nextPositions.length; key++) {
+            nextPositions[key] += nextPositions[key - 1]; // first position of every tile and rotation
+        }
+        int[] order = new int[spotMoves.size()];
+        for (int index = 0; index < spotMoves.size(); index++) {
+            order[nextPositions[orderKey(spotMoves.get(index))]++] = index;
+        }
+        for (int index : order) {
+            moves.add(spotMoves, index);
+        }
+    }
+
+    /**
+     * Replaces the temporary meeple of a copied tile if it differs from the meeple of the original tile. The meeple index
+     * is updated before the placement of a meeple is removed and after a meeple is placed.
+     */
+    private void synchronizeMeeple(TemporaryTile tile, Tile originalTile) {
+        Meeple meeple = tile.getMeeple();
+        Meeple originalMeeple = originalTile.getMeeple();
+        if (meeple != null && (originalMeeple == null || meeple.getOwner() != originalMeeple.getOwner()
+                || meeple.getPosition() != originalMeeple.getPosition())) {
+            meeples.remove(meeple);
+            tile.removeMeeple();
+        }
+        if (originalMeeple != null && !tile.hasMeeple()) {
+            tile.copyMeeple(originalMeeple);
+            meeples.add(tile.getMeeple());
+        }
+    }
+
+    // the distinct rotations of a tile are ordered by their ordinal, thus the key orders by tile and rotation.
+    private static int orderKey(long packedMove) {
+        return PackedMove.tileIndex(packedMove) * ROTATIONS + PackedMove.rotation(packedMove).ordinal();
+    }
+
+    /**
+     * Generates all legal moves of a player for a temporary tile on a specific spot in their packed form. The tile is
+     * known to fit on the spot.
+     */
+    private void generateMovesForGridSpot(Player player, int x, int y, TemporaryTile tile, int tileIndex, GameSettings settings, MoveList moves) {
+        moves.add(PackedMove.encode(x, y, tile.getRotation(), null, tileIndex));
+        if (player.hasFreeMeeples()) {
+            for (GridDirection position : GridDirection.values()) {
+                if (tile.hasMeepleSpot(position) && settings.getMeepleRule(tile.getTerrain(position))
+                        && segments.allowsPlacingMeeple(x, y, tile, position, player, settings.isAllowingFortifying())) {
+                    moves.add(PackedMove.encode(x, y, tile.getRotation(), position, tileIndex));
+                }
+            }
+        }
     }
 
     /**
@@ -333,5 +713,8 @@ public class Grid {
         int centerY = (height - 1) / 2;
         foundation = spots[centerX][centerY];
         foundation.forcePlacement(new Tile(tileType));
+        deadSpots.placed(foundation);
+        placements.placed(foundation);
+        segments.placed(foundation);
     }
 }
\ No newline at end of file
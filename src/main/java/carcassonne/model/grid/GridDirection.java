@@ -21,6 +21,15 @@ public enum GridDirection {
     NORTH_WEST,
     CENTER;
 
+    private static final GridDirection[] VALUES = values(); // avoids copying the values for every lookup
+    private static final GridDirection[] CYCLE = {NORTH, NORTH_EAST, EAST, SOUTH_EAST, SOUTH, SOUTH_WEST, WEST, NORTH_WEST};
+    private static final List<GridDirection> DIRECT_NEIGHBORS = List.of(NORTH, EAST, SOUTH, WEST);
+    private static final List<GridDirection> INDIRECT_NEIGHBORS = List.of(NORTH_EAST, SOUTH_EAST, SOUTH_WEST, NORTH_WEST);
+    private static final List<GridDirection> NEIGHBORS = List.of(NORTH, EAST, SOUTH, WEST, NORTH_EAST, SOUTH_EAST, SOUTH_WEST, NORTH_WEST);
+    private static final List<GridDirection> TILE_POSITIONS = List.of(NORTH, EAST, SOUTH, WEST, CENTER);
+    private static final List<GridDirection> BY_ROW = List.of(NORTH_WEST, NORTH, NORTH_EAST, WEST, CENTER, EAST, SOUTH_WEST, SOUTH,
+            SOUTH_EAST);
+
     /**
      * Returns the X coordinate of a <code>GridDirection</code>.
      * @return either -1, 0, or 1.
@@ -83,14 +92,8 @@ public enum GridDirection {
         if (this == CENTER) {
             return this;
         }
-        GridDirection[] cycle = {NORTH, NORTH_EAST, EAST, SOUTH_EAST, SOUTH, SOUTH_WEST, WEST, NORTH_WEST};
-        int position = -2; // error case, sum with parameter side is negative
-        for (int i = 0; i < cycle.length; i++) {
-            if (cycle[i] == this) { // find in cycle
-                position = i; // save cycle position
-            }
-        }
-        return cycle[(cycle.length + position + side.getValue()) % cycle.length];
+        int position = ordinal() <= 3 ? 2 * ordinal() : 2 * (ordinal() - 4) + 1; // direct neighbors are at even positions
+        return CYCLE[(CYCLE.length + position + side.getValue()) % CYCLE.length];
     }
 
     /**
@@ -99,9 +102,9 @@ public enum GridDirection {
      */
     public GridDirection opposite() {
         if (ordinal() <= 3) { // for NORTH, EAST, SOUTH and WEST:
-            return values()[smallOpposite(ordinal())];
+            return VALUES[smallOpposite(ordinal())];
         } else if (ordinal() <= 7) { // for NORTH_EAST, SOUTH_EAST, SOUTH_WEST and NORTH_WEST:
-            return values()[bigOpposite(ordinal())];
+            return VALUES[bigOpposite(ordinal())];
         }
         return CENTER; // middle is the opposite of itself.
     }
@@ -123,43 +126,43 @@ public enum GridDirection {
     }
 
     /**
-     * Generates a list of the GridDirections for a direct neighbor on the grid.
+     * Returns the immutable list of the GridDirections for a direct neighbor on the grid.
      * @return a list of NORTH, EAST, SOUTH and WEST.
      */
     public static List<GridDirection> directNeighbors() {
-        return List.of(NORTH, EAST, SOUTH, WEST);
+        return DIRECT_NEIGHBORS;
     }
 
     /**
-     * Generates a list of the GridDirections for a indirect neighbor on the grid.
+     * Returns the immutable list of the GridDirections for a indirect neighbor on the grid.
      * @return a list of NORTH_EAST, SOUTH_EAST, SOUTH_WEST and NORTH_WEST.
      */
     public static List<GridDirection> indirectNeighbors() {
-        return List.of(NORTH_EAST, SOUTH_EAST, SOUTH_WEST, NORTH_WEST);
+        return INDIRECT_NEIGHBORS;
     }
 
     /**
-     * Generates a list of the GridDirections for a neighbor on the grid.
+     * Returns the immutable list of the GridDirections for a neighbor on the grid.
      * @return a list of all directions except CENTER.
      */
     public static List<GridDirection> neighbors() {
-        return List.of(NORTH, EAST, SOUTH, WEST, NORTH_EAST, SOUTH_EAST, SOUTH_WEST, NORTH_WEST);
+        return NEIGHBORS;
     }
 
     /**
-     * Generates a list of the GridDirections for all positions on a tile.
+     * Returns the immutable list of the GridDirections for all positions on a tile.
      * @return a list of NORTH, EAST, SOUTH, WEST and CENTER.
      */
     public static List<GridDirection> tilePositions() {
-        return List.of(NORTH, EAST, SOUTH, WEST, CENTER);
+        return TILE_POSITIONS;
     }
 
     /**
-     * Generates a list of the GridDirections by row.
+     * Returns the immutable list of the GridDirections by row.
      * @return a list of NORTH_WEST, NORTH, NORTH_EAST, WEST, CENTER, EAST, SOUTH_WEST, SOUTH, SOUTH_EAST in that order.
      */
     public static List<GridDirection> byRow() {
-        return List.of(NORTH_WEST, NORTH, NORTH_EAST, WEST, CENTER, EAST, SOUTH_WEST, SOUTH, SOUTH_EAST);
+        return BY_ROW;
     }
 
     /**
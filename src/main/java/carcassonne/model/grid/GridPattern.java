@@ -2,9 +2,9 @@ package carcassonne.model.grid;
 
 import static java.util.stream.Collectors.toList;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
@@ -36,8 +36,8 @@ public class GridPattern {
     protected GridPattern(TerrainType patternType, int scoreMultiplier) {
         this.patternType = patternType;
         this.scoreMultiplier = scoreMultiplier;
-        containedSpots = new LinkedList<>();
-        meepleList = new LinkedList<>();
+        containedSpots = new ArrayList<>();
+        meepleList = new ArrayList<>();
         involvedPlayers = new HashMap<>();
     }
 
@@ -2,25 +2,24 @@ package carcassonne.model.grid;
 
 import static carcassonne.model.grid.GridDirection.CENTER;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 
 import carcassonne.model.terrain.TerrainType;
 import carcassonne.model.tile.Tile;
 
 /**
- * The class represents a spot on the grid.
+ * The class represents a spot on the grid. Grid patterns tag the terrain segments of the placed tile while they are
+ * built, which means a tag on a position applies to all positions connected to it.
  * @author Timur Saglam
  */
 public class GridSpot {
 
     private final Grid grid;
-    private final Map<GridDirection, Set<GridPattern>> tagMap; // maps tagged location to the patterns.
+    private final List<Set<GridPattern>> segmentTags; // maps tagged segments of the tile to the patterns.
     private Tile tile;
     private final int x;
     private final int y;
@@ -35,9 +34,9 @@ public class GridSpot {
         this.grid = grid;
         this.x = x;
         this.y = y;
-        tagMap = new HashMap<>();
-        for (GridDirection direction : GridDirection.values()) {
-            tagMap.put(direction, new HashSet<>());
+        segmentTags = new ArrayList<>();
+        for (int segment = 0; segment < GridDirection.values().length; segment++) { // at most one segment per position
+            segmentTags.add(new HashSet<>());
         }
     }
 
@@ -49,7 +48,7 @@ public class GridSpot {
         if (isFree()) {
             throw new IllegalStateException("GridSpot is free, cannot create patterns");
         }
-        List<GridPattern> results = new LinkedList<>();
+        List<GridPattern> results = new ArrayList<>();
         // first, check for castle and road patterns:
         for (GridDirection direction : GridDirection.tilePositions()) {
             TerrainType terrain = tile.getTerrain(direction); // get terrain type.
@@ -118,12 +117,7 @@ public class GridSpot {
      * @return true if not directly or indirectly tagged.
      */
     public Boolean isIndirectlyTagged(GridDirection tilePosition) {
-        for (GridDirection otherPosition : GridDirection.values()) {
-            if (isTagged(otherPosition) && tile.hasConnection(tilePosition, otherPosition)) {
-                return true;
-            }
-        }
-        return false;
+        return !tagsOf(tilePosition).isEmpty();
     }
 
     /**
@@ -134,12 +128,7 @@ public class GridSpot {
      * @return true if not directly or indirectly tagged by the grid pattern.
      */
     public Boolean isIndirectlyTaggedBy(GridDirection tilePosition, GridPattern tagger) {
-        for (GridDirection otherPosition : GridDirection.values()) {
-            if (tile.hasConnection(tilePosition, otherPosition) && tagMap.get(otherPosition).contains(tagger)) {
-                return true;
-            }
-        }
-        return false;
+        return tagsOf(tilePosition).contains(tagger);
     }
 
     /**
@@ -190,7 +179,7 @@ public class GridSpot {
      * Removes all the tags from the tile.
      */
     public void removeTags() {
-        tagMap.values().forEach(it -> it.clear());
+        segmentTags.forEach(it -> it.clear());
     }
 
     /**
@@ -198,7 +187,7 @@ public class GridSpot {
      * @param pattern is the specific grid pattern.
      */
     public void removeTagsFrom(GridPattern pattern) {
-        tagMap.values().forEach(it -> it.remove(pattern));
+        segmentTags.forEach(it -> it.remove(pattern));
     }
 
     /**
@@ -232,7 +221,7 @@ public class GridSpot {
      * @param tagger is the {@link GridPattern} that tagged the spot.
      */
     public void setTag(GridDirection direction, GridPattern tagger) {
-        tagMap.get(direction).add(tagger);
+        tagsOf(direction).add(tagger);
     }
 
     @Override
@@ -247,11 +236,11 @@ public class GridSpot {
     }
 
     /**
-     * Method determines if tile recently was tagged by grid pattern checks on a specific position or not.
+     * Returns the tags of the segment that contains a specific position of the tile.
      * @param tilePosition is the specific position.
-     * @return true if it was tagged.
+     * @return the mutable set of patterns that tagged the segment.
      */
-    private Boolean isTagged(GridDirection direction) {
-        return !tagMap.get(direction).isEmpty();
+    private Set<GridPattern> tagsOf(GridDirection tilePosition) {
+        return segmentTags.get(tile.getSegment(tilePosition));
     }
 }
@@ -0,0 +1,138 @@
+package carcassonne.model.grid;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import carcassonne.model.Meeple;
+import carcassonne.model.Player;
+import carcassonne.model.terrain.TerrainType;
+
+/**
+ * Index of all meeples that are placed on a grid. Allows direct access to the placed meeples by their spot, by their
+ * owner, and by the terrain they are placed on. It is maintained by the tiles when meeples are placed or removed.
+ * Temporary meeples are never indexed.
+ * @author Timur Saglam
+ */
+public class MeepleIndex {
+    private final Map<GridSpot, Meeple> meeplesBySpot;
+    private final Map<Player, Set<Meeple>> meeplesByPlayer;
+    private final Map<TerrainType, Set<Meeple>> meeplesByTerrain;
+    private final Map<Player, int[]> terrainCounts; // number of meeples per player and terrain ordinal
+    private final Map<Meeple, TerrainType> terrainOfMeeple; // terrain at the time of the placement
+    private final SegmentIndex segments;
+
+    /**
+     * Creates an empty meeple index.
+     */
+    public MeepleIndex() {
+        this(null);
+    }
+
+    /**
+     * Creates an empty meeple index that also updates the pattern occupations of a segment index.
+     * @param segments is the segment index of the grid.
+     */
+    MeepleIndex(SegmentIndex segments) {
+        this.segments = segments;
+        meeplesBySpot = new HashMap<>();
+        meeplesByPlayer = new HashMap<>();
+        meeplesByTerrain = new EnumMap<>(TerrainType.class);
+        terrainCounts = new HashMap<>();
+        terrainOfMeeple = new HashMap<>();
+    }
+
+    /**
+     * Adds a placed meeple to the index.
+     * @param meeple is the meeple, which needs to be placed on a tile.
+     */
+    public void add(Meeple meeple) {
+        if (!meeple.isPlaced()) {
+            throw new IllegalArgumentException("Cannot index unplaced meeple: " + meeple);
+        }
+        TerrainType terrain = meeple.getType();
+        meeplesBySpot.put(meeple.getLocation(), meeple);
+        meeplesByPlayer.computeIfAbsent(meeple.getOwner(), key -> new LinkedHashSet<>()).add(meeple);
+        meeplesByTerrain.computeIfAbsent(terrain, key -> new LinkedHashSet<>()).add(meeple);
+        terrainCounts.computeIfAbsent(meeple.getOwner(), key -> new int[TerrainType.values().length])[terrain.ordinal()]++;
+        terrainOfMeeple.put(meeple, terrain);
+        if (segments != null) {
+            segments.meeplePlaced(meeple);
+        }
+    }
+
+    /**
+     * Removes a meeple from the index. Needs to be called before the placement of the meeple is removed.
+     * @param meeple is the meeple to remove.
+     */
+    public void remove(Meeple meeple) {
+        TerrainType terrain = terrainOfMeeple.remove(meeple);
+        if (terrain != null) {
+            meeplesBySpot.remove(meeple.getLocation());
+            meeplesByPlayer.get(meeple.getOwner()).remove(meeple);
+            meeplesByTerrain.get(terrain).remove(meeple);
+            terrainCounts.get(meeple.getOwner())[terrain.ordinal()]--;
+            if (segments != null) {
+                segments.meepleRemoved(meeple);
+            }
+        }
+    }
+
+    /**
+     * Counts the meeples of a player that are placed on a specific terrain.
+     * @param player is the owner of the meeples.
+     * @param terrain is the terrain type.
+     * @return the number of meeples.
+     */
+    public int count(Player player, TerrainType terrain) {
+        int[] counts = terrainCounts.get(player);
+        return counts == null ? 0 : counts[terrain.ordinal()];
+    }
+
+    /**
+     * Returns the meeple that is placed on a specific spot.
+     * @param spot is the grid spot.
+     * @return the meeple or null if there is none.
+     */
+    public Meeple getMeeple(GridSpot spot) {
+        return meeplesBySpot.get(spot);
+    }
+
+    /**
+     * Returns all placed meeples.
+     * @return an unmodifiable view of the meeples.
+     */
+    public Collection<Meeple> getMeeples() {
+        return Collections.unmodifiableCollection(meeplesBySpot.values());
+    }
+
+    /**
+     * Returns the placed meeples of a player.
+     * @param player is the owner of the meeples.
+     * @return an unmodifiable view of the meeples in the order of their placement.
+     */
+    public Set<Meeple> getMeeples(Player player) {
+        return Collections.unmodifiableSet(meeplesByPlayer.getOrDefault(player, Collections.emptySet()));
+    }
+
+    /**
+     * Returns the meeples that are placed on a specific terrain.
+     * @param terrain is the terrain type.
+     * @return an unmodifiable view of the meeples in the order of their placement.
+     */
+    public Set<Meeple> getMeeples(TerrainType terrain) {
+        return Collections.unmodifiableSet(meeplesByTerrain.getOrDefault(terrain, Collections.emptySet()));
+    }
+
+    /**
+     * Returns the number of placed meeples.
+     * @return the number of meeples.
+     */
+    public int size() {
+        return meeplesBySpot.size();
+    }
+}
@@ -0,0 +1,108 @@
+package carcassonne.model.grid;
+
+import static java.util.stream.Collectors.toList;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import carcassonne.model.Player;
+import carcassonne.model.ai.MoveList;
+import carcassonne.model.ai.PackedMove;
+import carcassonne.model.ai.ZeroSumEvaluator;
+import carcassonne.model.tile.Tile;
+import carcassonne.settings.GameSettings;
+
+/**
+ * Generates the possible moves for the tiles of a player in parallel. The work is split into chunks of grid columns, in
+ * which every spot is visited once for all tiles and rotations. The generation only reads the grid and its indexes. As
+ * evaluating a move temporarily places tiles and tags grid spots, every chunk evaluates its moves on a scratch copy of
+ * the grid that no other chunk uses at the same time, which means the live grid is only read. The scratch copies and
+ * their evaluators are kept for later generations, where they are brought up to date with the placements and meeples of
+ * the live grid instead of being copied again. The chunks are merged in their original order, thus the result is
+ * deterministic and identical to
+ * {@link Grid#generatePossibleMoves(List, Player, GameSettings, MoveList)}. As packed moves do not reference the grid,
+ * they can be evaluated further on the live grid.
+ * @author Timur Saglam
+ */
+public class ParallelMoveGenerator {
+    private static final int CHUNKS_PER_THREAD = 4; // balances the load
+    private final ForkJoinPool pool;
+    private final Queue<Scratch> scratches; // idle scratch copies, at most one per concurrent chunk
+
+    /**
+     * Creates a move generator that uses the common fork-join pool.
+     */
+    public ParallelMoveGenerator() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a move generator that uses a specific fork-join pool.
+     * @param pool is the pool that executes the move generation.
+     */
+    public ParallelMoveGenerator(ForkJoinPool pool) {
+        this.pool = pool;
+        scratches = new ConcurrentLinkedQueue<>();
+    }
+
+    /**
+     * Generates all possible and legal moves for multiple tiles in their packed form, where the moves without meeple
+     * placement are evaluated in parallel. This provides the upper bounds of all other moves, which are evaluated only on
+     * demand. The grid must not be changed during the generation.
+     * @param grid is the grid on which the tiles are placed.
+     * @param tiles are the tiles that can be placed during the move. They are not rotated or placed.
+     * @param player is the player that conducts the move.
+     * @param settings are the game settings.
+     * @param moves is the move list to which the moves are added, in the same order as generated by the grid itself.
+     */
+    public void generatePossibleMoves(Grid grid, List<Tile> tiles, Player player, GameSettings settings, MoveList moves) {
+        tiles.forEach(grid::checkParameters);
+        int chunks = Math.min(grid.getWidth(), pool.getParallelism() * CHUNKS_PER_THREAD);
+        List<MoveList> chunkMoves = pool.submit(() -> IntStream.range(0, chunks).parallel()
+                .mapToObj(chunk -> movesForColumns(grid, tiles, chunk * grid.getWidth() / chunks, (chunk + 1) * grid.getWidth() / chunks, player,
+                        settings))
+                .collect(toList())).join(); // ordered stream, the chunk order is kept
+        MoveList spotMoves = new MoveList();
+        chunkMoves.forEach(spotMoves::addAll);
+        Grid.orderByTile(tiles, spotMoves, moves);
+    }
+
+    /**
+     * Generates the moves for a range of columns. The moves without meeple placement are evaluated on a scratch copy of the
+     * grid, which is taken from the idle copies or created if there is none, and returned afterwards.
+     */
+    private MoveList movesForColumns(Grid grid, List<Tile> tiles, int fromX, int toX, Player player, GameSettings settings) {
+        MoveList moves = new MoveList();
+        grid.generateMovesForColumns(tiles, fromX, toX, player, settings, moves);
+        if (moves.size() > 0) {
+            Scratch scratch = scratches.poll(); // thread-confined until it is returned
+            if (scratch == null || !scratch.grid.synchronizeWith(grid)) {
+                scratch = new Scratch(grid.copy(), settings);
+            }
+            scratch.evaluator.reset(scratch.grid, tiles, player);
+            for (int index = 0; index < moves.size(); index++) {
+                if (!PackedMove.hasMeeple(moves.get(index))) {
+                    scratch.evaluator.evaluate(moves, index);
+                }
+            }
+            scratches.add(scratch);
+        }
+        return moves;
+    }
+
+    /**
+     * Scratch copy of the grid with its own evaluator, which is used by a single chunk at a time.
+     */
+    private static class Scratch {
+        private final Grid grid;
+        private final ZeroSumEvaluator evaluator;
+
+        Scratch(Grid grid, GameSettings settings) {
+            this.grid = grid;
+            evaluator = new ZeroSumEvaluator(settings);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package carcassonne.model.grid;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import carcassonne.model.tile.TileCatalog;
+import carcassonne.model.tile.TileRotation;
+import carcassonne.model.tile.TileType;
+
+/**
+ * Index of the legal placements of every tile type in every rotation. For every type and rotation, a bit set holds the
+ * spots where the terrain of the tile matches all placed neighbors, numbered column by column. A placement only changes
+ * the terrain requirements of the spot itself and its direct neighbors, thus only these spots are updated. The enclave
+ * rule depends on the shape of the whole free area instead, which means its result is cached per spot until the next
+ * placement. Concurrent readers may compute the same cached result twice, which is harmless as it is deterministic.
+ * @author Timur Saglam
+ */
+class PlacementIndex {
+    private static final byte UNCHECKED = 0;
+    private static final byte ALLOWED = 1;
+    private static final byte ENCLOSING = 2;
+    private static final int ROTATIONS = TileRotation.values().length;
+    private final Grid grid;
+    private final DeadSpotIndex deadSpots;
+    private final BitSet[] fittingSpots; // by tile type and rotation
+    private final byte[][] enclaveChecks; // cached results of the enclave rule
+
+    /**
+     * Creates an empty index for a grid.
+     * @param grid is the grid to index.
+     * @param deadSpots is the dead spot index of the grid, which provides the terrain requirements of the spots.
+     */
+    PlacementIndex(Grid grid, DeadSpotIndex deadSpots) {
+        this.grid = grid;
+        this.deadSpots = deadSpots;
+        fittingSpots = new BitSet[TileType.values().length * ROTATIONS];
+        for (int index = 0; index < fittingSpots.length; index++) {
+            fittingSpots[index] = new BitSet(grid.getWidth() * grid.getHeight());
+        }
+        enclaveChecks = new byte[grid.getWidth()][grid.getHeight()];
+    }
+
+    /**
+     * Returns the spots where a tile type in a specific rotation can be legally placed.
+     * @param type is the tile type.
+     * @param rotation is the rotation of the tile.
+     * @return the list of spots, ordered by their coordinates.
+     */
+    List<GridSpot> collect(TileType type, TileRotation rotation) {
+        List<GridSpot> results = new ArrayList<>();
+        BitSet spots = fittingSpots[indexOf(type, rotation)];
+        for (int index = spots.nextSetBit(0); index >= 0; index = spots.nextSetBit(index + 1)) {
+            int x = index / grid.getHeight();
+            int y = index % grid.getHeight();
+            if (isAllowedByEnclaveRule(x, y)) {
+                results.add(grid.getSpot(x, y));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Checks whether a tile type in a specific rotation can be legally placed on a spot.
+     * @param x is the x coordinate of the spot.
+     * @param y is the y coordinate of the spot.
+     * @param type is the tile type.
+     * @param rotation is the rotation of the tile.
+     * @return true if the placement is legal.
+     */
+    boolean isLegal(int x, int y, TileType type, TileRotation rotation) {
+        return fittingSpots[indexOf(type, rotation)].get(x * grid.getHeight() + y) && isAllowedByEnclaveRule(x, y);
+    }
+
+    /**
+     * Checks whether placing any tile on a free spot is allowed by the enclave rule of the grid.
+     * @param x is the x coordinate of the spot.
+     * @param y is the y coordinate of the spot.
+     * @return true if enclaves are allowed or if a placement does not close free spots off.
+     */
+    boolean isAllowedByEnclaveRule(int x, int y) {
+        if (grid.isAllowingEnclaves()) {
+            return true;
+        }
+        if (enclaveChecks[x][y] == UNCHECKED) {
+            enclaveChecks[x][y] = isClosingFreeSpotsOff(grid.getSpot(x, y)) ? ENCLOSING : ALLOWED;
+        }
+        return enclaveChecks[x][y] == ALLOWED;
+    }
+
+    /**
+     * Builds the index for all placed tiles at once. Needs to be called after the dead spot index was built.
+     */
+    void indexAll() {
+        for (int x = 0; x < grid.getWidth(); x++) {
+            for (int y = 0; y < grid.getHeight(); y++) {
+                if (deadSpots.isFrontier(x, y)) { // other spots remain unset
+                    update(x, y);
+                }
+            }
+        }
+    }
+
+    /**
+     * Updates the index after a tile was placed on a spot. Needs to be called after the dead spot index was updated.
+     * @param spot is the spot where the tile was placed.
+     */
+    void placed(GridSpot spot) {
+        update(spot.getX(), spot.getY());
+        for (GridDirection direction : GridDirection.directNeighbors()) {
+            int x = spot.getX() + direction.getX();
+            int y = spot.getY() + direction.getY();
+            if (x >= 0 && x < grid.getWidth() && y >= 0 && y < grid.getHeight()) {
+                update(x, y);
+            }
+        }
+        if (!grid.isAllowingEnclaves()) {
+            for (byte[] column : enclaveChecks) {
+                Arrays.fill(column, UNCHECKED); // the free area changed
+            }
+        }
+    }
+
+    private boolean isClosingFreeSpotsOff(GridSpot spot) {
+        for (GridDirection direction : GridDirection.directNeighbors()) {
+            if (grid.getNeighbor(spot, direction) == null && grid.isClosingFreeSpotsOff(spot, direction)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int indexOf(TileType type, TileRotation rotation) {
+        return type.ordinal() * ROTATIONS + rotation.ordinal();
+    }
+
+    /**
+     * Reevaluates a single spot for every tile type and rotation.
+     */
+    private void update(int x, int y) {
+        int index = x * grid.getHeight() + y;
+        boolean frontier = deadSpots.isFrontier(x, y);
+        int signature = deadSpots.getSignature(x, y);
+        for (TileType type : TileType.values()) {
+            for (TileRotation rotation : TileRotation.values()) {
+                fittingSpots[indexOf(type, rotation)].set(index, frontier && TileCatalog.fits(signature, type, rotation));
+            }
+        }
+    }
+}
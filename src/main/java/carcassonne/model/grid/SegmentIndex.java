@@ -0,0 +1,279 @@
+package carcassonne.model.grid;
+
+import static carcassonne.model.terrain.TerrainType.CASTLE;
+import static carcassonne.model.terrain.TerrainType.FIELDS;
+import static carcassonne.model.terrain.TerrainType.MONASTERY;
+import static carcassonne.model.terrain.TerrainType.OTHER;
+import static carcassonne.model.terrain.TerrainType.ROAD;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import carcassonne.model.Meeple;
+import carcassonne.model.Player;
+import carcassonne.model.terrain.TerrainType;
+import carcassonne.model.tile.Tile;
+
+/**
+ * Index of the pattern occupation of every terrain segment of the placed tiles. All segments of a castle, road or fields
+ * pattern share one occupation, which counts the meeples of every player on the pattern. This answers whether a meeple
+ * can be placed on a segment without building the pattern. A placement only merges the patterns that run through the
+ * placed tile, thus only these patterns are built again. Placed and removed meeples just change the count of their
+ * occupation. A tile that is not yet placed is checked by joining the occupations of the neighboring segments it
+ * connects to. The index is only changed by the placements, which means concurrent checks are safe while the grid does
+ * not change.
+ * @author Timur Saglam
+ */
+class SegmentIndex {
+    private final Grid grid;
+    private final Tile[][] indexedTiles;
+    private final Occupation[][][] occupations; // by spot and segment of the indexed tile
+
+    /**
+     * Creates an empty index for a grid.
+     * @param grid is the grid to index.
+     */
+    SegmentIndex(Grid grid) {
+        this.grid = grid;
+        indexedTiles = new Tile[grid.getWidth()][grid.getHeight()];
+        occupations = new Occupation[grid.getWidth()][grid.getHeight()][];
+    }
+
+    /**
+     * Checks whether a meeple of a player can be placed on a position of a tile. The tile is either indexed on the spot or
+     * not yet indexed, for example when it is only temporarily placed. Then, its connections to the neighboring segments
+     * are checked instead.
+     * @param x is the x coordinate of the spot of the tile.
+     * @param y is the y coordinate of the spot of the tile.
+     * @param tile is the tile, which determines the terrain and the rotation.
+     * @param position is the position of the meeple on the tile.
+     * @param player is the player that places the meeple.
+     * @param fortifying determines if players can place meeples on patterns they already occupy.
+     * @return true if the meeple can be placed.
+     */
+    boolean allowsPlacingMeeple(int x, int y, Tile tile, GridDirection position, Player player, boolean fortifying) {
+        TerrainType terrain = tile.getTerrain(position);
+        if (terrain == OTHER) {
+            return false; // you can never place on terrain other
+        }
+        if (terrain == MONASTERY) {
+            return true; // you can always place on a monastery
+        }
+        List<Occupation> joined = new ArrayList<>();
+        if (indexedTiles[x][y] == tile) {
+            joined.add(occupations[x][y][tile.getSegment(position)]);
+        } else {
+            joinNeighbors(x, y, tile, tile.getSegment(position), terrain, joined);
+        }
+        boolean occupied = false;
+        for (Occupation occupation : joined) {
+            if (occupation.isOccupiedBy(player)) {
+                return fortifying;
+            }
+            occupied |= !occupation.isEmpty();
+        }
+        return !occupied;
+    }
+
+    /**
+     * Checks whether the index can check the meeple placements of a tile on a spot. This is the case if the tile is
+     * indexed on the spot, or if the spot is not indexed but all placed neighbors are.
+     * @param spot is the spot of the tile.
+     * @param tile is the tile.
+     * @return true if {@link #allowsPlacingMeeple(int, int, Tile, GridDirection, Player, boolean)} can be used.
+     */
+    boolean isIndexed(GridSpot spot, Tile tile) {
+        if (indexedTiles[spot.getX()][spot.getY()] != null) {
+            return indexedTiles[spot.getX()][spot.getY()] == tile;
+        }
+        for (GridDirection direction : GridDirection.directNeighbors()) {
+            GridSpot neighbor = grid.getNeighbor(spot, direction);
+            if (neighbor != null && indexedTiles[neighbor.getX()][neighbor.getY()] != neighbor.getTile()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Counts a meeple that was placed on an indexed tile.
+     * @param meeple is the placed meeple.
+     */
+    void meeplePlaced(Meeple meeple) {
+        Occupation occupation = occupationOf(meeple);
+        if (occupation != null) {
+            occupation.add(meeple.getOwner(), 1);
+        }
+    }
+
+    /**
+     * Removes a meeple from the count. Needs to be called before the placement of the meeple is removed.
+     * @param meeple is the meeple that is removed.
+     */
+    void meepleRemoved(Meeple meeple) {
+        Occupation occupation = occupationOf(meeple);
+        if (occupation != null) {
+            occupation.add(meeple.getOwner(), -1);
+        }
+    }
+
+    /**
+     * Updates the index after a tile was placed on a spot. All patterns that run through the tile are built again, which
+     * covers all patterns merged by the placement.
+     * @param spot is the spot where the tile was placed.
+     */
+    void placed(GridSpot spot) {
+        Tile tile = spot.getTile();
+        indexedTiles[spot.getX()][spot.getY()] = tile;
+        occupations[spot.getX()][spot.getY()] = new Occupation[tile.getSegmentCount()];
+        for (GridDirection position : GridDirection.values()) {
+            TerrainType terrain = tile.getTerrain(position);
+            if (isPatternTerrain(terrain) && occupations[spot.getX()][spot.getY()][tile.getSegment(position)] == null) {
+                index(terrain == FIELDS ? new FieldsPattern(spot, position) : new CastleAndRoadPattern(spot, position, terrain));
+            }
+        }
+    }
+
+    /**
+     * Builds the index for all placed tiles at once. Every pattern is only built once, as all of its segments are assigned
+     * when it is indexed. The placed meeples are counted by their patterns.
+     */
+    void indexAll() {
+        for (int x = 0; x < grid.getWidth(); x++) {
+            for (int y = 0; y < grid.getHeight(); y++) {
+                GridSpot spot = grid.getSpot(x, y);
+                if (spot.isOccupied()) {
+                    indexedTiles[x][y] = spot.getTile();
+                    occupations[x][y] = new Occupation[spot.getTile().getSegmentCount()];
+                }
+            }
+        }
+        for (int x = 0; x < grid.getWidth(); x++) {
+            for (int y = 0; y < grid.getHeight(); y++) {
+                Tile tile = indexedTiles[x][y];
+                if (tile == null) {
+                    continue;
+                }
+                for (GridDirection position : GridDirection.values()) {
+                    TerrainType terrain = tile.getTerrain(position);
+                    if (isPatternTerrain(terrain) && occupations[x][y][tile.getSegment(position)] == null) {
+                        GridSpot spot = grid.getSpot(x, y);
+                        index(terrain == FIELDS ? new FieldsPattern(spot, position) : new CastleAndRoadPattern(spot, position, terrain));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Assigns a new occupation to all segments of a pattern. Removes the tags of the pattern afterwards.
+     */
+    private void index(GridPattern pattern) {
+        Occupation occupation = new Occupation();
+        pattern.getMeepleList().forEach(it -> occupation.add(it.getOwner(), 1));
+        for (GridSpot spot : pattern.containedSpots) {
+            Tile tile = spot.getTile();
+            if (indexedTiles[spot.getX()][spot.getY()] == tile) {
+                for (GridDirection position : GridDirection.values()) {
+                    if (tile.getTerrain(position) == pattern.getType() && spot.isIndirectlyTaggedBy(position, pattern)) {
+                        occupations[spot.getX()][spot.getY()][tile.getSegment(position)] = occupation;
+                    }
+                }
+            }
+        }
+        pattern.removeTileTags();
+    }
+
+    /**
+     * Collects the occupations of the neighboring segments that a segment of a tile that is not indexed connects to. If a
+     * neighboring pattern connects to another segment of the same tile, the neighbors of that segment are joined as well.
+     */
+    private void joinNeighbors(int x, int y, Tile tile, int segment, TerrainType terrain, List<Occupation> joined) {
+        boolean[] joinedSegments = new boolean[tile.getSegmentCount()];
+        joinedSegments[segment] = true;
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (GridDirection position : GridDirection.values()) {
+                int otherSegment = tile.getSegment(position);
+                if (tile.getTerrain(position) == terrain) {
+                    List<Occupation> neighbors = neighborOccupations(x, y, tile, position, terrain);
+                    if (!joinedSegments[otherSegment] && neighbors.stream().anyMatch(joined::contains)) {
+                        joinedSegments[otherSegment] = true; // the pattern returns to the tile
+                        changed = true;
+                    }
+                    if (joinedSegments[otherSegment]) {
+                        for (Occupation occupation : neighbors) {
+                            if (!joined.contains(occupation)) {
+                                joined.add(occupation);
+                                changed = true;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the occupations of the neighboring segments that a position of a tile connects to, in the same way as the
+     * patterns connect the tiles.
+     */
+    private List<Occupation> neighborOccupations(int x, int y, Tile tile, GridDirection position, TerrainType terrain) {
+        List<Occupation> results = new ArrayList<>();
+        if (terrain == FIELDS) {
+            for (GridDirection direction : FieldsPattern.getFieldConnections(position, tile)) {
+                addOccupation(x, y, direction, FieldsPattern.getFieldOpposite(position, direction), terrain, results);
+            }
+        } else if (position.isSmallerOrEquals(GridDirection.WEST)) {
+            addOccupation(x, y, position, position.opposite(), terrain, results);
+        }
+        return results;
+    }
+
+    private void addOccupation(int x, int y, GridDirection direction, GridDirection neighborPosition, TerrainType terrain, List<Occupation> results) {
+        int neighborX = x + direction.getX();
+        int neighborY = y + direction.getY();
+        if (neighborX >= 0 && neighborX < grid.getWidth() && neighborY >= 0 && neighborY < grid.getHeight()) {
+            Tile neighbor = indexedTiles[neighborX][neighborY];
+            if (neighbor != null && neighbor.getTerrain(neighborPosition) == terrain) {
+                results.add(occupations[neighborX][neighborY][neighbor.getSegment(neighborPosition)]);
+            }
+        }
+    }
+
+    private Occupation occupationOf(Meeple meeple) {
+        GridSpot spot = meeple.getLocation();
+        Tile tile = indexedTiles[spot.getX()][spot.getY()];
+        if (tile == null || tile != spot.getTile() || !isPatternTerrain(tile.getTerrain(meeple.getPosition()))) {
+            return null;
+        }
+        return occupations[spot.getX()][spot.getY()][tile.getSegment(meeple.getPosition())];
+    }
+
+    private static boolean isPatternTerrain(TerrainType terrain) {
+        return terrain == CASTLE || terrain == ROAD || terrain == FIELDS;
+    }
+
+    /**
+     * Occupation of a single pattern, shared by all of its segments.
+     */
+    private static class Occupation {
+        private final Map<Player, Integer> meeples = new HashMap<>();
+
+        void add(Player player, int amount) {
+            meeples.merge(player, amount, Integer::sum);
+            meeples.remove(player, 0);
+        }
+
+        boolean isEmpty() {
+            return meeples.isEmpty();
+        }
+
+        boolean isOccupiedBy(Player player) {
+            return meeples.containsKey(player);
+        }
+    }
+}
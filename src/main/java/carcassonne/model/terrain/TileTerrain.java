@@ -1,134 +1,253 @@
 package carcassonne.model.terrain;
 
 import static carcassonne.model.grid.GridDirection.CENTER;
-import static carcassonne.model.grid.GridDirection.EAST;
-import static carcassonne.model.grid.GridDirection.NORTH;
-import static carcassonne.model.grid.GridDirection.NORTH_EAST;
-import static carcassonne.model.grid.GridDirection.NORTH_WEST;
-import static carcassonne.model.grid.GridDirection.SOUTH;
-import static carcassonne.model.grid.GridDirection.SOUTH_EAST;
-import static carcassonne.model.grid.GridDirection.SOUTH_WEST;
-import static carcassonne.model.grid.GridDirection.WEST;
-import static java.util.stream.Collectors.toList;
-
-import java.awt.Point;
+
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
-import java.util.stream.Stream;
 
 import carcassonne.model.grid.GridDirection;
+import carcassonne.model.tile.TileRotation;
 import carcassonne.model.tile.TileType;
 
 /**
- * Represents the terrain information of a single tile. It consists out of nine different terrain types, one for each
- * grid direction. Every other property, such as the meeple spots and connections between positions, is computed from
- * that information.
+ * Represents the terrain information of a tile type in a specific rotation. It consists out of nine different terrain
+ * types, one for each grid direction. Every other property, such as the meeple spots, the connections between positions
+ * and the segments formed by connected positions, is computed from that information. All instances are precomputed and
+ * immutable, thus they can be shared between all tiles of the same type and rotation.
  * @author Timur Saglam
  */
-public class TileTerrain {
-    private Set<GridDirection> meepleSpots;
-    private final Map<GridDirection, TerrainType> terrain;
+public final class TileTerrain {
+    private static final int CASTLE_THRESHOLD = 6; // size required for a castle to have an emblem
+    private static final TileTerrain[][] TERRAIN = createAll(); // indexed by tile type and rotation ordinal
+    private static final List<List<TileRotation>> DISTINCT_ROTATIONS = findDistinctRotations(); // indexed by tile type
+    private final TileType type;
+    private final TileRotation rotation;
+    private final TerrainType[] terrain; // indexed by the grid direction ordinal
+    private final int[] connections; // bit masks of the connected positions, indexed by the grid direction ordinal
+    private final int[] segments; // segment id, indexed by the grid direction ordinal
+    private final int segmentCount;
+    private final Set<GridDirection> meepleSpots;
+    private final boolean emblem;
 
     /**
-     * Creates a terrain instance with nine terrain types.
-     * @param type is the tile type of the terrain.
+     * Computes the terrain of a tile type in a specific rotation.
      */
-    public TileTerrain(TileType type) {
-        terrain = new HashMap<>();
-        for (int i = 0; i < GridDirection.values().length; i++) {
-            terrain.put(GridDirection.values()[i], type.getTerrain()[i]);
+    private TileTerrain(TileType type, TileRotation rotation) {
+        this.type = type;
+        this.rotation = rotation;
+        terrain = type.getTerrain().clone();
+        for (int i = 0; i < rotation.ordinal(); i++) {
+            rotateRight(GridDirection.directNeighbors());
+            rotateRight(GridDirection.indirectNeighbors());
+        }
+        connections = new int[terrain.length];
+        for (GridDirection from : GridDirection.values()) {
+            for (GridDirection towards : GridDirection.values()) {
+                if (computeConnection(from, towards)) {
+                    connections[from.ordinal()] |= 1 << towards.ordinal();
+                }
+            }
         }
-        createMeepleSpots();
+        segments = new int[terrain.length];
+        segmentCount = createSegments();
+        meepleSpots = Collections.unmodifiableSet(createMeepleSpots());
+        emblem = Arrays.stream(terrain).filter(it -> it == TerrainType.CASTLE).count() >= CASTLE_THRESHOLD;
+    }
+
+    /**
+     * Returns the shared terrain instance of a tile type in a specific rotation.
+     * @param type is the tile type of the terrain.
+     * @param rotation is the rotation of the tile.
+     * @return the precomputed terrain.
+     */
+    public static TileTerrain of(TileType type, TileRotation rotation) {
+        return TERRAIN[type.ordinal()][rotation.ordinal()];
+    }
+
+    /**
+     * Returns the rotations of a tile type that lead to distinct terrain. Rotations of symmetric tile types that result in
+     * the same terrain and meeple spots as a previous rotation are omitted, as they would lead to an identical board.
+     * @param type is the tile type.
+     * @return the unmodifiable list of distinct rotations, which always contains {@link TileRotation#UP}.
+     */
+    public static List<TileRotation> distinctRotations(TileType type) {
+        return DISTINCT_ROTATIONS.get(type.ordinal());
     }
 
     /**
      * return the terrain type on the tile in the specific direction.
      * @param direction is the specific direction.
-     * @return the terrain type, or null if the direction is not mapped.
+     * @return the terrain type.
      */
     public TerrainType at(GridDirection direction) {
-        if (terrain.containsKey(direction)) {
-            return terrain.get(direction);
-        }
-        throw new IllegalArgumentException("TileTerrain not defined at " + direction);
+        return terrain[direction.ordinal()];
+    }
+
+    /**
+     * Returns the bit mask of all positions connected to a specific position, where the bit of a position is determined by
+     * its ordinal.
+     * @param position is the specific position.
+     * @return the bit mask of the connected positions, including the position itself.
+     */
+    public int getConnections(GridDirection position) {
+        return connections[position.ordinal()];
+    }
+
+    /**
+     * Returns the segment of a position. A segment is a maximal group of positions that are connected through the same
+     * terrain, thus two positions are connected if and only if they belong to the same segment.
+     * @param position is the position.
+     * @return the segment id, which is between zero and the number of segments (exclusive).
+     */
+    public int getSegment(GridDirection position) {
+        return segments[position.ordinal()];
+    }
+
+    /**
+     * Returns the number of segments of this terrain.
+     * @return the number of segments, between one and nine.
+     */
+    public int getSegmentCount() {
+        return segmentCount;
     }
 
     /**
      * Returns a set of grid directions, where meeples can be placed on this terrain.
-     * @return the list of meeple spots.
+     * @return the unmodifiable set of meeple spots.
      */
     public Set<GridDirection> getMeepleSpots() {
         return meepleSpots;
     }
 
+    /**
+     * Getter for the rotation of this terrain.
+     * @return the tile rotation.
+     */
+    public TileRotation getRotation() {
+        return rotation;
+    }
+
+    /**
+     * Getter for the tile type of this terrain.
+     * @return the tile type.
+     */
+    public TileType getType() {
+        return type;
+    }
+
+    /**
+     * Determines whether this terrain has an emblem. Only large castle tiles can have emblems.
+     * @return true if it has an emblem.
+     */
+    public boolean hasEmblem() {
+        return emblem;
+    }
+
     /**
      * Checks whether two parts of a tile are connected through same terrain.
      * @param from is the part to check from.
      * @param towards is the terrain to check to.
      * @return true if connected, false if not.
      */
-    public final boolean isConnected(GridDirection from, GridDirection towards) {
-        if (isDirectConnected(from, towards)) {
-            return true; // directly connected through the middle of the tile
-        } else if (from != CENTER && towards != CENTER && isIndirectConnected(from, towards)) {
-            return true; // is not from or to middle but indirectly connected (counter)clockwise
-        } else if (terrain.get(from) == TerrainType.FIELDS && terrain.get(towards) == TerrainType.FIELDS) {
-            return isImplicitlyConnected(from, towards); // is connected through implicit terrain information
-        }
-        return false;
+    public boolean isConnected(GridDirection from, GridDirection towards) {
+        return (connections[from.ordinal()] & (1 << towards.ordinal())) != 0;
+    }
+
+    /**
+     * Checks whether this terrain is equivalent to another terrain, meaning it has the same terrain types on every position
+     * and the same meeple spots. Equivalent terrain is indistinguishable during the game.
+     * @param other is the other terrain.
+     * @return true if equivalent.
+     */
+    public boolean isEquivalentTo(TileTerrain other) {
+        return Arrays.equals(terrain, other.terrain) && meepleSpots.equals(other.meepleSpots);
+    }
+
+    /**
+     * Returns the terrain of the same tile type rotated by 90 degree.
+     * @param direction determines if it is rotated clockwise or counterclockwise.
+     * @return the shared rotated terrain.
+     */
+    public TileTerrain rotate(RotationDirection direction) {
+        return of(type, rotation.rotate(direction));
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[" + type + ", " + rotation + "]";
     }
 
     /**
-     * Turns a tile 90 degree to the left.
+     * Assigns the segment ids in the order of the positions, based on the precomputed connections.
      */
-    public void rotateLeft() {
-        rotate(List.of(NORTH, WEST, SOUTH, EAST));
-        rotate(List.of(NORTH_EAST, NORTH_WEST, SOUTH_WEST, SOUTH_EAST));
+    private int createSegments() {
+        Arrays.fill(segments, -1);
+        int count = 0;
+        for (GridDirection position : GridDirection.values()) {
+            if (segments[position.ordinal()] < 0) {
+                for (GridDirection other : GridDirection.values()) {
+                    if (isConnected(position, other)) {
+                        segments[other.ordinal()] = count;
+                    }
+                }
+                count++;
+            }
+        }
+        return count;
     }
 
     /**
-     * Turns a tile 90 degree to the right.
+     * Checks whether two parts of a tile are connected through same terrain based on the raw terrain information.
      */
-    public void rotateRight() {
-        rotate(GridDirection.directNeighbors());
-        rotate(GridDirection.indirectNeighbors());
+    private boolean computeConnection(GridDirection from, GridDirection towards) {
+        if (isDirectConnected(from, towards)) {
+            return true; // directly connected through the middle of the tile
+        } else if (from != CENTER && towards != CENTER && isIndirectConnected(from, towards)) {
+            return true; // is not from or to middle but indirectly connected (counter)clockwise
+        } else if (at(from) == TerrainType.FIELDS && at(towards) == TerrainType.FIELDS) {
+            return isImplicitlyConnected(from, towards); // is connected through implicit terrain information
+        }
+        return false;
     }
 
     /**
-     * Creates the list of positions on the tile where a meeple can be placed.
+     * Creates the set of positions on the tile where a meeple can be placed.
      */
-    private void createMeepleSpots() {
-        meepleSpots = new HashSet<>();
+    private Set<GridDirection> createMeepleSpots() {
+        Set<GridDirection> spots = EnumSet.noneOf(GridDirection.class);
         for (GridDirection position : GridDirection.values()) { // for every spot
-            if (terrain.get(position) != TerrainType.OTHER) { // if not checked
-                createMeepleSpot(position);
+            if (at(position) != TerrainType.OTHER) { // if not checked
+                createMeepleSpot(position, spots);
             }
         }
-        removeRedundantSpots(GridDirection.directNeighbors(), false); // merge to top, right, bottom, and left
-        removeRedundantSpots(GridDirection.indirectNeighbors(), true); // merge to the corners and add already removed anchors
-        removeRedundantSpots(GridDirection.directNeighbors(), true); // merge one more time
+        removeRedundantSpots(GridDirection.directNeighbors(), false, spots); // merge to top, right, bottom, and left
+        removeRedundantSpots(GridDirection.indirectNeighbors(), true, spots); // merge to the corners and add already removed anchors
+        removeRedundantSpots(GridDirection.directNeighbors(), true, spots); // merge one more time
+        return spots;
     }
 
     /**
      * Creates a single meeple spot.
      */
-    private void createMeepleSpot(GridDirection position) {
-        List<GridDirection> connectedPositions = Stream.of(GridDirection.values()).filter(it -> isConnected(position, it)).collect(toList());
-        Point sum = new Point();
-        for (GridDirection connectedPosition : connectedPositions) {
-            sum.x += connectedPosition.getX(); // sum up coordinate weights to calculate the center
-            sum.y += connectedPosition.getY();
+    private void createMeepleSpot(GridDirection position, Set<GridDirection> spots) {
+        int sumX = 0;
+        int sumY = 0;
+        for (GridDirection connectedPosition : GridDirection.values()) {
+            if (isConnected(position, connectedPosition)) {
+                sumX += connectedPosition.getX(); // sum up coordinate weights to calculate the center
+                sumY += connectedPosition.getY();
+            }
         }
-        GridDirection center = GridDirection.values2D()[(int) Math.round(sum.x / 3.0) + 1][(int) Math.round(sum.y / 3.0) + 1];
+        GridDirection center = GridDirection.values2D()[(int) Math.round(sumX / 3.0) + 1][(int) Math.round(sumY / 3.0) + 1];
         if (isConnected(center, position)) {
-            meepleSpots.add(center); // add the geometrical pattern center
+            spots.add(center); // add the geometrical pattern center
         } else {
-            meepleSpots.add(position); // just add the original position
+            spots.add(position); // just add the original position
         }
     }
 
@@ -136,8 +255,8 @@ public class TileTerrain {
      * Checks if the directions are directly connected through the middle
      */
     private boolean isDirectConnected(GridDirection from, GridDirection towards) {
-        TerrainType middle = terrain.get(CENTER);
-        return terrain.get(from) == middle && terrain.get(towards) == middle;
+        TerrainType middle = at(CENTER);
+        return at(from) == middle && at(towards) == middle;
     }
 
     /**
@@ -159,7 +278,7 @@ public class TileTerrain {
         GridDirection next;
         while (current != towards) { // while not at destination:
             next = current.nextDirectionTo(side); // get the next direction
-            if (terrain.get(current) != terrain.get(next)) {
+            if (at(current) != at(next)) {
                 return false; // check if still connected
             }
             current = next; // set new current
@@ -204,21 +323,20 @@ public class TileTerrain {
     /**
      * removes redundant meeple spots and optionally adds anchor spots.
      */
-    private void removeRedundantSpots(List<GridDirection> anchorDirections, boolean addAnchor) {
+    private void removeRedundantSpots(List<GridDirection> anchorDirections, boolean addAnchor, Set<GridDirection> spots) {
         List<GridDirection> removalList = new LinkedList<>();
         for (GridDirection anchor : anchorDirections) {
             GridDirection left = anchor.nextDirectionTo(RotationDirection.LEFT);
             GridDirection right = anchor.nextDirectionTo(RotationDirection.RIGHT);
-            if (terrain.get(anchor) == terrain.get(left) && terrain.get(anchor) == terrain.get(right) && meepleSpots.contains(left)
-                    && meepleSpots.contains(right)) {
+            if (at(anchor) == at(left) && at(anchor) == at(right) && spots.contains(left) && spots.contains(right)) {
                 removalList.add(left);
                 removalList.add(right);
                 if (addAnchor && !isConnected(anchor, CENTER)) {
-                    meepleSpots.add(anchor);
+                    spots.add(anchor);
                 }
             }
         }
-        meepleSpots.removeAll(removalList);
+        spots.removeAll(removalList);
     }
 
     /**
@@ -226,8 +344,7 @@ public class TileTerrain {
      * terrain street and is connected to at least two other sides.
      */
     private boolean hasPassingStreet() {
-        return terrain.get(CENTER) == TerrainType.ROAD
-                && GridDirection.tilePositions().stream().filter(it -> isDirectConnected(CENTER, it)).count() > 2;
+        return at(CENTER) == TerrainType.ROAD && GridDirection.tilePositions().stream().filter(it -> isDirectConnected(CENTER, it)).count() > 2;
     }
 
     /**
@@ -235,18 +352,50 @@ public class TileTerrain {
      * towards it.
      */
     private boolean hasNoCastleEntry(GridDirection castlePosition) {
-        return terrain.get(castlePosition) == TerrainType.CASTLE && (terrain.get(CENTER) == TerrainType.OTHER || hasPassingStreet());
+        return at(castlePosition) == TerrainType.CASTLE && (at(CENTER) == TerrainType.OTHER || hasPassingStreet());
     }
 
     /**
      * Rotates the terrain at the specified directions clockwise.
      * @param directions are the specified directions.
      */
-    private void rotate(List<GridDirection> directions) {
-        TerrainType temporary = terrain.get(directions.get(directions.size() - 1)); // get last one
+    private void rotateRight(List<GridDirection> directions) {
+        TerrainType temporary = at(directions.get(directions.size() - 1)); // get last one
         for (GridDirection direction : directions) { // rotate terrain through temporary:
-            temporary = terrain.put(direction, temporary);
+            TerrainType replaced = at(direction);
+            terrain[direction.ordinal()] = temporary;
+            temporary = replaced;
+        }
+    }
+
+    /**
+     * Determines the distinct rotations for every tile type based on the precomputed terrain.
+     */
+    private static List<List<TileRotation>> findDistinctRotations() {
+        List<List<TileRotation>> distinctRotations = new ArrayList<>();
+        for (TileType type : TileType.values()) {
+            List<TileRotation> rotations = new ArrayList<>();
+            for (TileRotation rotation : TileRotation.values()) {
+                TileTerrain terrain = of(type, rotation);
+                if (rotations.stream().noneMatch(it -> of(type, it).isEquivalentTo(terrain))) {
+                    rotations.add(rotation);
+                }
+            }
+            distinctRotations.add(Collections.unmodifiableList(rotations));
+        }
+        return distinctRotations;
+    }
+
+    /**
+     * Precomputes the terrain for every tile type in every rotation.
+     */
+    private static TileTerrain[][] createAll() {
+        TileTerrain[][] terrain = new TileTerrain[TileType.values().length][TileRotation.values().length];
+        for (TileType type : TileType.values()) {
+            for (TileRotation rotation : TileRotation.values()) {
+                terrain[type.ordinal()][rotation.ordinal()] = new TileTerrain(type, rotation);
+            }
         }
-        createMeepleSpots();
+        return terrain;
     }
 }
@@ -0,0 +1,79 @@
+package carcassonne.model.tile;
+
+import carcassonne.model.grid.GridDirection;
+import carcassonne.model.terrain.TerrainType;
+import carcassonne.model.terrain.TileTerrain;
+
+/**
+ * Immutable view of a tile in a specific rotation. Allows to analyze the placement of a tile in every rotation without
+ * rotating the tile itself, which means the tiles in the hands of the players are never modified during the move
+ * generation.
+ * @author Timur Saglam
+ */
+public final class OrientedTile {
+    private final Tile tile;
+    private final TileRotation rotation;
+    private final TileTerrain terrain;
+
+    /**
+     * Creates the view of a tile in a specific rotation.
+     * @param tile is the viewed tile, which is not modified.
+     * @param rotation is the rotation of the view, independent of the rotation of the tile.
+     */
+    public OrientedTile(Tile tile, TileRotation rotation) {
+        if (tile == null || rotation == null) {
+            throw new IllegalArgumentException("Tile and rotation cannot be null");
+        }
+        this.tile = tile;
+        this.rotation = rotation;
+        terrain = TileTerrain.of(tile.getType(), rotation);
+    }
+
+    /**
+     * Checks whether the oriented tile has same terrain on a specific side to another tile.
+     * @param direction is the specific direction.
+     * @param other is the other tile.
+     * @return true if it has same terrain.
+     */
+    public boolean canConnectTo(GridDirection direction, Tile other) {
+        return getTerrain(direction) == other.getTerrain(direction.opposite());
+    }
+
+    /**
+     * Getter for the rotation of this view.
+     * @return the rotation.
+     */
+    public TileRotation getRotation() {
+        return rotation;
+    }
+
+    /**
+     * return the terrain type of the oriented tile in the specific direction.
+     * @param direction is the specific direction.
+     * @return the terrain type.
+     */
+    public TerrainType getTerrain(GridDirection direction) {
+        return terrain.at(direction);
+    }
+
+    /**
+     * Getter for the viewed tile.
+     * @return the tile, which might have a different rotation than this view.
+     */
+    public Tile getTile() {
+        return tile;
+    }
+
+    /**
+     * Getter for the tile type.
+     * @return the type.
+     */
+    public TileType getType() {
+        return tile.getType();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[" + tile.getType() + ", " + rotation + "]";
+    }
+}
@@ -0,0 +1,245 @@
+package carcassonne.model.tile;
+
+import carcassonne.model.Meeple;
+import carcassonne.model.grid.GridDirection;
+import carcassonne.model.terrain.RotationDirection;
+import carcassonne.model.terrain.TerrainType;
+import carcassonne.model.terrain.TileTerrain;
+
+/**
+ * Utility class for a compact encoding of a tile state in a single integer. The encoding contains the {@link TileType},
+ * the {@link TileRotation}, the position of a meeple and the number of the owner of that meeple. Packed tiles can be
+ * copied, hashed and compared like any primitive value, which makes them suitable for simulations and array-based
+ * boards. Terrain queries are answered with the precomputed {@link TileTerrain} tables.
+ * <p>
+ * Bit layout, starting with the least significant bit: 6 bits type ordinal, 2 bits rotation ordinal, 4 bits meeple
+ * position ordinal plus one (zero if there is no meeple), 3 bits meeple owner number.
+ * @author Timur Saglam
+ */
+public final class PackedTile {
+    /**
+     * Encoding of an empty spot, which equals an unrotated tile of type {@link TileType#Null} without a meeple.
+     */
+    public static final int EMPTY = 0;
+    private static final int TYPE_BITS = 6;
+    private static final int ROTATION_BITS = 2;
+    private static final int POSITION_BITS = 4;
+    private static final int OWNER_BITS = 3;
+    private static final int ROTATION_SHIFT = TYPE_BITS;
+    private static final int POSITION_SHIFT = ROTATION_SHIFT + ROTATION_BITS;
+    private static final int OWNER_SHIFT = POSITION_SHIFT + POSITION_BITS;
+    private static final int TYPE_MASK = (1 << TYPE_BITS) - 1;
+    private static final int ROTATION_MASK = (1 << ROTATION_BITS) - 1;
+    private static final int POSITION_MASK = (1 << POSITION_BITS) - 1;
+    private static final int OWNER_MASK = (1 << OWNER_BITS) - 1;
+    private static final int TERRAIN_MASK = (1 << POSITION_SHIFT) - 1; // type and rotation
+    static final int TERRAIN_STATES = TERRAIN_MASK + 1; // number of encodings without meeple
+    private static final TileTerrain[] TERRAIN = createTerrainTable(); // indexed by type and rotation bits
+    private static final GridDirection[] ROTATED_RIGHT = createRotationTable(RotationDirection.RIGHT);
+    private static final GridDirection[] ROTATED_LEFT = createRotationTable(RotationDirection.LEFT);
+
+    private PackedTile() {
+        throw new IllegalStateException(); // private constructor for non-instantiability
+    }
+
+    /**
+     * Encodes a tile type in a specific rotation without a meeple.
+     * @param type is the tile type.
+     * @param rotation is the rotation of the tile.
+     * @return the packed tile.
+     */
+    public static int encode(TileType type, TileRotation rotation) {
+        return type.ordinal() | rotation.ordinal() << ROTATION_SHIFT;
+    }
+
+    /**
+     * Encodes the current state of a tile, including its meeple.
+     * @param tile is the tile to encode.
+     * @return the packed tile.
+     */
+    public static int encode(Tile tile) {
+        int packed = encode(tile.getType(), tile.getRotation());
+        if (tile.hasMeeple()) {
+            Meeple meeple = tile.getMeeple();
+            packed = withMeeple(packed, meeple.getPosition(), meeple.getOwner().getNumber());
+        }
+        return packed;
+    }
+
+    /**
+     * Returns the bit mask of the positions connected to a specific position on a packed tile.
+     * @param packedTile is the packed tile.
+     * @param position is the specific position.
+     * @return the bit mask of the connected positions, where the bit of a position is determined by its ordinal.
+     */
+    public static int connections(int packedTile, GridDirection position) {
+        return TERRAIN[packedTile & TERRAIN_MASK].getConnections(position);
+    }
+
+    /**
+     * Checks whether the meeple of a packed tile is placed.
+     * @param packedTile is the packed tile.
+     * @return true if it has a meeple.
+     */
+    public static boolean hasMeeple(int packedTile) {
+        return (packedTile >>> POSITION_SHIFT & POSITION_MASK) != 0;
+    }
+
+    /**
+     * Checks whether two positions of a packed tile are connected through the same terrain.
+     * @param packedTile is the packed tile.
+     * @param from is the position to check from.
+     * @param towards is the position to check to.
+     * @return true if connected.
+     */
+    public static boolean isConnected(int packedTile, GridDirection from, GridDirection towards) {
+        return (connections(packedTile, from) & 1 << towards.ordinal()) != 0;
+    }
+
+    /**
+     * Checks whether two packed tiles fit next to each other.
+     * @param packedTile is the first packed tile.
+     * @param direction is the direction of the second tile from the first tile.
+     * @param other is the second packed tile.
+     * @return true if the terrain on the touching sides is the same.
+     */
+    public static boolean canConnectTo(int packedTile, GridDirection direction, int other) {
+        return terrain(packedTile, direction) == terrain(other, direction.opposite());
+    }
+
+    /**
+     * Returns the position of the meeple on a packed tile.
+     * @param packedTile is the packed tile.
+     * @return the position or null if there is no meeple.
+     */
+    public static GridDirection meeplePosition(int packedTile) {
+        int position = packedTile >>> POSITION_SHIFT & POSITION_MASK;
+        return position == 0 ? null : GridDirection.values()[position - 1];
+    }
+
+    /**
+     * Returns the number of the player who owns the meeple on a packed tile.
+     * @param packedTile is the packed tile.
+     * @return the player number or -1 if there is no meeple.
+     */
+    public static int meepleOwner(int packedTile) {
+        return hasMeeple(packedTile) ? packedTile >>> OWNER_SHIFT & OWNER_MASK : -1;
+    }
+
+    /**
+     * Rotates a packed tile by 90 degree. A meeple on the tile is rotated with the tile.
+     * @param packedTile is the packed tile.
+     * @param direction determines if it is rotated clockwise or counterclockwise.
+     * @return the rotated packed tile.
+     */
+    public static int rotate(int packedTile, RotationDirection direction) {
+        int rotation = (rotation(packedTile).ordinal() + direction.getValue()) & ROTATION_MASK;
+        int rotated = packedTile & ~(ROTATION_MASK << ROTATION_SHIFT) | rotation << ROTATION_SHIFT;
+        GridDirection position = meeplePosition(rotated);
+        if (position != null) {
+            GridDirection[] table = direction == RotationDirection.RIGHT ? ROTATED_RIGHT : ROTATED_LEFT;
+            rotated = withMeeple(rotated, table[position.ordinal()], meepleOwner(rotated));
+        }
+        return rotated;
+    }
+
+    /**
+     * Returns the rotation of a packed tile.
+     * @param packedTile is the packed tile.
+     * @return the tile rotation.
+     */
+    public static TileRotation rotation(int packedTile) {
+        return TileRotation.values()[packedTile >>> ROTATION_SHIFT & ROTATION_MASK];
+    }
+
+    /**
+     * Returns the terrain type of a packed tile on a specific position.
+     * @param packedTile is the packed tile.
+     * @param position is the specific position.
+     * @return the terrain type.
+     */
+    public static TerrainType terrain(int packedTile, GridDirection position) {
+        return TERRAIN[packedTile & TERRAIN_MASK].at(position);
+    }
+
+    /**
+     * Returns the shared precomputed terrain of a packed tile.
+     * @param packedTile is the packed tile.
+     * @return the terrain of its type and rotation.
+     */
+    public static TileTerrain terrainOf(int packedTile) {
+        return TERRAIN[packedTile & TERRAIN_MASK];
+    }
+
+    /**
+     * Creates a tile object with the type and the rotation of a packed tile. The meeple is not transferred, as meeples can
+     * only be placed on tiles that are placed on the grid.
+     * @param packedTile is the packed tile.
+     * @return the new tile.
+     */
+    public static Tile toTile(int packedTile) {
+        Tile tile = new Tile(type(packedTile));
+        tile.rotateTo(rotation(packedTile));
+        return tile;
+    }
+
+    /**
+     * Returns the type of a packed tile.
+     * @param packedTile is the packed tile.
+     * @return the tile type.
+     */
+    public static TileType type(int packedTile) {
+        return TileType.values()[packedTile & TYPE_MASK];
+    }
+
+    /**
+     * Adds a meeple to a packed tile, replacing any previous meeple.
+     * @param packedTile is the packed tile.
+     * @param position is the position of the meeple on the tile.
+     * @param owner is the number of the player who owns the meeple.
+     * @return the packed tile with the meeple.
+     */
+    public static int withMeeple(int packedTile, GridDirection position, int owner) {
+        if (owner < 0 || owner > OWNER_MASK) {
+            throw new IllegalArgumentException("Meeple owner cannot be encoded: " + owner);
+        }
+        return withoutMeeple(packedTile) | (position.ordinal() + 1) << POSITION_SHIFT | owner << OWNER_SHIFT;
+    }
+
+    /**
+     * Removes the meeple from a packed tile.
+     * @param packedTile is the packed tile.
+     * @return the packed tile without meeple.
+     */
+    public static int withoutMeeple(int packedTile) {
+        return packedTile & TERRAIN_MASK;
+    }
+
+    /**
+     * Returns a readable representation of a packed tile.
+     * @param packedTile is the packed tile.
+     * @return the representation, such as "RoadCurve[TILTED_LEFT, meeple: NORTH by 1]".
+     */
+    public static String toString(int packedTile) {
+        String meeple = hasMeeple(packedTile) ? meeplePosition(packedTile) + " by " + meepleOwner(packedTile) : "none";
+        return type(packedTile) + "[" + rotation(packedTile) + ", meeple: " + meeple + "]";
+    }
+
+    private static TileTerrain[] createTerrainTable() {
+        TileTerrain[] table = new TileTerrain[TERRAIN_MASK + 1];
+        for (TileType type : TileType.values()) {
+            for (TileRotation rotation : TileRotation.values()) {
+                table[encode(type, rotation)] = TileTerrain.of(type, rotation);
+            }
+        }
+        return table;
+    }
+
+    private static GridDirection[] createRotationTable(RotationDirection direction) {
+        GridDirection[] table = new GridDirection[GridDirection.values().length];
+        for (GridDirection position : GridDirection.values()) {
+            table[position.ordinal()] = position.nextDirectionTo(direction).nextDirectionTo(direction); // two steps are 90 degree
+        }
+        return table;
+    }
+}
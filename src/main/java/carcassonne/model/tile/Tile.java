@@ -1,18 +1,12 @@
 package carcassonne.model.tile;
 
-import static java.util.stream.Collectors.toList;
-
 import java.util.Collection;
-import java.util.EnumSet;
 
 import javax.swing.ImageIcon;
 
 import carcassonne.model.Meeple;
 import carcassonne.model.Player;
-import carcassonne.model.grid.CastleAndRoadPattern;
-import carcassonne.model.grid.FieldsPattern;
 import carcassonne.model.grid.GridDirection;
-import carcassonne.model.grid.GridPattern;
 import carcassonne.model.grid.GridSpot;
 import carcassonne.model.terrain.RotationDirection;
 import carcassonne.model.terrain.TerrainType;
@@ -25,13 +19,13 @@ import carcassonne.util.ConcurrentTileImageScaler;
  * @author Timur Saglam
  */
 public class Tile {
-    private static final int CASTLE_THRESHOLD = 6; // size required for a castle to have an emblem
     protected GridSpot gridSpot;
     protected Meeple meeple;
-    private final TileTerrain terrain;
+    private TileTerrain terrain;
     private final TileType type;
     private TileRotation rotation;
     private final int rotationLimit;
+    private int stackSlot; // slot in the tile stack that the tile was drawn from, -1 if none
 
     /**
      * Simple constructor.
@@ -43,10 +37,11 @@ public class Tile {
             throw new IllegalArgumentException("Tile type cannot be null");
         }
         this.type = type;
-        terrain = new TileTerrain(type);
         rotation = TileRotation.UP;
+        terrain = TileTerrain.of(type, rotation);
         meeple = null;
         rotationLimit = TileUtil.rotationLimitFor(type);
+        stackSlot = -1;
     }
 
     /**
@@ -120,8 +115,13 @@ public class Tile {
         return type;
     }
 
+    /**
+     * Returns the rotations of this tile that lead to distinct placements. Rotations that would result in the same terrain
+     * as another rotation because of the symmetry of the tile are omitted.
+     * @return the distinct rotations.
+     */
     public Collection<TileRotation> getPossibleRotations() {
-        return EnumSet.allOf(TileRotation.class).stream().filter(it -> it.ordinal() < rotationLimit - 1).collect(toList());
+        return TileTerrain.distinctRotations(type);
     }
 
     /**
@@ -141,6 +141,23 @@ public class Tile {
         return rotation.ordinal() % rotationLimit;
     }
 
+    /**
+     * Returns the terrain segment of a specific position. Positions are connected if and only if they share a segment.
+     * @param position is the specific position on the tile.
+     * @return the segment id, which is between zero and the number of segments (exclusive).
+     */
+    public int getSegment(GridDirection position) {
+        return terrain.getSegment(position);
+    }
+
+    /**
+     * Returns the number of terrain segments of the tile in its current rotation.
+     * @return the number of segments.
+     */
+    public int getSegmentCount() {
+        return terrain.getSegmentCount();
+    }
+
     /**
      * Checks whether the terrain of the tile connected from a specific grid direction to another specific grid direction.
      * @param from is a specific grid direction.
@@ -151,6 +168,14 @@ public class Tile {
         return terrain.isConnected(from, to);
     }
 
+    /**
+     * Returns the slot of the tile in the {@link TileStack} that it was drawn from, or in the forks of that stack.
+     * @return the slot or -1 if the tile was not drawn from a stack.
+     */
+    int getStackSlot() {
+        return stackSlot;
+    }
+
     /**
      * Checks whether the tile has a meeple.
      * @return true if it has a meeple
@@ -173,13 +198,7 @@ public class Tile {
      * @return true if it has an emblem, which doubles the points of this tile.
      */
     public final boolean hasEmblem() {
-        int castleSize = 0;
-        for (GridDirection direction : GridDirection.values()) {
-            if (terrain.at(direction).equals(TerrainType.CASTLE)) {
-                castleSize++;
-            }
-        }
-        return castleSize >= CASTLE_THRESHOLD;
+        return terrain.hasEmblem();
     }
 
     /**
@@ -206,27 +225,10 @@ public class Tile {
      * @return true if a meeple can be placed.
      */
     public boolean allowsPlacingMeeple(GridDirection position, Player player, GameSettings settings) {
-        TerrainType terrain = getTerrain(position);
-        boolean placeable = false;
         if (isPlaced()) { // placing meeples on tiles that are not placed is not possible
-            if (terrain == TerrainType.OTHER) {
-                placeable = false; // you can never place on terrain other
-            } else if (terrain == TerrainType.MONASTERY) {
-                placeable = true; // you can always place on a monastery
-            } else {
-                GridPattern pattern;
-                if (terrain == TerrainType.FIELDS) {
-                    pattern = new FieldsPattern(getGridSpot(), position);
-                } else { // castle or road:
-                    pattern = new CastleAndRoadPattern(getGridSpot(), position, terrain);
-                }
-                if (pattern.isNotOccupied() || (pattern.isOccupiedBy(player)) && settings.isAllowingFortifying()) {
-                    placeable = true; // can place meeple
-                }
-                pattern.removeTileTags();
-            }
+            return gridSpot.getGrid().allowsPlacingMeeple(gridSpot, position, player, settings);
         }
-        return placeable;
+        return false;
     }
 
     /**
@@ -243,6 +245,7 @@ public class Tile {
             this.meeple = meeple;
             meeple.setLocation(gridSpot);
             meeple.setPosition(position);
+            indexMeeple();
         } else {
             throw new IllegalArgumentException("Tile can not have already a meeple placed on it: " + toString());
         }
@@ -255,6 +258,7 @@ public class Tile {
         if (meeple == null) {
             throw new IllegalStateException("Meeple has already been removed.");
         }
+        gridSpot.getGrid().getMeepleIndex().remove(meeple);
         meeple.removePlacement();
         meeple = null;
     }
@@ -263,25 +267,25 @@ public class Tile {
      * Turns a tile 90 degree to the left.
      */
     public void rotateLeft() {
-        terrain.rotateLeft();
-        rotation = rotation.rotate(RotationDirection.LEFT);
+        terrain = terrain.rotate(RotationDirection.LEFT);
+        rotation = terrain.getRotation();
     }
 
     /**
      * Turns a tile 90 degree to the right.
      */
     public void rotateRight() {
-        terrain.rotateRight(); // TODO (MEDIUM) [PERFORMANCE] can get fairly expensive when executed often.
-        rotation = rotation.rotate(RotationDirection.RIGHT);
+        terrain = terrain.rotate(RotationDirection.RIGHT);
+        rotation = terrain.getRotation();
     }
 
     /**
-     * Turns a tile 90 degree to the right.
+     * Turns a tile to a specific rotation.
+     * @param targetRotation is the rotation to turn to.
      */
     public void rotateTo(TileRotation targetRotation) {
-        while (rotation != targetRotation) {
-            rotateRight();
-        }
+        terrain = TileTerrain.of(type, targetRotation);
+        rotation = targetRotation;
     }
 
     /**
@@ -295,6 +299,21 @@ public class Tile {
         gridSpot = spot;
     }
 
+    /**
+     * Remembers the slot of the tile in the {@link TileStack} that it was drawn from, so it can be returned to that slot.
+     * @param slot is the slot of the tile.
+     */
+    void setStackSlot(int slot) {
+        stackSlot = slot;
+    }
+
+    /**
+     * Adds the placed meeple of this tile to the meeple index of the grid.
+     */
+    protected void indexMeeple() {
+        gridSpot.getGrid().getMeepleIndex().add(meeple);
+    }
+
     @Override
     public String toString() {
         return type + getClass().getSimpleName() + "[coordinates: " + gridSpot + ", Meeple: " + meeple + "]";
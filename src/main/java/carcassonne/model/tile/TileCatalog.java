@@ -0,0 +1,190 @@
+package carcassonne.model.tile;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import carcassonne.model.grid.GridDirection;
+import carcassonne.model.terrain.TerrainType;
+import carcassonne.model.terrain.TileTerrain;
+
+/**
+ * Catalog of all tile types and rotations that answers which tiles fit into a free spot. The terrain requirements of a
+ * free spot are described by its edge signature, which contains the required terrain on each side of the spot or no
+ * requirement if there is no neighboring tile. The answers are precomputed for every signature over castle, road, fields
+ * and none.
+ * @author Timur Saglam
+ */
+public final class TileCatalog {
+    /**
+     * Signature of a spot without any terrain requirements.
+     */
+    public static final int UNCONSTRAINED = 0;
+    private static final TerrainType[] EDGE_TERRAIN = {null, TerrainType.CASTLE, TerrainType.ROAD, TerrainType.FIELDS};
+    private static final int BITS_PER_SIDE = 2;
+    private static final int SIDES = GridDirection.directNeighbors().size();
+    private static final int SIGNATURES = 1 << BITS_PER_SIDE * SIDES;
+    private static final boolean[][] FITS = new boolean[SIGNATURES][]; // indexed by signature and packed tile
+    private static final int[][] FITTING_TILES = new int[SIGNATURES][]; // packed tiles of the distinct rotations
+    private static final TileType[][] FITTING_TYPES = new TileType[SIGNATURES][];
+
+    static {
+        for (int signature = 0; signature < SIGNATURES; signature++) {
+            FITS[signature] = new boolean[PackedTile.TERRAIN_STATES];
+            List<Integer> fittingTiles = new ArrayList<>();
+            List<TileType> fittingTypes = new ArrayList<>();
+            for (TileType type : TileType.validTiles()) {
+                for (TileRotation rotation : TileRotation.values()) {
+                    if (computeFit(signature, TileTerrain.of(type, rotation))) {
+                        FITS[signature][PackedTile.encode(type, rotation)] = true;
+                        if (TileTerrain.distinctRotations(type).contains(rotation)) {
+                            fittingTiles.add(PackedTile.encode(type, rotation));
+                        }
+                        if (!fittingTypes.contains(type)) {
+                            fittingTypes.add(type);
+                        }
+                    }
+                }
+            }
+            FITTING_TILES[signature] = fittingTiles.stream().mapToInt(Integer::intValue).toArray();
+            FITTING_TYPES[signature] = fittingTypes.toArray(new TileType[0]);
+        }
+    }
+
+    private TileCatalog() {
+        throw new IllegalStateException(); // private constructor for non-instantiability
+    }
+
+    /**
+     * Counts the tiles that fit a signature in at least one rotation, weighted by the quantity of each tile type.
+     * @param signature is the edge signature.
+     * @param quantities contains the quantity of each tile type, indexed by the tile type ordinal.
+     * @return the number of fitting tiles.
+     */
+    public static int countFittingTiles(int signature, int[] quantities) {
+        int count = 0;
+        for (TileType type : FITTING_TYPES[signature]) {
+            count += quantities[type.ordinal()];
+        }
+        return count;
+    }
+
+    /**
+     * Counts the tiles that fit a signature in at least one rotation, weighted by the quantity of each tile type.
+     * @param signature is the edge signature.
+     * @param quantities maps the tile types to their quantities, e.g. the remaining tiles of a {@link TileStack}.
+     * @return the number of fitting tiles.
+     */
+    public static int countFittingTiles(int signature, Map<TileType, Integer> quantities) {
+        int count = 0;
+        for (TileType type : FITTING_TYPES[signature]) {
+            count += quantities.getOrDefault(type, 0);
+        }
+        return count;
+    }
+
+    /**
+     * Returns all distinct combinations of tile type and rotation that fit a signature.
+     * @param signature is the edge signature.
+     * @return the fitting tiles encoded as {@link PackedTile}s. The array must not be modified.
+     */
+    public static int[] fittingTiles(int signature) {
+        return FITTING_TILES[signature];
+    }
+
+    /**
+     * Returns all tile types that fit a signature in at least one rotation.
+     * @param signature is the edge signature.
+     * @return the fitting tile types. The array must not be modified.
+     */
+    public static TileType[] fittingTypes(int signature) {
+        return FITTING_TYPES[signature];
+    }
+
+    /**
+     * Checks whether a tile type in a specific rotation fits a signature.
+     * @param signature is the edge signature.
+     * @param type is the tile type.
+     * @param rotation is the rotation of the tile.
+     * @return true if it fits.
+     */
+    public static boolean fits(int signature, TileType type, TileRotation rotation) {
+        return FITS[signature][PackedTile.encode(type, rotation)];
+    }
+
+    /**
+     * Checks whether a tile in its current rotation fits a signature.
+     * @param signature is the edge signature.
+     * @param tile is the tile.
+     * @return true if it fits.
+     */
+    public static boolean fits(int signature, Tile tile) {
+        return fits(signature, tile.getType(), tile.getRotation());
+    }
+
+    /**
+     * Checks whether a packed tile fits a signature.
+     * @param signature is the edge signature.
+     * @param packedTile is the packed tile.
+     * @return true if it fits.
+     */
+    public static boolean fits(int signature, int packedTile) {
+        return FITS[signature][PackedTile.withoutMeeple(packedTile)];
+    }
+
+    /**
+     * Adds a terrain requirement to a signature.
+     * @param signature is the previous signature.
+     * @param side is the side of the spot, meaning the direction of the neighboring tile.
+     * @param terrain is the required terrain on that side.
+     * @return the extended signature.
+     */
+    public static int require(int signature, GridDirection side, TerrainType terrain) {
+        int shift = side.ordinal() * BITS_PER_SIDE;
+        for (int code = 1; code < EDGE_TERRAIN.length; code++) {
+            if (EDGE_TERRAIN[code] == terrain) {
+                return signature & ~(EDGE_TERRAIN.length - 1 << shift) | code << shift;
+            }
+        }
+        throw new IllegalArgumentException("Terrain cannot be required on a tile edge: " + terrain);
+    }
+
+    /**
+     * Returns the required terrain of a signature on a specific side.
+     * @param signature is the edge signature.
+     * @param side is the side of the spot.
+     * @return the required terrain or null if it is unconstrained.
+     */
+    public static TerrainType requirement(int signature, GridDirection side) {
+        return EDGE_TERRAIN[signature >>> side.ordinal() * BITS_PER_SIDE & EDGE_TERRAIN.length - 1];
+    }
+
+    /**
+     * Creates the signature for terrain requirements.
+     * @param north is the required terrain on the northern side or null.
+     * @param east is the required terrain on the eastern side or null.
+     * @param south is the required terrain on the southern side or null.
+     * @param west is the required terrain on the western side or null.
+     * @return the edge signature.
+     */
+    public static int signature(TerrainType north, TerrainType east, TerrainType south, TerrainType west) {
+        int signature = UNCONSTRAINED;
+        TerrainType[] requirements = {north, east, south, west};
+        for (GridDirection side : GridDirection.directNeighbors()) {
+            if (requirements[side.ordinal()] != null) {
+                signature = require(signature, side, requirements[side.ordinal()]);
+            }
+        }
+        return signature;
+    }
+
+    private static boolean computeFit(int signature, TileTerrain terrain) {
+        for (GridDirection side : GridDirection.directNeighbors()) {
+            TerrainType requirement = requirement(signature, side);
+            if (requirement != null && requirement != terrain.at(side)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -1,52 +1,76 @@
 package carcassonne.model.tile;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
-import java.util.HashSet;
-import java.util.LinkedList;
-import java.util.Queue;
-import java.util.Random;
-import java.util.Set;
-import java.util.Stack;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import carcassonne.util.RandomStreams;
 
 /**
- * The stack of tiles for a game.
+ * The stack of tiles for a game. Keeps track of how many tiles of each type are left on the stack. The tiles are stored
+ * as {@link PackedTile}s in slots, tile objects are only created when a tile is drawn and remember their slot. Tiles that
+ * are put back are queued under the stack. Being based on arrays, the stack can be forked cheaply for simulations.
  * @author Timur Saglam
  */
 public class TileStack {
-    private final Stack<Tile> tiles;
-    private final Queue<Tile> returnedTiles;
-    private final Set<Tile> returnHistory;
+    private int[] tiles; // packed tiles with type and rotation per slot, the top of the stack is the slot before the cursor
+    private int cursor; // number of tiles on the stack, excluding the returned tiles
+    private int[] returnQueue; // ring buffer of the slots of the returned tiles
+    private int returnHead; // index of the first returned tile in the ring buffer
+    private int returnCount; // number of returned tiles in the ring buffer
+    private final BitSet returnHistory; // slots of the tiles that were already returned
+    private final int[] quantities; // remaining tiles per tile type ordinal, including the returned tiles
+    private final List<Runnable> changeListeners;
     private final int multiplier;
     private final int initialSize;
 
     /**
-     * Basic constructor, creates the tile stack.
+     * Basic constructor, creates the tile stack with a random tile order.
      * @param distribution is the tile distribution according which the stack is filled.
      * @param multiplier is the tile stack multiplier, meaning how often the distribution is added to the stack.
      */
     public TileStack(TileDistribution distribution, int multiplicator) {
-        this(distribution, multiplicator, null);
+        this(distribution, multiplicator, RandomStreams.withRandomSeed());
     }
 
     /**
-     * Creates a tile stack with a pseudo-random tile order.
+     * Creates a tile stack with a pseudo-random tile order and tile rotations.
      * @param distribution is the tile distribution according which the stack is filled.
      * @param multiplier is the tile stack multiplier, meaning how often the distribution is added to the stack.
-     * @param sortingSeed is the seed for the tile order.
+     * @param random are the random streams of the game, which determine the tile order and rotations.
      */
-    public TileStack(TileDistribution distribution, int multiplier, Long sortingSeed) {
+    public TileStack(TileDistribution distribution, int multiplier, RandomStreams random) {
         this.multiplier = multiplier;
-        tiles = new Stack<>();
-        returnedTiles = new LinkedList<>();
-        returnHistory = new HashSet<>();
+        tiles = new int[countTiles(distribution)];
+        returnQueue = new int[tiles.length];
+        returnHistory = new BitSet(tiles.length);
+        quantities = new int[TileType.values().length];
+        changeListeners = new ArrayList<>();
         fillStack(distribution);
         initialSize = getSize();
-        rotateRandomly();
-        if (sortingSeed == null) {
-            Collections.shuffle(tiles);
-        } else {
-            Collections.shuffle(tiles, new Random(sortingSeed));
-        }
+        rotateRandomly(random.forRotation());
+        RandomStreams.shuffle(tiles, cursor, random.forShuffling());
+    }
+
+    /**
+     * Creates a copy of a tile stack, which is independent of the original stack.
+     */
+    private TileStack(TileStack original) {
+        multiplier = original.multiplier;
+        initialSize = original.initialSize;
+        tiles = Arrays.copyOf(original.tiles, original.tiles.length);
+        cursor = original.cursor;
+        returnQueue = Arrays.copyOf(original.returnQueue, original.returnQueue.length);
+        returnHead = original.returnHead;
+        returnCount = original.returnCount;
+        returnHistory = (BitSet) original.returnHistory.clone();
+        quantities = Arrays.copyOf(original.quantities, original.quantities.length);
+        changeListeners = new ArrayList<>(); // listeners observe the live stack only
     }
 
     /**
@@ -54,12 +78,32 @@ public class TileStack {
      * @return the tile or null if the stack is empty.
      */
     public Tile drawTile() {
-        if (tiles.isEmpty() && returnedTiles.isEmpty()) {
+        if (isEmpty()) {
             return null; // no tile to draw!
-        } else if (tiles.isEmpty()) {
-            return returnedTiles.poll();
         }
-        return tiles.pop();
+        int slot;
+        if (cursor > 0) {
+            slot = --cursor;
+        } else {
+            slot = returnQueue[returnHead];
+            returnHead = (returnHead + 1) % returnQueue.length;
+            returnCount--;
+        }
+        Tile tile = PackedTile.toTile(tiles[slot]);
+        tile.setStackSlot(slot);
+        quantities[tile.getType().ordinal()]--;
+        notifyListeners();
+        return tile;
+    }
+
+    /**
+     * Creates an independent copy of the stack, e.g. to simulate the continuation of a game without changing the live
+     * stack. The copy contains the same tiles in the same order and knows the tiles drawn from this stack, so they can be
+     * put back under the copy. Change listeners are not copied.
+     * @return the copy of the stack.
+     */
+    public TileStack fork() {
+        return new TileStack(this);
     }
 
     /**
@@ -75,7 +119,30 @@ public class TileStack {
      * @return the amount of tiled on the stack.
      */
     public int getSize() {
-        return tiles.size() + returnedTiles.size();
+        return cursor + returnCount;
+    }
+
+    /**
+     * Returns how many tiles of a specific type are on the stack, including the tiles that were put back under the stack.
+     * @param type is the tile type.
+     * @return the remaining quantity of that type.
+     */
+    public int getQuantity(TileType type) {
+        return quantities[type.ordinal()];
+    }
+
+    /**
+     * Returns a snapshot of the tile quantities on the stack, including the tiles that were put back under the stack.
+     * @return the unmodifiable quantity of every tile type that is on the stack. Types without remaining tiles are omitted.
+     */
+    public Map<TileType, Integer> getTileQuantities() {
+        Map<TileType, Integer> snapshot = new EnumMap<>(TileType.class);
+        for (TileType type : TileType.values()) {
+            if (quantities[type.ordinal()] > 0) {
+                snapshot.put(type, quantities[type.ordinal()]);
+            }
+        }
+        return Collections.unmodifiableMap(snapshot);
     }
 
     /**
@@ -83,36 +150,113 @@ public class TileStack {
      * @return true if empty.
      */
     public boolean isEmpty() {
-        return tiles.isEmpty() && returnedTiles.isEmpty();
+        return cursor == 0 && returnCount == 0;
     }
 
     /**
-     * Returns a tile that is not placed under the stack.
+     * Returns a tile that is not placed under the stack. Every tile can only be returned once, a tile that is put back a
+     * second time is discarded instead.
      * @param tile is the tile to put back under the stack.
+     * @return true if the tile was put under the stack, false if it was discarded.
      */
-    public void putBack(Tile tile) {
+    public boolean putBack(Tile tile) {
         if (tile.isPlaced()) {
             throw new IllegalArgumentException("Cannot return a placed tile!");
         }
-        if (returnHistory.add(tile)) { // tiles can only be returned once!
-            returnedTiles.add(tile);
+        int slot = tile.getStackSlot();
+        if (slot < cursor || slot >= tiles.length) { // tiles from other sources get a new slot
+            slot = addSlot();
+            tile.setStackSlot(slot);
+        }
+        if (!returnHistory.get(slot)) { // tiles can only be returned once!
+            returnHistory.set(slot);
+            tiles[slot] = PackedTile.encode(tile.getType(), tile.getRotation());
+            returnQueue[(returnHead + returnCount++) % returnQueue.length] = slot;
+            quantities[tile.getType().ordinal()]++;
+            notifyListeners();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the types of the tiles that are still hidden on the stack, grouped by type. The order of the stack is not
+     * revealed.
+     * @return the tile type ordinals of the tiles on the stack, excluding the returned tiles.
+     */
+    int[] getHiddenTypes() {
+        int[] counts = Arrays.copyOf(quantities, quantities.length);
+        for (int ordinal : getReturnedTypes()) {
+            counts[ordinal]--;
         }
+        int[] hiddenTypes = new int[cursor];
+        int index = 0;
+        for (int ordinal = 0; ordinal < counts.length; ordinal++) {
+            for (int i = 0; i < counts[ordinal]; i++) {
+                hiddenTypes[index++] = ordinal;
+            }
+        }
+        return hiddenTypes;
+    }
+
+    /**
+     * Returns the types of the returned tiles in the order in which they will be drawn. This order is known to all players.
+     * @return the tile type ordinals of the returned tiles.
+     */
+    int[] getReturnedTypes() {
+        int[] returnedTypes = new int[returnCount];
+        for (int i = 0; i < returnCount; i++) {
+            returnedTypes[i] = PackedTile.type(tiles[returnQueue[(returnHead + i) % returnQueue.length]]).ordinal();
+        }
+        return returnedTypes;
+    }
+
+    /**
+     * Registers a listener that is notified whenever the tile quantities of the stack change. The listener is called
+     * directly from the thread that draws or returns the tile, the changes need to be retrieved from the stack.
+     * @param listener is the listener to register.
+     */
+    public void registerChangeListener(Runnable listener) {
+        changeListeners.add(listener);
+    }
+
+    /**
+     * Adds a slot for a tile that was not drawn from this stack, growing the arrays if necessary.
+     */
+    private int addSlot() {
+        int slot = tiles.length;
+        tiles = Arrays.copyOf(tiles, slot + 1);
+        int[] queue = new int[tiles.length]; // the ring buffer holds at most one entry per slot
+        for (int i = 0; i < returnCount; i++) {
+            queue[i] = returnQueue[(returnHead + i) % returnQueue.length];
+        }
+        returnQueue = queue;
+        returnHead = 0;
+        return slot;
+    }
+
+    private int countTiles(TileDistribution distribution) {
+        return TileType.validTiles().stream().mapToInt(it -> distribution.getQuantity(it) * multiplier).sum();
     }
 
     private void fillStack(TileDistribution distribution) {
         for (TileType tileType : TileType.validTiles()) {
             int amount = distribution.getQuantity(tileType) * multiplier;
             for (int i = 0; i < amount; i++) {
-                tiles.add(new Tile(tileType));
+                tiles[cursor++] = PackedTile.encode(tileType, TileRotation.UP);
             }
+            quantities[tileType.ordinal()] += amount;
         }
     }
 
-    private void rotateRandomly() {
-        for (Tile tile : tiles) {
-            for (int i = 0; i < Math.round(Math.random() * 4 - 0.5); i++) {
-                tile.rotateRight(); // Random orientation with equal chance for each orientation.
-            }
+    private void notifyListeners() {
+        changeListeners.forEach(Runnable::run);
+    }
+
+    private void rotateRandomly(SplittableRandom random) {
+        for (int i = 0; i < cursor; i++) {
+            TileRotation rotation = TileRotation.values()[random.nextInt(TileRotation.values().length)]; // equal chance for each
+            tiles[i] = PackedTile.encode(PackedTile.type(tiles[i]), rotation);
         }
     }
 }
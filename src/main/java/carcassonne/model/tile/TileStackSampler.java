@@ -0,0 +1,96 @@
+package carcassonne.model.tile;
+
+import java.util.SplittableRandom;
+
+import carcassonne.util.RandomStreams;
+
+/**
+ * Samples plausible orders of a {@link TileStack} for planning under uncertainty. The order of the hidden tiles is
+ * unknown, but their composition is known from the remaining tile quantities. The returned tiles are always drawn last
+ * and in the order they were returned, as determined by the rules of {@link TileStack#putBack(Tile)}. A sample is a
+ * sequence of tile type ordinals in draw order, thus no tile objects are created or copied. Samples can be written into
+ * a reusable array to avoid any allocation.
+ * @author Timur Saglam
+ */
+public class TileStackSampler {
+    private final int[] hiddenTypes; // hidden tile type ordinals grouped by type
+    private final int[] returnedTypes; // returned tile type ordinals in draw order
+    private final SplittableRandom random;
+
+    /**
+     * Creates a sampler for the current state of a tile stack. Later changes of the stack are not reflected.
+     * @param stack is the tile stack to sample.
+     * @param random is the random stream that determines the samples.
+     */
+    public TileStackSampler(TileStack stack, SplittableRandom random) {
+        hiddenTypes = stack.getHiddenTypes();
+        returnedTypes = stack.getReturnedTypes();
+        this.random = random;
+    }
+
+    /**
+     * Returns the length of every sample, which is the size of the stack.
+     * @return the sample length.
+     */
+    public int getSampleLength() {
+        return hiddenTypes.length + returnedTypes.length;
+    }
+
+    /**
+     * Samples a plausible stack order uniformly at random.
+     * @return the tile type ordinals in draw order.
+     */
+    public int[] sample() {
+        int[] sequence = new int[getSampleLength()];
+        sample(sequence);
+        return sequence;
+    }
+
+    /**
+     * Samples a plausible stack order uniformly at random into an existing array.
+     * @param sequence is the array for the tile type ordinals in draw order, which needs to have at least the sample
+     * length.
+     */
+    public void sample(int[] sequence) {
+        copyTypes(sequence);
+        RandomStreams.shuffle(sequence, hiddenTypes.length, random);
+    }
+
+    /**
+     * Samples a plausible stack order with stratification of the next tile. Over a batch of samples, the type of the next
+     * tile is distributed according to its exact proportion on the stack instead of being drawn independently, which means
+     * rare tile types are covered fairly even in small batches. The remaining tiles are shuffled uniformly.
+     * @param sequence is the array for the tile type ordinals in draw order, which needs to have at least the sample
+     * length.
+     * @param sampleIndex is the index of this sample in the batch, between zero and the batch size (exclusive).
+     * @param batchSize is the number of samples of the batch.
+     */
+    public void sampleStratified(int[] sequence, int sampleIndex, int batchSize) {
+        if (sampleIndex < 0 || sampleIndex >= batchSize) {
+            throw new IllegalArgumentException("Sample index " + sampleIndex + " is not within the batch size " + batchSize);
+        }
+        copyTypes(sequence);
+        int length = hiddenTypes.length;
+        if (length > 1) {
+            double stratum = (sampleIndex + random.nextDouble()) / batchSize; // position within the stratum of this sample
+            swap(sequence, 0, Math.min((int) (stratum * length), length - 1)); // the types are grouped
+            for (int i = length - 1; i > 1; i--) { // shuffle everything after the next tile
+                swap(sequence, i, 1 + random.nextInt(i));
+            }
+        }
+    }
+
+    private void copyTypes(int[] sequence) {
+        if (sequence.length < getSampleLength()) {
+            throw new IllegalArgumentException("Sequence array is shorter than the sample length " + getSampleLength());
+        }
+        System.arraycopy(hiddenTypes, 0, sequence, 0, hiddenTypes.length);
+        System.arraycopy(returnedTypes, 0, sequence, hiddenTypes.length, returnedTypes.length);
+    }
+
+    private static void swap(int[] array, int first, int second) {
+        int element = array[first];
+        array[first] = array[second];
+        array[second] = element;
+    }
+}
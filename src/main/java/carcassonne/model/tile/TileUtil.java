@@ -1,17 +1,16 @@
 package carcassonne.model.tile;
 
-import java.io.InputStream;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.Map;
 
-import carcassonne.settings.GameSettings;
-
 /**
  * Tile utility class. TODO (HIGH) [DESIGN] Maybe move this somewhere else.
  * @author Timur Saglam
  */
 public final class TileUtil {
-    private final static Map<TileType, Integer> rotations = new HashMap<>();
+    private static final int DEFAULT_IMAGE_COUNT = 4; // one image file per rotation
+    private static final Map<TileType, Integer> IMAGE_COUNTS = createImageCounts();
 
     private TileUtil() {
         throw new IllegalStateException(); // private constructor for non-instantiability
@@ -20,28 +19,32 @@ public final class TileUtil {
     /**
      * Determines how often a tile of a specific {@link TileType} can be rotated before it returns to the first rotation.
      * @param type is the specific {@link TileType}.
-     * @return the number of possible rotations (between 1 and 3).
+     * @return the number of possible rotations, which is the number of image files of the type (between 1 and 4).
      */
     public static int rotationLimitFor(TileType type) {
-        return rotations.computeIfAbsent(type, key -> determineRotationLimit(key));
+        return IMAGE_COUNTS.get(type);
     }
 
     /**
-     * Determines rotation limit for a tile type based on the available image resources.
+     * Creates the catalog of image files per tile type, which matches the image resources in the tile folder. Tile types
+     * with fewer images reuse them for multiple rotations. Being a static table, no resources need to be probed when tiles
+     * are created. The table is checked against the resources by the tests.
      */
-    private static int determineRotationLimit(TileType type) {
-        int rotations = 0;
-        for (int rotation = 0; rotation < TileRotation.values().length; rotation++) {
-            String path = GameSettings.TILE_FOLDER_PATH + type.name() + rotation + GameSettings.TILE_FILE_TYPE;
-            InputStream file = TileUtil.class.getClassLoader().getResourceAsStream(path);
-            if (file != null) {
-                rotations++;
-            }
-        }
-        if (rotations == 0) {
-            throw new IllegalStateException(type + " tile needs at least one image file!");
+    private static Map<TileType, Integer> createImageCounts() {
+        Map<TileType, Integer> counts = new EnumMap<>(TileType.class);
+        for (TileType type : TileType.values()) {
+            counts.put(type, DEFAULT_IMAGE_COUNT);
         }
-        return rotations;
+        counts.put(TileType.Null, 2);
+        counts.put(TileType.CastleCenter, 1);
+        counts.put(TileType.CastleSides, 2);
+        counts.put(TileType.CastleSidesQuad, 1);
+        counts.put(TileType.CastleSidesRoad, 2);
+        counts.put(TileType.CastleTubeEntries, 2);
+        counts.put(TileType.Monastery, 2);
+        counts.put(TileType.MonasteryJunction, 1);
+        counts.put(TileType.RoadCrossLarge, 1);
+        counts.put(TileType.RoadJunctionLarge, 1);
+        return Collections.unmodifiableMap(counts);
     }
-
 }
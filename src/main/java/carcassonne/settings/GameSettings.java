@@ -4,15 +4,18 @@ import java.awt.Color;
 import java.awt.EventQueue;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 
 import carcassonne.model.Player;
+import carcassonne.model.ai.AIStrategy;
 import carcassonne.model.terrain.TerrainType;
 import carcassonne.model.tile.TileDistribution;
 import carcassonne.util.MinkowskiDistance;
+import carcassonne.util.RandomStreams;
 import carcassonne.view.NotifiableView;
 import carcassonne.view.PaintShop;
 
@@ -36,6 +39,7 @@ public class GameSettings {
     private static final String PNG = ".png";
     private static final String TEMPLATE = "_template";
     private static final String[] DEFAULT_NAMES = {"ONE", "TWO", "THREE", "FOUR", "FIVE"};
+    private static final int DEFAULT_SEARCH_TIME = 1000; // milliseconds per turn
 
     // COLOR CONSTANTS:
     public static final Color UI_COLOR = new Color(190, 190, 190);
@@ -52,8 +56,14 @@ public class GameSettings {
     private int numberOfPlayers;
     private int stackSizeMultiplier;
     private MinkowskiDistance distanceMeasure;
+    private Long seed; // null if every game uses a new random seed
+    private Long currentSeed; // seed of the current game, null before the first game
     private final TileDistribution tileDistribution;
     private final List<Boolean> playerTypes;
+    private final List<AIStrategy> playerStrategies;
+    private int searchTime;
+    private int searchIterations;
+    private boolean parallelMoveGeneration;
 
     // GAME RULES:
     private boolean allowFortifying;
@@ -73,6 +83,9 @@ public class GameSettings {
         colors = new ArrayList<>(Arrays.asList(DEFAULT_COLORS));
         names = new ArrayList<>(Arrays.asList(DEFAULT_NAMES));
         playerTypes = new ArrayList<>(Arrays.asList(false, true, true, true, true));
+        playerStrategies = new ArrayList<>(Collections.nCopies(MAXIMAL_PLAYERS, AIStrategy.RULE_BASED));
+        searchTime = DEFAULT_SEARCH_TIME;
+        searchIterations = Integer.MAX_VALUE;
         meepleRules = new HashMap<>();
         TerrainType.basicTerrain().forEach(it -> meepleRules.put(it, true));
         tileDistribution = new TileDistribution();
@@ -86,6 +99,17 @@ public class GameSettings {
         changeListeners = new ArrayList<>();
     }
 
+    /**
+     * Creates the random streams for a new game. All random decisions of the game are derived from these streams.
+     * @return the random streams, based on the game seed if one is set or on a new random seed otherwise.
+     * @see GameSettings#setSeed(Long)
+     */
+    public RandomStreams createRandomStreams() {
+        RandomStreams random = seed == null ? RandomStreams.withRandomSeed() : new RandomStreams(seed);
+        currentSeed = random.getSeed();
+        return random;
+    }
+
     /**
      * Returns the distance measure used for AI players.
      * @return the specific Minkowski distance.
@@ -145,6 +169,32 @@ public class GameSettings {
         return names.get(playerNumber);
     }
 
+    /**
+     * Returns the strategy of a specific {@link Player} if the player is computer-controlled.
+     * @param playerNumber is the number of the {@link Player}.
+     * @return the AI strategy.
+     */
+    public AIStrategy getPlayerStrategy(int playerNumber) {
+        return playerStrategies.get(playerNumber);
+    }
+
+    /**
+     * Returns the number of iterations of AI players that search ahead, such as the playouts of the Monte Carlo AI.
+     * @return the number of iterations per turn, {@link Integer#MAX_VALUE} if the search is only limited by time.
+     */
+    public int getSearchIterations() {
+        return searchIterations;
+    }
+
+    /**
+     * Returns the maximal time of AI players that search ahead, such as the Monte Carlo AI. The time is ignored if the
+     * number of iterations is limited.
+     * @return the time per turn in milliseconds.
+     */
+    public int getSearchTime() {
+        return searchTime;
+    }
+
     /**
      * Returns the value for the split points option.
      * @return true if points of a pattern should be split instead of every player getting the score.
@@ -162,6 +212,22 @@ public class GameSettings {
         return stackSizeMultiplier;
     }
 
+    /**
+     * Returns the seed of the current game, which allows to reproduce it with {@link GameSettings#setSeed(Long)}.
+     * @return the seed of the last game that was started, or null if no game was started yet.
+     */
+    public Long getCurrentSeed() {
+        return currentSeed;
+    }
+
+    /**
+     * Getter for the game seed.
+     * @return the seed or null if every game uses a new random seed.
+     */
+    public Long getSeed() {
+        return seed;
+    }
+
     /**
      * Getter for the current tile distribution.
      * @return the tile distribution.
@@ -193,6 +259,15 @@ public class GameSettings {
         return allowFortifying;
     }
 
+    /**
+     * Checks whether AI players that search ahead stop after the search time. Otherwise, they conduct the given number of
+     * iterations regardless of the time, which makes their moves reproducible with the seed of the game.
+     * @return true if no number of iterations is set.
+     */
+    public boolean isSearchLimitedByTime() {
+        return searchIterations == Integer.MAX_VALUE;
+    }
+
     /**
      * Gives information whether the user or the game changed the grid size settings.
      * @return the true if the size was changed.
@@ -201,6 +276,15 @@ public class GameSettings {
         return gridSizeChanged;
     }
 
+    /**
+     * Determines whether the rule-based AI generates its moves on multiple threads. Parallel generation copies the grid
+     * per chunk of columns, which only pays off on large boards with many cores, thus it is disabled by default.
+     * @return true if the moves are generated in parallel.
+     */
+    public boolean isParallelMoveGeneration() {
+        return parallelMoveGeneration;
+    }
+
     /**
      * Checks if a player with a certain number is set to be computer-controlled.
      * @param playerNumber is the number of the player.
@@ -276,6 +360,15 @@ public class GameSettings {
         this.numberOfPlayers = numberOfPlayers;
     }
 
+    /**
+     * Changes whether the rule-based AI generates its moves on multiple threads. The generated moves are the same either
+     * way.
+     * @param parallelMoveGeneration enables or disables the parallel move generation.
+     */
+    public void setParallelMoveGeneration(boolean parallelMoveGeneration) {
+        this.parallelMoveGeneration = parallelMoveGeneration;
+    }
+
     /**
      * Changes the {@link PlayerColor} of a specific {@link Player}.
      * @param color is the new base {@link Color}.
@@ -305,6 +398,37 @@ public class GameSettings {
         notifyListeners();
     }
 
+    /**
+     * Changes the strategy of a specific {@link Player} if the player is computer-controlled.
+     * @param strategy is the new AI strategy.
+     * @param playerNumber is the number of the {@link Player}.
+     */
+    public void setPlayerStrategy(AIStrategy strategy, int playerNumber) {
+        playerStrategies.set(playerNumber, strategy);
+    }
+
+    /**
+     * Sets the number of iterations of AI players that search ahead, which replaces the time limit of the search.
+     * @param searchIterations is the number of iterations per turn, {@link Integer#MAX_VALUE} to only limit the time.
+     */
+    public void setSearchIterations(int searchIterations) {
+        if (searchIterations < 1) {
+            throw new IllegalArgumentException("Search needs at least one iteration: " + searchIterations);
+        }
+        this.searchIterations = searchIterations;
+    }
+
+    /**
+     * Sets the maximal time of AI players that search ahead.
+     * @param searchTime is the time per turn in milliseconds.
+     */
+    public void setSearchTime(int searchTime) {
+        if (searchTime < 1) {
+            throw new IllegalArgumentException("Search needs at least one millisecond: " + searchTime);
+        }
+        this.searchTime = searchTime;
+    }
+
     /**
      * Sets the value for the split points option.
      * @param splitPatternScore determines if points of a pattern should be split instead of every player getting the score.
@@ -322,6 +446,14 @@ public class GameSettings {
         this.stackSizeMultiplier = stackSizeMultiplier;
     }
 
+    /**
+     * Sets the game seed, which allows to reproduce games including the decisions of AI players.
+     * @param seed is the seed for all following games, or null if every game should use a new random seed.
+     */
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+
     /**
      * Changes how many tiles each player can hold on his hand.
      * @param tilesPerPlayer is the new amount of tiles per player.
@@ -0,0 +1,106 @@
+package carcassonne.util;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Independent streams of pseudo-random numbers for all random decisions of a single game. All streams are derived from
+ * one seed, which means a game including the decisions of the AI players can be reproduced from its seed. As every
+ * purpose uses its own stream, the decisions of one purpose do not influence the random numbers of another purpose. The
+ * streams are not thread-safe, parallel computations need to split their own streams.
+ * @author Timur Saglam
+ */
+public class RandomStreams {
+    private final long seed;
+    private final SplittableRandom shuffling;
+    private final SplittableRandom rotation;
+    private final SplittableRandom tieBreaking;
+    private final SplittableRandom tileDropping;
+    private final SplittableRandom search;
+
+    /**
+     * Derives the random streams from a seed.
+     * @param seed is the seed of the game.
+     */
+    public RandomStreams(long seed) {
+        this.seed = seed;
+        SplittableRandom root = new SplittableRandom(seed);
+        shuffling = root.split(); // the order of the splits must never change to keep games reproducible
+        rotation = root.split();
+        tieBreaking = root.split();
+        tileDropping = root.split();
+        search = root.split();
+    }
+
+    /**
+     * Derives the random streams from a new random seed.
+     * @return the random streams.
+     */
+    public static RandomStreams withRandomSeed() {
+        return new RandomStreams(new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Shuffles an array with the Fisher-Yates algorithm, equivalent to {@link Collections#shuffle(List)}.
+     * @param array is the array to shuffle.
+     * @param length is the number of elements to shuffle, starting with the first element.
+     * @param random is the random stream that determines the permutation.
+     */
+    public static void shuffle(int[] array, int length, SplittableRandom random) {
+        for (int i = length - 1; i > 0; i--) {
+            int other = random.nextInt(i + 1);
+            int element = array[i];
+            array[i] = array[other];
+            array[other] = element;
+        }
+    }
+
+    /**
+     * Returns the stream for the initial rotation of the tiles.
+     * @return the random stream.
+     */
+    public SplittableRandom forRotation() {
+        return rotation;
+    }
+
+    /**
+     * Returns the stream for the random decisions of AI players that search ahead, such as the simulated tile draws.
+     * @return the random stream.
+     */
+    public SplittableRandom forSearch() {
+        return search;
+    }
+
+    /**
+     * Returns the stream for the order of the tile stack.
+     * @return the random stream.
+     */
+    public SplittableRandom forShuffling() {
+        return shuffling;
+    }
+
+    /**
+     * Returns the stream for the choice between equally good AI moves.
+     * @return the random stream.
+     */
+    public SplittableRandom forTieBreaking() {
+        return tieBreaking;
+    }
+
+    /**
+     * Returns the stream for the choice of the tile an AI player drops when it skips a turn.
+     * @return the random stream.
+     */
+    public SplittableRandom forTileDropping() {
+        return tileDropping;
+    }
+
+    /**
+     * Returns the seed from which the streams are derived.
+     * @return the seed, which allows to reproduce the game.
+     */
+    public long getSeed() {
+        return seed;
+    }
+}
@@ -5,6 +5,7 @@ import static carcassonne.view.main.ZoomMode.SMOOTH;
 
 import java.awt.BorderLayout;
 import java.awt.Dimension;
+import java.util.Collection;
 
 import javax.swing.ActionMap;
 import javax.swing.ImageIcon;
@@ -16,6 +17,7 @@ import javax.swing.WindowConstants;
 import carcassonne.control.ControllerFacade;
 import carcassonne.model.Player;
 import carcassonne.model.grid.GridDirection;
+import carcassonne.model.grid.GridSpot;
 import carcassonne.model.tile.Tile;
 import carcassonne.view.GlobalKeyBindingManager;
 import carcassonne.view.NotifiableView;
@@ -243,6 +245,23 @@ public class MainView extends JFrame implements NotifiableView {
         scrollPane.repaintLayers();
     }
 
+    /**
+     * Shows the hints where the selected tile of a human player can be placed. Replaces the previous hints.
+     * @param spots are the spots where the selected tile can be placed in its current rotation.
+     */
+    public void setPlacementHints(Collection<GridSpot> spots) {
+        tileLayer.showPlacementHints(spots);
+        scrollPane.repaintLayers();
+    }
+
+    /**
+     * Removes the hints where the selected tile can be placed.
+     */
+    public void resetPlacementHints() {
+        tileLayer.resetPlacementHints();
+        scrollPane.repaintLayers();
+    }
+
     /**
      * Highlights a position on the grid to indicate that an AI player recently placed the tile.
      * @param x is the x coordinate.
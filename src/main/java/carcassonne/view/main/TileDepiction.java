@@ -25,6 +25,7 @@ public class TileDepiction {
     private ImageIcon coloredHighlight;
     private int tileSize;
     private Player recentlyPlaced;
+    private boolean placementHint;
 
     /**
      * Simple constructor calling the <codeJLabel>JLabel(ImageIcon image)</code> constructor.
@@ -74,7 +75,9 @@ public class TileDepiction {
      */
     public final void setTile(Tile tile) {
         this.tile = tile;
-        if (recentlyPlaced == null) {
+        if (isShowingPlacementHint()) {
+            label.setIcon(coloredHighlight);
+        } else if (recentlyPlaced == null) {
             label.setIcon(tile.getScaledIcon(tileSize));
         } else {
             label.setIcon(PaintShop.getColoredTile(tile, recentlyPlaced, tileSize, false));
@@ -88,7 +91,9 @@ public class TileDepiction {
      */
     public void setTileSize(int tileSize, boolean preview) {
         this.tileSize = tileSize;
-        if (recentlyPlaced == null) {
+        if (isShowingPlacementHint()) {
+            label.setIcon(coloredHighlight); // is scaled when the highlight is refreshed
+        } else if (recentlyPlaced == null) {
             label.setIcon(tile.getScaledIcon(tileSize, preview));
         } else {
             label.setIcon(PaintShop.getColoredTile(tile, recentlyPlaced, tileSize, preview));
@@ -101,6 +106,19 @@ public class TileDepiction {
      */
     public void setColoredHighlight(ImageIcon coloredHighlight) {
         this.coloredHighlight = coloredHighlight;
+        if (isShowingPlacementHint()) {
+            label.setIcon(coloredHighlight);
+        }
+    }
+
+    /**
+     * Enables or disables the hint that the selected tile can be placed here. The hint shows the colored highlight as long
+     * as the spot is highlighted as a possible placement spot.
+     * @param placementHint determines if the hint is shown.
+     */
+    public void setPlacementHint(boolean placementHint) {
+        this.placementHint = placementHint;
+        setTile(tile);
     }
 
     /**
@@ -144,6 +162,10 @@ public class TileDepiction {
         }
     }
 
+    private boolean isShowingPlacementHint() {
+        return placementHint && coloredHighlight != null && highlightTile.equals(tile);
+    }
+
     /**
      * Grants access to the {@link JLabel} of this label.
      * @return the tile {@link JLabel}.
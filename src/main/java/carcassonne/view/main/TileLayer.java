@@ -3,6 +3,7 @@ package carcassonne.view.main;
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 import javax.swing.ImageIcon;
@@ -10,6 +11,7 @@ import javax.swing.JPanel;
 
 import carcassonne.control.ControllerFacade;
 import carcassonne.model.Player;
+import carcassonne.model.grid.GridSpot;
 import carcassonne.model.tile.Tile;
 import carcassonne.model.tile.TileType;
 import carcassonne.settings.GameSettings;
@@ -21,6 +23,7 @@ import carcassonne.settings.GameSettings;
 public class TileLayer extends JPanel {
     private static final long serialVersionUID = 1503933201337556131L;
     private final List<TileDepiction> placementHighlights;
+    private final List<TileDepiction> placementHints;
     private List<TileDepiction> tileLabels;
     private TileDepiction[][] tileDepictionGrid;
 
@@ -37,6 +40,7 @@ public class TileLayer extends JPanel {
         GridBagConstraints constraints = new GridBagConstraints();
         tileLabels = new ArrayList<>();
         placementHighlights = new ArrayList<>();
+        placementHints = new ArrayList<>();
         tileDepictionGrid = new TileDepiction[gridWidth][gridHeight]; // build array of labels.
         Tile defaultTile = new Tile(TileType.Null);
         Tile highlightTile = new Tile(TileType.Null);
@@ -107,6 +111,26 @@ public class TileLayer extends JPanel {
         placementHighlights.forEach(it -> it.refresh());
     }
 
+    /**
+     * Shows the hints where the selected tile can be placed, replacing the previous hints.
+     * @param spots are the spots where the selected tile can be placed.
+     */
+    public void showPlacementHints(Collection<GridSpot> spots) {
+        resetPlacementHints();
+        for (GridSpot spot : spots) {
+            placementHints.add(tileDepictionGrid[spot.getX()][spot.getY()]);
+            tileDepictionGrid[spot.getX()][spot.getY()].setPlacementHint(true);
+        }
+    }
+
+    /**
+     * Removes all hints where the selected tile can be placed.
+     */
+    public void resetPlacementHints() {
+        placementHints.forEach(it -> it.setPlacementHint(false));
+        placementHints.clear();
+    }
+
     public void resetPlacementHighlights() {
         placementHighlights.forEach(it -> it.resetPlacementHighlight());
         placementHighlights.clear();
@@ -116,6 +140,7 @@ public class TileLayer extends JPanel {
      * Resets every tile label in this layer.
      */
     public void resetLayer() {
+        resetPlacementHints();
         tileLabels.stream().forEach(it -> it.reset());
     }
 }
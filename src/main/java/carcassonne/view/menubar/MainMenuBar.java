@@ -10,6 +10,8 @@ import carcassonne.settings.GameSettings;
 import carcassonne.view.main.MainView;
 import carcassonne.view.tertiary.GridSizeDialog;
 import carcassonne.view.tertiary.PlayerSettingsView;
+import carcassonne.view.tertiary.SearchBudgetDialog;
+import carcassonne.view.tertiary.SeedDialog;
 import carcassonne.view.tertiary.TileDistributionView;
 import carcassonne.view.util.GameMessage;
 
@@ -24,6 +26,8 @@ public class MainMenuBar extends JMenuBar {
     // TEXT:
     private static final String DISTRIBUTION = "Change Tile Distribution";
     private static final String GRID_SIZE = "Change Grid Size";
+    private static final String SEED = "Game Seed";
+    private static final String SEARCH_BUDGET = "AI Search Budget";
     private static final String ABORT = "Abort Current Game";
     private static final String GAME = "Game";
     private static final String LARGE_SPACE = "          ";
@@ -116,6 +120,10 @@ public class MainMenuBar extends JMenuBar {
         JMenuItem itemPlayerSettings = new JMenuItem(PLAYER_SETTINGS);
         itemPlayerSettings.addActionListener(it -> playerView.setVisible(true));
         menuOptions.add(itemPlayerSettings);
+        JMenuItem itemSearchBudget = new JMenuItem(SEARCH_BUDGET);
+        SearchBudgetDialog searchBudgetDialog = new SearchBudgetDialog(settings);
+        itemSearchBudget.addActionListener(event -> searchBudgetDialog.showDialog());
+        menuOptions.add(itemSearchBudget);
         menuOptions.addSeparator();
         JMenuItem itemGridSize = new JMenuItem(GRID_SIZE);
         GridSizeDialog dialog = new GridSizeDialog(settings);
@@ -124,6 +132,10 @@ public class MainMenuBar extends JMenuBar {
         JMenuItem itemDistribution = new JMenuItem(DISTRIBUTION);
         itemDistribution.addActionListener(event -> tileDistributionUI.setVisible(true));
         menuOptions.add(itemDistribution);
+        JMenuItem itemSeed = new JMenuItem(SEED);
+        SeedDialog seedDialog = new SeedDialog(settings);
+        itemSeed.addActionListener(event -> seedDialog.showDialog());
+        menuOptions.add(itemSeed);
         add(menuOptions);
     }
 
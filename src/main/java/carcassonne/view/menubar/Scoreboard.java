@@ -5,10 +5,12 @@ import java.awt.event.ActionListener;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import javax.swing.JLabel;
 
 import carcassonne.model.Player;
+import carcassonne.model.tile.TileType;
 import carcassonne.settings.GameSettings;
 import carcassonne.view.NotifiableView;
 import carcassonne.view.main.MainView;
@@ -20,6 +22,9 @@ import carcassonne.view.main.MainView;
 public class Scoreboard implements NotifiableView {
     private static final String FONT_TYPE = "Helvetica";
     private static final String TOOL_TIP = "Settings for player ";
+    private static final String REMAINING_TILES = "<html>Remaining tiles on the stack:";
+    private static final String LINE_BREAK = "<br/>";
+    private static final String TIMES = "x ";
     private final JLabel[] scoreLabels;
     private final JLabel stackSizeLabel;
     private final List<JLabel> allLabels;
@@ -89,11 +94,17 @@ public class Scoreboard implements NotifiableView {
     }
 
     /**
-     * Updates the stack size label.
+     * Updates the stack size label and its tool tip, which shows how many tiles of each type are left.
      * @param stackSize is the updated size of the stack.
+     * @param quantities are the remaining quantities of the tile types on the stack.
      */
-    public void updateStackSize(int stackSize) {
+    public void updateStackSize(int stackSize, Map<TileType, Integer> quantities) {
         stackSizeLabel.setText("   [Stack Size: " + stackSize + "]");
+        StringBuilder toolTip = new StringBuilder(REMAINING_TILES);
+        for (Map.Entry<TileType, Integer> entry : quantities.entrySet()) {
+            toolTip.append(LINE_BREAK).append(entry.getValue()).append(TIMES).append(entry.getKey().readableRepresentation());
+        }
+        stackSizeLabel.setToolTipText(toolTip.toString());
     }
 
     /**
@@ -2,7 +2,10 @@ package carcassonne.view.secondary;
 
 import java.awt.GridBagConstraints;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.swing.BorderFactory;
 import javax.swing.Box;
@@ -13,7 +16,10 @@ import javax.swing.border.Border;
 
 import carcassonne.control.ControllerFacade;
 import carcassonne.model.Player;
+import carcassonne.model.grid.Grid;
+import carcassonne.model.grid.GridSpot;
 import carcassonne.model.tile.Tile;
+import carcassonne.model.tile.TileRotation;
 import carcassonne.model.tile.TileType;
 import carcassonne.settings.GameSettings;
 import carcassonne.util.ImageLoadingUtil;
@@ -41,6 +47,8 @@ public class TileView extends SecondaryView {
     private List<JLabel> tileLabels;
     private List<Tile> tiles;
     private int selectionIndex;
+    private final MainView mainView;
+    private List<Map<TileRotation, List<GridSpot>>> legalSpots; // placement hints by tile index and rotation
 
     /**
      * Simple constructor which uses the constructor of the <code>Smallview</code>.
@@ -49,6 +57,8 @@ public class TileView extends SecondaryView {
      */
     public TileView(ControllerFacade controller, MainView ui) {
         super(controller, ui);
+        mainView = ui;
+        legalSpots = Collections.emptyList();
         buildContent();
         pack();
         selectionSize = dialogPanel.getWidth() - VERTICAL_SPACE;
@@ -73,6 +83,7 @@ public class TileView extends SecondaryView {
         if (isVisible() && selectionIndex < tiles.size()) {
             tiles.get(selectionIndex).rotateLeft();
             updateTileLabel(selectionIndex);
+            updatePlacementHints();
         }
     }
 
@@ -83,6 +94,7 @@ public class TileView extends SecondaryView {
         if (isVisible() && selectionIndex < tiles.size()) {
             tiles.get(selectionIndex).rotateRight();
             updateTileLabel(selectionIndex);
+            updatePlacementHints();
         }
     }
 
@@ -107,15 +119,36 @@ public class TileView extends SecondaryView {
 
     /**
      * Sets the tiles of the view to the tiles of the current player, updates the view and then makes it visible. Should be
-     * called to show the view.
+     * called to show the view. The legal spots of the tiles in all rotations are computed in the background, which allows
+     * showing placement hints without any delay when a tile is selected or rotated.
      * @param currentPlayer is the active player.
+     * @param grid is the grid on which the tiles are placed.
      */
-    public void setTiles(Player currentPlayer) {
+    public void setTiles(Player currentPlayer, Grid grid) {
         tiles.clear();
+        legalSpots = Collections.emptyList();
+        mainView.resetPlacementHints();
         if (!currentPlayer.getHandOfTiles().isEmpty()) {
             tiles.addAll(currentPlayer.getHandOfTiles());
             setCurrentPlayer(currentPlayer);
             ThreadingUtil.runAndCallback(() -> updatePreviewLabels(), () -> showUI());
+            List<Tile> hand = new ArrayList<>(tiles);
+            ThreadingUtil.runAndCallback(() -> computeLegalSpots(hand, grid), result -> {
+                if (hand.equals(tiles)) { // the hand did not change in the meantime
+                    legalSpots = result;
+                    updatePlacementHints();
+                }
+            });
+        }
+    }
+
+    @Override
+    public void setVisible(boolean visible) {
+        super.setVisible(visible);
+        if (visible) {
+            updatePlacementHints();
+        } else {
+            mainView.resetPlacementHints();
         }
     }
 
@@ -137,6 +170,7 @@ public class TileView extends SecondaryView {
             selectionIndex = index;
             updateTileLabel(index);
             updateTileLabel(oldSelection);
+            updatePlacementHints();
         }
     }
 
@@ -203,6 +237,26 @@ public class TileView extends SecondaryView {
         pack();
     }
 
+    // Computes the legal spots of every tile in every rotation, which only reads the grid.
+    private static List<Map<TileRotation, List<GridSpot>>> computeLegalSpots(List<Tile> hand, Grid grid) {
+        List<Map<TileRotation, List<GridSpot>>> result = new ArrayList<>();
+        for (Tile tile : hand) {
+            Map<TileRotation, List<GridSpot>> spotsByRotation = new EnumMap<>(TileRotation.class);
+            for (TileRotation rotation : TileRotation.values()) {
+                spotsByRotation.put(rotation, grid.getLegalSpots(tile.getType(), rotation));
+            }
+            result.add(spotsByRotation);
+        }
+        return result;
+    }
+
+    // Shows the cached legal spots of the selected tile in its current rotation, if they are already computed.
+    private void updatePlacementHints() {
+        if (selectionIndex < legalSpots.size() && isVisible()) {
+            mainView.setPlacementHints(legalSpots.get(selectionIndex).get(tiles.get(selectionIndex).getRotation()));
+        }
+    }
+
     // Creates the selection border. The color is always up to date.
     private Border createSelectionBorder() {
         return BorderFactory.createLineBorder(currentPlayer.getColor().textColor(), SELECTION_BORDER_WIDTH);
@@ -13,12 +13,14 @@ import javax.swing.BoxLayout;
 import javax.swing.ButtonGroup;
 import javax.swing.JButton;
 import javax.swing.JCheckBox;
+import javax.swing.JComboBox;
 import javax.swing.JComponent;
 import javax.swing.JDialog;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JRadioButton;
 
+import carcassonne.model.ai.AIStrategy;
 import carcassonne.model.terrain.TerrainType;
 import carcassonne.model.tile.TileDistribution;
 import carcassonne.settings.GameSettings;
@@ -29,8 +31,8 @@ import carcassonne.view.util.FixedSizeLabel;
 import carcassonne.view.util.MouseClickListener;
 
 /**
- * All-in-one settings UI for the player settings. This includes the player name, the player type and the number of
- * players.
+ * All-in-one settings UI for the player settings. This includes the player name, the player type, the AI strategy and
+ * the number of players.
  * @author Timur Saglam
  */
 public class PlayerSettingsView extends JDialog implements NotifiableView {
@@ -42,7 +44,7 @@ public class PlayerSettingsView extends JDialog implements NotifiableView {
     private static final int PADDING = 5;
     private static final int PLAYER_LABEL_WIDTH = 75;
     private static final int PLAYER_LABEL_POSITION = 1;
-    private static final int BUTTON_VERTICAL_STRUT = 200;
+    private static final int BUTTON_VERTICAL_STRUT = 75;
     private static final int CLOSE_BUTTON_WIDTH = 125;
 
     // TEXT:
@@ -62,6 +64,7 @@ public class PlayerSettingsView extends JDialog implements NotifiableView {
     private static final String CLASSIC = " Tile (Classic)";
     private static final String CUSTOMIZE = "Customize";
     private static final String AI_PLAYER = "AI player";
+    private static final String STRATEGY_TOOL_TIP = "Strategy of the AI player, searching strategies use the whole search time per turn.";
     private static final String PLAYERS = "Players:";
     private static final String CLOSE = "Close";
     private static final String TITLE = "Player Settings";
@@ -287,6 +290,13 @@ public class PlayerSettingsView extends JDialog implements NotifiableView {
         checkBox.setSelected(settings.isPlayerComputerControlled(playerNumber));
         checkBox.addActionListener(event -> settings.setPlayerComputerControlled(checkBox.isSelected(), playerNumber));
         panel.add(checkBox);
+        JComboBox<AIStrategy> strategySelection = new JComboBox<>(AIStrategy.values());
+        strategySelection.setToolTipText(STRATEGY_TOOL_TIP);
+        strategySelection.setSelectedItem(settings.getPlayerStrategy(playerNumber));
+        strategySelection.setEnabled(checkBox.isSelected());
+        strategySelection.addActionListener(event -> settings.setPlayerStrategy((AIStrategy) strategySelection.getSelectedItem(), playerNumber));
+        checkBox.addActionListener(event -> strategySelection.setEnabled(checkBox.isSelected()));
+        panel.add(strategySelection);
         panel.add(Box.createHorizontalStrut(BUTTON_VERTICAL_STRUT));
         JButton configurationButton = new JButton(CUSTOMIZE);
         configurationButton.addActionListener(scoreboard.getSettingsListener(playerNumber));
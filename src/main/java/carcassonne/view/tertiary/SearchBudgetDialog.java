@@ -0,0 +1,81 @@
+package carcassonne.view.tertiary;
+
+import java.awt.BorderLayout;
+
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JTextField;
+
+import carcassonne.settings.GameSettings;
+import carcassonne.view.util.GameMessage;
+
+/**
+ * Custom dialog for changing the search budget of the AI players that search ahead, such as the Monte Carlo AI. The
+ * search either stops after the given time or conducts the given number of iterations, which makes it reproducible.
+ * @author Timur Saglam
+ */
+public class SearchBudgetDialog extends JPanel {
+
+    private static final long serialVersionUID = 4092658271403915737L;
+    private static final String TITLE = "Carcassonne";
+    private static final String MESSAGE = "<html>Changes to the search budget affect the next turn of AI players that search ahead."
+            + "<br/>Iterations replace the time limit and make the moves reproducible. Leave them empty to limit the time.</html>";
+    private static final String TIME = "Time per turn (ms):";
+    private static final String ITERATIONS = "Iterations per turn:";
+    private static final String NOT_CORRECT = " is not a valid search budget!";
+    private static final String SLASH = " / ";
+    private static final int GAP = 5;
+    private static final int TEXT_FIELD_COLUMNS = 8;
+    private final GameSettings settings;
+    private final JTextField timeInput;
+    private final JTextField iterationsInput;
+
+    /**
+     * Creates a dialog to change the search budget.
+     * @param settings are the {@link GameSettings} that will receive the new search budget.
+     */
+    public SearchBudgetDialog(GameSettings settings) {
+        this.settings = settings;
+        timeInput = new JTextField(TEXT_FIELD_COLUMNS);
+        iterationsInput = new JTextField(TEXT_FIELD_COLUMNS);
+        setLayout(new BorderLayout(GAP, GAP));
+        add(new JLabel(MESSAGE), BorderLayout.NORTH);
+        JPanel subPanel = new JPanel();
+        subPanel.add(new JLabel(TIME));
+        subPanel.add(timeInput);
+        subPanel.add(new JLabel(ITERATIONS));
+        subPanel.add(iterationsInput);
+        add(subPanel, BorderLayout.CENTER);
+    }
+
+    /**
+     * Shows the search budget dialog and waits for the user input which is then sent to the game settings.
+     */
+    public void showDialog() {
+        timeInput.setText(Integer.toString(settings.getSearchTime()));
+        int iterations = settings.getSearchIterations();
+        iterationsInput.setText(iterations == Integer.MAX_VALUE ? "" : Integer.toString(iterations));
+        int result = JOptionPane.showConfirmDialog(null, this, TITLE, JOptionPane.OK_CANCEL_OPTION, JOptionPane.DEFAULT_OPTION,
+                GameMessage.getGameIcon());
+        if (result == JOptionPane.OK_OPTION) {
+            processUserInput();
+        }
+    }
+
+    /**
+     * Parses the text input to a valid search budget and sends it to the settings. Empty iterations remove the limit.
+     */
+    private void processUserInput() {
+        String time = timeInput.getText().trim();
+        String iterations = iterationsInput.getText().trim();
+        try {
+            int searchTime = Integer.parseInt(time);
+            int searchIterations = iterations.isEmpty() ? Integer.MAX_VALUE : Integer.parseInt(iterations);
+            settings.setSearchTime(searchTime);
+            settings.setSearchIterations(searchIterations);
+        } catch (IllegalArgumentException exception) { // includes number format exceptions
+            GameMessage.showWarning(time + SLASH + iterations + NOT_CORRECT);
+        }
+    }
+}
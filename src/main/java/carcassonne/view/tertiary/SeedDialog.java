@@ -0,0 +1,76 @@
+package carcassonne.view.tertiary;
+
+import java.awt.BorderLayout;
+
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JTextField;
+
+import carcassonne.settings.GameSettings;
+import carcassonne.view.util.GameMessage;
+
+/**
+ * Custom dialog for showing the seed of the current game and changing the seed of the following games. Games with the
+ * same seed and settings are reproduced exactly, including the decisions of AI players.
+ * @author Timur Saglam
+ */
+public class SeedDialog extends JPanel {
+
+    private static final long serialVersionUID = -2381925618237449217L;
+    private static final String TITLE = "Carcassonne";
+    private static final String CURRENT_SEED = "Seed of the current game: ";
+    private static final String NO_GAME = "no game started yet";
+    private static final String MESSAGE = "<html>Changes to the seed will affect the next game. Games with the same seed and settings are identical."
+            + "<br/>Leave the seed empty to play a new random game every time.</html>";
+    private static final String SEED = "Seed:";
+    private static final String NOT_CORRECT = " is not a valid seed!";
+    private static final int GAP = 5;
+    private static final int TEXT_FIELD_COLUMNS = 20;
+    private final GameSettings settings;
+    private final JTextField seedInput;
+    private final JLabel currentSeed;
+
+    /**
+     * Creates a dialog to show and change the game seed.
+     * @param settings are the {@link GameSettings} that provide the current seed and receive the new seed.
+     */
+    public SeedDialog(GameSettings settings) {
+        this.settings = settings;
+        currentSeed = new JLabel();
+        seedInput = new JTextField(TEXT_FIELD_COLUMNS);
+        setLayout(new BorderLayout(GAP, GAP));
+        add(new JLabel(MESSAGE), BorderLayout.NORTH);
+        add(currentSeed, BorderLayout.CENTER);
+        JPanel subPanel = new JPanel();
+        subPanel.add(new JLabel(SEED));
+        subPanel.add(seedInput);
+        add(subPanel, BorderLayout.SOUTH);
+    }
+
+    /**
+     * Shows the seed dialog and waits for the user input which is then sent to the game settings.
+     */
+    public void showDialog() {
+        Long seed = settings.getCurrentSeed();
+        currentSeed.setText(CURRENT_SEED + (seed == null ? NO_GAME : seed));
+        seedInput.setText(settings.getSeed() == null ? "" : Long.toString(settings.getSeed()));
+        int result = JOptionPane.showConfirmDialog(null, this, TITLE, JOptionPane.OK_CANCEL_OPTION, JOptionPane.DEFAULT_OPTION,
+                GameMessage.getGameIcon());
+        if (result == JOptionPane.OK_OPTION) {
+            processUserInput();
+        }
+    }
+
+    /**
+     * Parses the text input to a valid seed and sends it to the settings. An empty input removes the seed.
+     */
+    private void processUserInput() {
+        String input = seedInput.getText().trim();
+        try {
+            settings.setSeed(input.isEmpty() ? null : Long.parseLong(input));
+        } catch (NumberFormatException exception) {
+            GameMessage.showWarning(input + NOT_CORRECT);
+        }
+    }
+}
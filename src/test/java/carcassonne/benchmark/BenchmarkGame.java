@@ -0,0 +1,152 @@
+package carcassonne.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import carcassonne.model.Player;
+import carcassonne.model.Round;
+import carcassonne.model.ai.MoveList;
+import carcassonne.model.ai.ZeroSumEvaluator;
+import carcassonne.model.ai.ZeroSumMove;
+import carcassonne.model.grid.Grid;
+import carcassonne.model.grid.GridPattern;
+import carcassonne.model.tile.Tile;
+import carcassonne.model.tile.TileStack;
+import carcassonne.settings.GameSettings;
+import carcassonne.util.RandomStreams;
+
+/**
+ * Seeded two-player game for benchmarks, which is advanced with greedy moves to reach mid-game and late-game boards. The
+ * same seed always leads to the same boards.
+ * @author Timur Saglam
+ */
+public class BenchmarkGame {
+    private static final int PLAYERS = 2;
+    private final GameSettings settings;
+    private final Grid grid;
+    private final TileStack stack;
+    private final Round round;
+    private int turn;
+
+    /**
+     * Creates the game with the default settings.
+     * @param seed is the seed of the game.
+     */
+    public BenchmarkGame(long seed) {
+        this(new GameSettings(), seed);
+    }
+
+    /**
+     * Creates the game with specific settings.
+     * @param settings are the game settings, which can be changed for the benchmark afterwards.
+     * @param seed is the seed of the game.
+     */
+    public BenchmarkGame(GameSettings settings, long seed) {
+        this.settings = settings;
+        grid = new Grid(settings.getGridWidth(), settings.getGridHeight(), settings.isAllowingEnclaves());
+        stack = new TileStack(settings.getTileDistribution(), settings.getStackSizeMultiplier(), new RandomStreams(seed));
+        grid.setRemainingTiles(stack.getTileQuantities());
+        round = new Round(PLAYERS, stack, grid, settings);
+    }
+
+    /**
+     * Plays greedy moves until a specific turn is reached or the stack is empty.
+     * @param targetTurn is the turn to reach.
+     * @return the reached turn.
+     */
+    public int advanceTo(int targetTurn) {
+        while (turn < targetTurn && !stack.isEmpty()) {
+            playGreedyMove();
+            turn++;
+        }
+        return turn;
+    }
+
+    /**
+     * Returns the player whose turn it is, with a full hand of tiles.
+     * @return the active player.
+     */
+    public Player getActivePlayer() {
+        Player player = round.getActivePlayer();
+        fillHand(player);
+        return player;
+    }
+
+    /**
+     * Grants access to the grid of the game.
+     * @return the grid.
+     */
+    public Grid getGrid() {
+        return grid;
+    }
+
+    /**
+     * Grants access to the round of the game, which contains the players.
+     * @return the round.
+     */
+    public Round getRound() {
+        return round;
+    }
+
+    /**
+     * Grants access to the settings of the game.
+     * @return the game settings.
+     */
+    public GameSettings getSettings() {
+        return settings;
+    }
+
+    /**
+     * Grants access to the tile stack of the game.
+     * @return the tile stack.
+     */
+    public TileStack getStack() {
+        return stack;
+    }
+
+    private void fillHand(Player player) {
+        while (!player.hasFullHand() && !stack.isEmpty()) {
+            player.addTile(stack.drawTile());
+        }
+    }
+
+    /**
+     * Plays the move with the highest evaluation, or returns the first tile if no tile can be placed.
+     */
+    private void playGreedyMove() {
+        Player player = getActivePlayer();
+        List<Tile> hand = new ArrayList<>(player.getHandOfTiles());
+        MoveList moves = new MoveList();
+        grid.generatePossibleMoves(hand, player, settings, moves);
+        if (moves.size() == 0) {
+            Tile tile = hand.get(0);
+            if (!stack.putBack(tile)) {
+                grid.discard(tile);
+            }
+            player.dropTile(tile);
+        } else {
+            ZeroSumEvaluator evaluator = new ZeroSumEvaluator(grid, hand, player, settings);
+            int best = 0;
+            for (int index = 0; index < moves.size(); index++) {
+                evaluator.evaluate(moves, index);
+                if (moves.getValue(index) > moves.getValue(best)) {
+                    best = index;
+                }
+            }
+            ZeroSumMove move = moves.createMove(best, hand, grid, player, settings);
+            Tile tile = move.getOriginalTile();
+            tile.rotateTo(move.getRequiredTileRotation());
+            grid.place(move.getX(), move.getY(), tile);
+            player.dropTile(tile);
+            if (move.involvesMeeplePlacement() && player.hasFreeMeeples()) {
+                tile.placeMeeple(player, move.getMeeplePosition(), settings);
+            }
+            for (GridPattern pattern : grid.getModifiedPatterns(tile.getGridSpot())) {
+                if (pattern.isComplete()) {
+                    pattern.disburse(settings.getSplitPatternScore());
+                }
+            }
+        }
+        round.nextTurn();
+    }
+}
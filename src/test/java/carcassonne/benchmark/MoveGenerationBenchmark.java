@@ -0,0 +1,118 @@
+package carcassonne.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import carcassonne.model.Player;
+import carcassonne.model.ai.MoveList;
+import carcassonne.model.ai.PackedMove;
+import carcassonne.model.ai.ZeroSumEvaluator;
+import carcassonne.model.grid.Grid;
+import carcassonne.model.grid.ParallelMoveGenerator;
+import carcassonne.model.tile.Tile;
+import carcassonne.settings.GameSettings;
+
+/**
+ * Compares the sequential move generation of the {@link Grid} with the {@link ParallelMoveGenerator} on mid-game and
+ * late-game boards. Both generate the moves of a full hand and evaluate the moves without meeple placement, which is
+ * the work that the parallel generator distributes. The results are checked to be identical, and the average time per
+ * generation is printed for the sequential generation and for pools of one to the given number of threads.
+ * @author Timur Saglam
+ */
+public final class MoveGenerationBenchmark {
+    private static final int[] CHECKPOINTS = {20, 45, 70};
+    private static final long SEED = 7;
+    private static final int TILES_PER_PLAYER = 3;
+    private static final int DEFAULT_REPETITIONS = 30;
+    private static final int WARM_UP_REPETITIONS = 20;
+
+    private MoveGenerationBenchmark() {
+        throw new IllegalStateException("Benchmark class");
+    }
+
+    /**
+     * Runs the benchmark.
+     * @param arguments are the maximal number of threads (defaults to the available processors) and the number of timed
+     * repetitions per configuration (defaults to 30).
+     */
+    public static void main(String[] arguments) {
+        int maximalThreads = arguments.length > 0 ? Integer.parseInt(arguments[0]) : Runtime.getRuntime().availableProcessors();
+        int repetitions = arguments.length > 1 ? Integer.parseInt(arguments[1]) : DEFAULT_REPETITIONS;
+        GameSettings settings = new GameSettings();
+        settings.setTilesPerPlayer(TILES_PER_PLAYER);
+        BenchmarkGame game = new BenchmarkGame(settings, SEED);
+        List<ForkJoinPool> pools = new ArrayList<>();
+        for (int threads = 1; threads <= maximalThreads; threads++) {
+            pools.add(new ForkJoinPool(threads));
+        }
+        System.out.println("Available processors: " + Runtime.getRuntime().availableProcessors());
+        try {
+            for (int checkpoint : CHECKPOINTS) {
+                int turn = game.advanceTo(checkpoint);
+                Player player = game.getActivePlayer();
+                List<Tile> hand = new ArrayList<>(player.getHandOfTiles());
+                MoveList expected = generateSequentially(game.getGrid(), hand, player, settings);
+                List<Runnable> generations = new ArrayList<>();
+                generations.add(() -> generateSequentially(game.getGrid(), hand, player, settings));
+                for (ForkJoinPool pool : pools) {
+                    ParallelMoveGenerator generator = new ParallelMoveGenerator(pool);
+                    MoveList actual = new MoveList();
+                    generator.generatePossibleMoves(game.getGrid(), hand, player, settings, actual);
+                    checkEquality(expected, actual);
+                    generations.add(() -> generator.generatePossibleMoves(game.getGrid(), hand, player, settings, new MoveList()));
+                }
+                double[] times = measure(generations, repetitions);
+                System.out.printf("turn %d, %d moves: sequential %.2f ms%n", turn, expected.size(), times[0]);
+                for (int threads = 1; threads < times.length; threads++) {
+                    System.out.printf("turn %d, %d moves: pool of %d threads %.2f ms%n", turn, expected.size(), threads, times[threads]);
+                }
+            }
+        } finally {
+            pools.forEach(ForkJoinPool::shutdown);
+        }
+    }
+
+    private static void checkEquality(MoveList expected, MoveList actual) {
+        if (expected.size() != actual.size()) {
+            throw new IllegalStateException("Different number of moves: " + expected.size() + " vs " + actual.size());
+        }
+        for (int index = 0; index < expected.size(); index++) {
+            if (expected.get(index) != actual.get(index)
+                    || !PackedMove.hasMeeple(expected.get(index)) && expected.getValue(index) != actual.getValue(index)) {
+                throw new IllegalStateException("Different move at index " + index);
+            }
+        }
+    }
+
+    private static MoveList generateSequentially(Grid grid, List<Tile> hand, Player player, GameSettings settings) {
+        MoveList moves = new MoveList();
+        grid.generatePossibleMoves(hand, player, settings, moves);
+        ZeroSumEvaluator evaluator = new ZeroSumEvaluator(grid, hand, player, settings);
+        for (int index = 0; index < moves.size(); index++) {
+            if (!PackedMove.hasMeeple(moves.get(index))) {
+                evaluator.evaluate(moves, index);
+            }
+        }
+        return moves;
+    }
+
+    /**
+     * Runs the generations in rounds after warm-up rounds, where every round runs every generation once. Interleaving the
+     * generations keeps the warm-up of the virtual machine from favoring the generations that are measured last.
+     * @return the average time per generation in milliseconds, by generation.
+     */
+    private static double[] measure(List<Runnable> generations, int repetitions) {
+        double[] times = new double[generations.size()];
+        for (int repetition = -WARM_UP_REPETITIONS; repetition < repetitions; repetition++) {
+            for (int generation = 0; generation < times.length; generation++) {
+                long start = System.nanoTime();
+                generations.get(generation).run();
+                if (repetition >= 0) {
+                    times[generation] += (System.nanoTime() - start) / 1e6 / repetitions;
+                }
+            }
+        }
+        return times;
+    }
+}
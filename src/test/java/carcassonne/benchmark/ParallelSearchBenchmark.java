@@ -0,0 +1,75 @@
+package carcassonne.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import carcassonne.model.Player;
+import carcassonne.model.ai.ParallelMonteCarloAI;
+import carcassonne.model.ai.ParallelMonteCarloAI.Parallelization;
+import carcassonne.settings.GameSettings;
+import carcassonne.util.RandomStreams;
+
+/**
+ * Measures how the throughput of the {@link ParallelMonteCarloAI} scales with the number of threads. A seeded game is
+ * advanced with greedy moves, and at several turns every parallelization searches with pools of one to the given number
+ * of threads. Every search conducts the same number of playouts instead of searching for a fixed time, thus all
+ * configurations do the same work. The playouts per second are printed for each configuration, after all configurations
+ * were warmed up.
+ * @author Timur Saglam
+ */
+public final class ParallelSearchBenchmark {
+    private static final int[] CHECKPOINTS = {1, 20, 45};
+    private static final long SEED = 7;
+    private static final int DEFAULT_SEARCH_ITERATIONS = 2000;
+    private static final int WARM_UP_ROUNDS = 3;
+
+    private ParallelSearchBenchmark() {
+        throw new IllegalStateException("Benchmark class");
+    }
+
+    /**
+     * Runs the benchmark.
+     * @param arguments are the maximal number of threads (defaults to the available processors) and the playouts per
+     * search (defaults to 2000).
+     */
+    public static void main(String[] arguments) {
+        int maximalThreads = arguments.length > 0 ? Integer.parseInt(arguments[0]) : Runtime.getRuntime().availableProcessors();
+        int searchIterations = arguments.length > 1 ? Integer.parseInt(arguments[1]) : DEFAULT_SEARCH_ITERATIONS;
+        GameSettings settings = new GameSettings();
+        settings.setSearchIterations(searchIterations);
+        BenchmarkGame game = new BenchmarkGame(settings, SEED);
+        List<ForkJoinPool> pools = new ArrayList<>();
+        List<ParallelMonteCarloAI> searches = new ArrayList<>();
+        for (int threads = 1; threads <= maximalThreads; threads++) {
+            pools.add(new ForkJoinPool(threads));
+        }
+        for (Parallelization parallelization : Parallelization.values()) {
+            for (ForkJoinPool pool : pools) {
+                ParallelMonteCarloAI search = new ParallelMonteCarloAI(settings, parallelization, pool);
+                search.prepareForGame(new RandomStreams(SEED));
+                searches.add(search);
+            }
+        }
+        System.out.println("Available processors: " + Runtime.getRuntime().availableProcessors());
+        try {
+            Player firstPlayer = game.getActivePlayer();
+            for (int warmUp = 0; warmUp < WARM_UP_ROUNDS; warmUp++) {
+                searches.forEach(it -> it.calculateBestMoveFor(firstPlayer.getHandOfTiles(), firstPlayer, game.getGrid(), game.getStack()));
+            }
+            for (int checkpoint : CHECKPOINTS) {
+                int turn = game.advanceTo(checkpoint);
+                Player player = game.getActivePlayer();
+                for (ParallelMonteCarloAI search : searches) {
+                    long start = System.nanoTime();
+                    search.calculateBestMoveFor(player.getHandOfTiles(), player, game.getGrid(), game.getStack());
+                    double seconds = (System.nanoTime() - start) / 1e9;
+                    System.out.printf("turn %d %s threads %d: %.0f playouts/s%n", turn, search.getParallelization(), search.getThreads(),
+                            search.getPlayouts() / seconds);
+                }
+            }
+        } finally {
+            pools.forEach(ForkJoinPool::shutdown);
+        }
+    }
+}
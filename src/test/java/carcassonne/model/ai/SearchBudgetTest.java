@@ -0,0 +1,89 @@
+package carcassonne.model.ai;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.function.Function;
+
+import org.junit.Test;
+
+import carcassonne.benchmark.BenchmarkGame;
+import carcassonne.model.Player;
+import carcassonne.settings.GameSettings;
+import carcassonne.util.RandomStreams;
+
+/**
+ * Tests that the AI players that search ahead choose the same moves for the same seed when the number of iterations is
+ * set instead of the search time.
+ * @author Timur Saglam
+ */
+public class SearchBudgetTest {
+    private static final long SEED = 7;
+    private static final int TURN = 20;
+    private static final int ITERATIONS = 300;
+    private static final int DEPTH = 2;
+    private static final int SEARCH_TIME = 1; // too short for the iterations, thus ignored
+
+    @Test
+    public void testMonteCarloSearch() {
+        MonteCarloAI first = new MonteCarloAI(createSettings(ITERATIONS));
+        MonteCarloAI second = new MonteCarloAI(createSettings(ITERATIONS));
+        assertEquals(search(first), search(second));
+        assertEquals(ITERATIONS, first.getPlayouts());
+        assertEquals(ITERATIONS, second.getPlayouts());
+    }
+
+    @Test
+    public void testRootParallelSearch() {
+        Function<GameSettings, ParallelMonteCarloAI> factory = it -> new ParallelMonteCarloAI(it, ParallelMonteCarloAI.Parallelization.ROOT, 2);
+        ParallelMonteCarloAI first = factory.apply(createSettings(ITERATIONS));
+        ParallelMonteCarloAI second = factory.apply(createSettings(ITERATIONS));
+        assertEquals(search(first), search(second));
+        first.finishGame();
+        second.finishGame();
+    }
+
+    @Test
+    public void testRootParallelSearchAfterFinishedGame() {
+        ParallelMonteCarloAI ai = new ParallelMonteCarloAI(createSettings(ITERATIONS), ParallelMonteCarloAI.Parallelization.ROOT, 2);
+        String move = search(ai);
+        ai.finishGame(); // shuts down the pool of the AI
+        assertEquals(move, search(ai));
+        ai.finishGame();
+    }
+
+    @Test
+    public void testExpectiminimaxSearch() {
+        ExpectiminimaxAI first = new ExpectiminimaxAI(createSettings(DEPTH));
+        ExpectiminimaxAI second = new ExpectiminimaxAI(createSettings(DEPTH));
+        assertEquals(search(first), search(second));
+        assertEquals(DEPTH, first.getSearchedDepth());
+    }
+
+    @Test
+    public void testTimeLimit() {
+        GameSettings settings = new GameSettings();
+        assertTrue(settings.isSearchLimitedByTime());
+        settings.setSearchIterations(ITERATIONS);
+        assertFalse(settings.isSearchLimitedByTime());
+    }
+
+    private static GameSettings createSettings(int iterations) {
+        GameSettings settings = new GameSettings();
+        settings.setSearchTime(SEARCH_TIME);
+        settings.setSearchIterations(iterations);
+        return settings;
+    }
+
+    // searches a move on a seeded game and describes it by its placement.
+    private static String search(ArtificialIntelligence ai) {
+        BenchmarkGame game = new BenchmarkGame(SEED);
+        game.advanceTo(TURN);
+        Player player = game.getActivePlayer();
+        ai.prepareForGame(new RandomStreams(SEED));
+        AbstractCarcassonneMove move = ai.calculateBestMoveFor(player.getHandOfTiles(), player, game.getGrid(), game.getStack()).get();
+        return move.getOriginalTile().getType() + " " + move.getRequiredTileRotation() + " on " + move.getX() + "|" + move.getY() + " "
+                + move.getMeeplePosition();
+    }
+}
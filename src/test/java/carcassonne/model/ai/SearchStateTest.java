@@ -0,0 +1,110 @@
+package carcassonne.model.ai;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+import carcassonne.benchmark.BenchmarkGame;
+import carcassonne.model.Meeple;
+import carcassonne.model.Player;
+import carcassonne.model.grid.Grid;
+import carcassonne.model.grid.GridDirection;
+import carcassonne.model.grid.GridPattern;
+import carcassonne.model.grid.GridSpot;
+import carcassonne.model.terrain.TerrainType;
+import carcassonne.model.tile.OrientedTile;
+import carcassonne.model.tile.Tile;
+import carcassonne.model.tile.TileType;
+import carcassonne.settings.GameSettings;
+
+/**
+ * Compares the meeple placements that the {@link SearchState} considers legal with building their pattern, during random
+ * descents from seeded games. The descents place meeples as well, thus the patterns run through tiles and meeples that
+ * were only placed by the search.
+ * @author Timur Saglam
+ */
+public class SearchStateTest {
+    private static final long[] SEEDS = {1, 2, 3, 4, 5, 6};
+    private static final int[] TURNS = {6, 20, 40};
+    private static final int TILES_PER_PLAYER = 3;
+    private static final int DESCENTS = 30;
+    private static final int DEPTH = 5;
+
+    @Test
+    public void testMeeplePlacements() {
+        int checkedMeeples = 0;
+        for (long seed : SEEDS) {
+            GameSettings settings = new GameSettings();
+            settings.setTilesPerPlayer(TILES_PER_PLAYER);
+            BenchmarkGame game = new BenchmarkGame(settings, seed);
+            for (int turn : TURNS) {
+                game.advanceTo(turn);
+                Player player = game.getActivePlayer();
+                SearchState state = new SearchState(game.getGrid(), player, game.getStack(), settings);
+                SplittableRandom random = new SplittableRandom(seed);
+                for (int descent = 0; descent < DESCENTS; descent++) {
+                    checkedMeeples += descend(state, state.getSearchingPlayer(), 0, random, settings, "seed " + seed + " turn " + turn);
+                }
+            }
+        }
+        assertTrue(checkedMeeples > 0);
+    }
+
+    /**
+     * Checks every meeple placement of a random tile and plays a random legal move, up to the maximal depth. Restores the
+     * state afterwards.
+     */
+    private static int descend(SearchState state, int player, int depth, SplittableRandom random, GameSettings settings, String message) {
+        if (depth == DEPTH || state.getRemainingTiles() == 0) {
+            return 0;
+        }
+        TileType type = state.drawRandomTile(random);
+        MoveList moves = new MoveList();
+        state.generateMoves(type, player, moves);
+        MoveList legalMoves = new MoveList();
+        int checkedMeeples = 0;
+        for (int index = 0; index < moves.size(); index++) {
+            long move = moves.get(index);
+            boolean legal = state.isLegal(move, type, player);
+            if (PackedMove.hasMeeple(move)) {
+                assertEquals(message + " depth " + depth + " " + type + " " + PackedMove.toString(move), isLegal(state, move, type, player, settings),
+                        legal);
+                checkedMeeples++;
+            }
+            if (legal) {
+                legalMoves.add(move);
+            }
+        }
+        if (legalMoves.size() > 0) {
+            state.play(legalMoves.get(random.nextInt(legalMoves.size())), type, player);
+            checkedMeeples += descend(state, state.nextPlayer(player), depth + 1, random, settings, message);
+            state.undo();
+        }
+        state.returnTile(type);
+        return checkedMeeples;
+    }
+
+    // builds the pattern of the meeple on the grid of the state, where the meeples of a player are known by their number.
+    private static boolean isLegal(SearchState state, long move, TileType type, int player, GameSettings settings) {
+        Grid grid = state.getGrid();
+        GridSpot spot = grid.getSpot(PackedMove.x(move), PackedMove.y(move));
+        GridDirection position = PackedMove.meeplePosition(move);
+        spot.forcePlacement(new TemporaryTile(new OrientedTile(new Tile(type), PackedMove.rotation(move))));
+        try {
+            if (spot.getTile().getTerrain(position) == TerrainType.MONASTERY) {
+                return true;
+            }
+            GridPattern pattern = grid.getPattern(spot, position);
+            boolean occupiedByPlayer = false;
+            for (Meeple meeple : pattern.getMeepleList()) {
+                occupiedByPlayer |= meeple.getOwner().getNumber() == player;
+            }
+            return pattern.getMeepleList().isEmpty() || occupiedByPlayer && settings.isAllowingFortifying();
+        } finally {
+            spot.removeTile();
+        }
+    }
+}
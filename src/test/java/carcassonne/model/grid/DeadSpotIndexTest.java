@@ -0,0 +1,101 @@
+package carcassonne.model.grid;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+
+import org.junit.Test;
+
+import carcassonne.benchmark.BenchmarkGame;
+import carcassonne.model.Player;
+import carcassonne.model.Round;
+import carcassonne.model.tile.Tile;
+import carcassonne.model.tile.TileRotation;
+import carcassonne.model.tile.TileType;
+import carcassonne.settings.GameSettings;
+
+/**
+ * Compares the dead and near-dead spots of the {@link DeadSpotIndex} with trying every remaining tile in every rotation
+ * on every free spot, during seeded games.
+ * @author Timur Saglam
+ */
+public class DeadSpotIndexTest {
+    private static final long[] SEEDS = {1, 2, 3};
+    private static final int TILES_PER_PLAYER = 3;
+
+    @Test
+    public void testSeededGames() {
+        for (long seed : SEEDS) {
+            GameSettings settings = new GameSettings();
+            settings.setTilesPerPlayer(TILES_PER_PLAYER);
+            BenchmarkGame game = new BenchmarkGame(settings, seed);
+            game.getActivePlayer(); // deals the first hand
+            int turn = 0;
+            while (!game.getStack().isEmpty()) {
+                assertSpots(game, seed);
+                turn = game.advanceTo(turn + 1);
+            }
+            assertSpots(game, seed);
+        }
+    }
+
+    @Test
+    public void testDiscardedTile() {
+        Grid grid = new Grid(5, 5, true);
+        GridSpot spot = grid.getSpot(grid.getFoundation().getX() + 1, grid.getFoundation().getY());
+        TileType type = TileType.validTiles().stream().filter(it -> fits(it, spot)).findFirst().get();
+        grid.setRemainingTiles(Collections.singletonMap(type, 1));
+        assertTrue(grid.isNearDeadSpot(spot));
+        grid.discard(new Tile(type));
+        assertTrue(grid.isDeadSpot(spot));
+        assertFalse(grid.isNearDeadSpot(spot));
+    }
+
+    private static void assertSpots(BenchmarkGame game, long seed) {
+        Grid grid = game.getGrid();
+        int[] remainingTiles = countRemainingTiles(game);
+        for (int x = 0; x < grid.getWidth(); x++) {
+            for (int y = 0; y < grid.getHeight(); y++) {
+                GridSpot spot = grid.getSpot(x, y);
+                boolean frontier = spot.isFree() && !grid.getNeighbors(spot, false, GridDirection.directNeighbors()).isEmpty();
+                int fittingTiles = 0;
+                for (TileType type : TileType.validTiles()) {
+                    if (frontier && fits(type, spot)) {
+                        fittingTiles += remainingTiles[type.ordinal()];
+                    }
+                }
+                String message = "seed " + seed + " spot " + x + "|" + y;
+                assertEquals(message, frontier && fittingTiles == 0, grid.isDeadSpot(spot));
+                assertEquals(message, frontier && fittingTiles > 0 && fittingTiles <= DeadSpotIndex.NEAR_DEAD_THRESHOLD,
+                        grid.isNearDeadSpot(spot));
+            }
+        }
+    }
+
+    // the tiles that are still to be placed are the tiles on the stack and on the hands of the players.
+    private static int[] countRemainingTiles(BenchmarkGame game) {
+        int[] remainingTiles = new int[TileType.values().length];
+        for (TileType type : TileType.values()) {
+            remainingTiles[type.ordinal()] = game.getStack().getQuantity(type);
+        }
+        Round round = game.getRound();
+        for (int number = 0; number < round.getPlayerCount(); number++) {
+            Player player = round.getPlayer(number);
+            player.getHandOfTiles().forEach(it -> remainingTiles[it.getType().ordinal()]++);
+        }
+        return remainingTiles;
+    }
+
+    private static boolean fits(TileType type, GridSpot spot) {
+        Tile tile = new Tile(type);
+        for (TileRotation rotation : TileRotation.values()) {
+            tile.rotateTo(rotation);
+            if (spot.isPlaceable(tile, true)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,85 @@
+package carcassonne.model.grid;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import carcassonne.benchmark.BenchmarkGame;
+import carcassonne.model.Meeple;
+import carcassonne.model.Player;
+import carcassonne.model.ai.MoveList;
+import carcassonne.model.tile.Tile;
+import carcassonne.settings.GameSettings;
+
+/**
+ * Tests the copies of the {@link Grid} during seeded games, including copies that are brought up to date instead of
+ * being copied again.
+ * @author Timur Saglam
+ */
+public class GridCopyTest {
+    private static final long[] SEEDS = {1, 2, 3};
+    private static final int TURN_STEP = 6;
+    private static final int LAST_TURN = 200;
+
+    @Test
+    public void testSynchronizedCopy() {
+        for (long seed : SEEDS) {
+            BenchmarkGame game = MoveGenerationTest.createGame(seed);
+            Grid copy = game.getGrid().copy();
+            int turn = 0;
+            while (!game.getStack().isEmpty() && turn < LAST_TURN) {
+                turn = game.advanceTo(turn + TURN_STEP);
+                assertTrue(copy.synchronizeWith(game.getGrid()));
+                assertEquivalent(game.getGrid(), copy, game.getActivePlayer(), game.getSettings());
+                assertEquivalent(game.getGrid(), game.getGrid().copy(), game.getActivePlayer(), game.getSettings());
+            }
+        }
+    }
+
+    @Test
+    public void testLaterCopy() {
+        BenchmarkGame game = MoveGenerationTest.createGame(SEEDS[0]);
+        game.advanceTo(TURN_STEP);
+        Grid earlierGrid = game.getGrid().copy();
+        game.advanceTo(TURN_STEP * 2);
+        Grid laterCopy = game.getGrid().copy();
+        assertFalse(laterCopy.synchronizeWith(earlierGrid));
+    }
+
+    static void assertEquivalent(Grid original, Grid copy, Player player, GameSettings settings) {
+        for (int x = 0; x < original.getWidth(); x++) {
+            for (int y = 0; y < original.getHeight(); y++) {
+                Tile tile = original.getSpot(x, y).getTile();
+                Tile copiedTile = copy.getSpot(x, y).getTile();
+                assertEquals(tile == null, copiedTile == null);
+                if (tile != null) {
+                    assertEquals(tile.getType(), copiedTile.getType());
+                    assertEquals(tile.getRotation(), copiedTile.getRotation());
+                    assertMeeple(tile.getMeeple(), copiedTile.getMeeple());
+                }
+                assertEquals(original.isDeadSpot(original.getSpot(x, y)), copy.isDeadSpot(copy.getSpot(x, y)));
+                assertEquals(original.isNearDeadSpot(original.getSpot(x, y)), copy.isNearDeadSpot(copy.getSpot(x, y)));
+            }
+        }
+        assertEquals(original.getMeepleIndex().getMeeples().size(), copy.getMeepleIndex().getMeeples().size());
+        List<Tile> hand = new ArrayList<>(player.getHandOfTiles());
+        MoveList expected = new MoveList();
+        original.generatePossibleMoves(hand, player, settings, expected);
+        MoveList actual = new MoveList();
+        copy.generatePossibleMoves(hand, player, settings, actual);
+        MoveGenerationTest.assertMoves(expected, actual);
+    }
+
+    private static void assertMeeple(Meeple meeple, Meeple copiedMeeple) {
+        assertEquals(meeple == null, copiedMeeple == null);
+        if (meeple != null) {
+            assertEquals(meeple.getOwner(), copiedMeeple.getOwner());
+            assertEquals(meeple.getPosition(), copiedMeeple.getPosition());
+        }
+    }
+}
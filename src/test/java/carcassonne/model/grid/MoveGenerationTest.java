@@ -0,0 +1,70 @@
+package carcassonne.model.grid;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import carcassonne.benchmark.BenchmarkGame;
+import carcassonne.model.Player;
+import carcassonne.model.ai.MoveList;
+import carcassonne.model.tile.Tile;
+import carcassonne.settings.GameSettings;
+
+/**
+ * Tests the move generation of the {@link Grid} during seeded games.
+ * @author Timur Saglam
+ */
+public class MoveGenerationTest {
+    private static final long SEED = 7;
+    private static final int TILES_PER_PLAYER = 3;
+    private static final int TURN = 30;
+    private static final int THREADS = 4;
+    private static final int GENERATIONS = 25;
+
+    @Test
+    public void testConcurrentGenerations() throws InterruptedException, ExecutionException {
+        BenchmarkGame game = createGame(SEED);
+        game.advanceTo(TURN);
+        Player player = game.getActivePlayer();
+        List<Tile> hand = new ArrayList<>(player.getHandOfTiles());
+        GameSettings settings = game.getSettings();
+        MoveList expected = new MoveList();
+        game.getGrid().generatePossibleMoves(hand, player, settings, expected);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<MoveList>> results = new ArrayList<>();
+            for (int generation = 0; generation < THREADS * GENERATIONS; generation++) {
+                results.add(executor.submit(() -> {
+                    MoveList moves = new MoveList();
+                    game.getGrid().generatePossibleMoves(hand, player, settings, moves);
+                    return moves;
+                }));
+            }
+            for (Future<MoveList> result : results) {
+                assertMoves(expected, result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    static BenchmarkGame createGame(long seed) {
+        GameSettings settings = new GameSettings();
+        settings.setTilesPerPlayer(TILES_PER_PLAYER);
+        return new BenchmarkGame(settings, seed);
+    }
+
+    static void assertMoves(MoveList expected, MoveList actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int index = 0; index < expected.size(); index++) {
+            assertEquals(expected.get(index), actual.get(index));
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package carcassonne.model.grid;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+import carcassonne.benchmark.BenchmarkGame;
+import carcassonne.model.Player;
+import carcassonne.model.ai.MoveList;
+import carcassonne.model.ai.PackedMove;
+import carcassonne.model.ai.ZeroSumEvaluator;
+import carcassonne.model.tile.Tile;
+import carcassonne.settings.GameSettings;
+
+/**
+ * Tests the {@link ParallelMoveGenerator} against the sequential move generation of the {@link Grid} during seeded
+ * games, where the scratch copies of the generator are reused from turn to turn.
+ * @author Timur Saglam
+ */
+public class ParallelMoveGeneratorTest {
+    private static final long[] SEEDS = {1, 2, 3};
+    private static final int THREADS = 3;
+    private static final int TURN_STEP = 4;
+    private static final int LAST_TURN = 200;
+
+    @Test
+    public void testSequentialEquivalence() {
+        ForkJoinPool pool = new ForkJoinPool(THREADS);
+        try {
+            for (long seed : SEEDS) {
+                BenchmarkGame game = MoveGenerationTest.createGame(seed);
+                ParallelMoveGenerator generator = new ParallelMoveGenerator(pool);
+                int turn = 0;
+                while (!game.getStack().isEmpty() && turn < LAST_TURN) {
+                    turn = game.advanceTo(turn + TURN_STEP);
+                    Player player = game.getActivePlayer();
+                    List<Tile> hand = new ArrayList<>(player.getHandOfTiles());
+                    GameSettings settings = game.getSettings();
+                    MoveList expected = generateSequentially(game.getGrid(), hand, player, settings);
+                    MoveList actual = new MoveList();
+                    generator.generatePossibleMoves(game.getGrid(), hand, player, settings, actual);
+                    MoveGenerationTest.assertMoves(expected, actual);
+                    for (int index = 0; index < expected.size(); index++) {
+                        if (!PackedMove.hasMeeple(expected.get(index))) {
+                            assertEquals(expected.getValue(index), actual.getValue(index), 0);
+                            assertEquals(expected.getValueUpperBound(index), actual.getValueUpperBound(index), 0);
+                        }
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static MoveList generateSequentially(Grid grid, List<Tile> hand, Player player, GameSettings settings) {
+        MoveList moves = new MoveList();
+        grid.generatePossibleMoves(hand, player, settings, moves);
+        ZeroSumEvaluator evaluator = new ZeroSumEvaluator(grid, hand, player, settings);
+        for (int index = 0; index < moves.size(); index++) {
+            if (!PackedMove.hasMeeple(moves.get(index))) {
+                evaluator.evaluate(moves, index);
+            }
+        }
+        return moves;
+    }
+}
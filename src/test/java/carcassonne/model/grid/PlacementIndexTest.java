@@ -0,0 +1,81 @@
+package carcassonne.model.grid;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import carcassonne.benchmark.BenchmarkGame;
+import carcassonne.model.tile.Tile;
+import carcassonne.model.tile.TileRotation;
+import carcassonne.model.tile.TileType;
+import carcassonne.settings.GameSettings;
+
+/**
+ * Compares the legal placements of the {@link PlacementIndex} with checking every tile type in every rotation on every
+ * spot, during seeded games with and without enclaves.
+ * @author Timur Saglam
+ */
+public class PlacementIndexTest {
+    private static final long[] SEEDS = {1, 2, 3};
+    private static final int TILES_PER_PLAYER = 3;
+    private static final int TURN_STEP = 3;
+
+    @Test
+    public void testWithEnclaves() {
+        testSeededGames(true);
+    }
+
+    @Test
+    public void testWithoutEnclaves() {
+        testSeededGames(false);
+    }
+
+    private static void testSeededGames(boolean allowEnclaves) {
+        for (long seed : SEEDS) {
+            GameSettings settings = new GameSettings();
+            settings.setTilesPerPlayer(TILES_PER_PLAYER);
+            settings.setAllowEnclaves(allowEnclaves);
+            BenchmarkGame game = new BenchmarkGame(settings, seed);
+            game.getActivePlayer(); // deals the first hand
+            int turn = 0;
+            while (!game.getStack().isEmpty()) {
+                assertPlacements(game.getGrid(), seed);
+                turn = game.advanceTo(turn + TURN_STEP);
+            }
+            assertPlacements(game.getGrid(), seed);
+        }
+    }
+
+    private static void assertPlacements(Grid grid, long seed) {
+        for (TileType type : TileType.validTiles()) {
+            Tile tile = new Tile(type);
+            for (TileRotation rotation : TileRotation.values()) {
+                tile.rotateTo(rotation);
+                List<GridSpot> expected = new ArrayList<>();
+                for (int x = 0; x < grid.getWidth(); x++) { // ordered by coordinates, like the index
+                    for (int y = 0; y < grid.getHeight(); y++) {
+                        GridSpot spot = grid.getSpot(x, y);
+                        boolean legal = isPlaceable(grid, spot, tile);
+                        assertEquals("seed " + seed + " " + type + " " + rotation + " at " + x + "|" + y, legal,
+                                grid.isLegalPlacement(spot, type, rotation));
+                        if (legal) {
+                            expected.add(spot);
+                        }
+                    }
+                }
+                assertEquals(expected, grid.getLegalSpots(type, rotation));
+            }
+        }
+    }
+
+    // only spots next to placed tiles are checked in full, as the enclave rule is expensive to check.
+    private static boolean isPlaceable(Grid grid, GridSpot spot, Tile tile) {
+        if (grid.getNeighbors(spot, false, GridDirection.directNeighbors()).isEmpty()) {
+            return false;
+        }
+        return spot.isPlaceable(tile, grid.isAllowingEnclaves());
+    }
+}
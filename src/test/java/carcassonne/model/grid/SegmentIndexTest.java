@@ -0,0 +1,102 @@
+package carcassonne.model.grid;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import carcassonne.benchmark.BenchmarkGame;
+import carcassonne.model.Player;
+import carcassonne.model.Round;
+import carcassonne.model.ai.TemporaryTile;
+import carcassonne.model.terrain.TerrainType;
+import carcassonne.model.tile.OrientedTile;
+import carcassonne.model.tile.Tile;
+import carcassonne.model.tile.TileRotation;
+import carcassonne.model.tile.TileType;
+import carcassonne.settings.GameSettings;
+
+/**
+ * Compares the meeple placements allowed by the {@link SegmentIndex} with building the pattern of every position,
+ * during seeded games. Both the placed tiles and temporary tiles on every legal placement are checked, for every player
+ * with and without fortifying.
+ * @author Timur Saglam
+ */
+public class SegmentIndexTest {
+    private static final long[] SEEDS = {1, 2, 3};
+    private static final int TILES_PER_PLAYER = 3;
+    private static final int TURN_STEP = 5;
+
+    @Test
+    public void testSeededGames() {
+        for (long seed : SEEDS) {
+            GameSettings settings = new GameSettings();
+            settings.setTilesPerPlayer(TILES_PER_PLAYER);
+            BenchmarkGame game = new BenchmarkGame(settings, seed);
+            game.getActivePlayer(); // deals the first hand
+            int turn = 0;
+            while (!game.getStack().isEmpty()) {
+                assertPlacedTiles(game, seed);
+                assertTemporaryTiles(game, seed);
+                turn = game.advanceTo(turn + TURN_STEP);
+            }
+            assertPlacedTiles(game, seed);
+        }
+    }
+
+    private static void assertPlacedTiles(BenchmarkGame game, long seed) {
+        Grid grid = game.getGrid();
+        for (int x = 0; x < grid.getWidth(); x++) {
+            for (int y = 0; y < grid.getHeight(); y++) {
+                if (grid.getSpot(x, y).isOccupied()) {
+                    assertPositions(game, grid.getSpot(x, y), "seed " + seed + " placed tile at " + x + "|" + y);
+                }
+            }
+        }
+    }
+
+    private static void assertTemporaryTiles(BenchmarkGame game, long seed) {
+        Grid grid = game.getGrid();
+        for (TileType type : TileType.validTiles()) {
+            Tile prototype = new Tile(type);
+            for (TileRotation rotation : TileRotation.values()) {
+                for (GridSpot spot : grid.getLegalSpots(type, rotation)) {
+                    spot.forcePlacement(new TemporaryTile(new OrientedTile(prototype, rotation)));
+                    assertPositions(game, spot, "seed " + seed + " " + type + " " + rotation + " at " + spot.getX() + "|" + spot.getY());
+                    spot.removeTile();
+                }
+            }
+        }
+    }
+
+    private static void assertPositions(BenchmarkGame game, GridSpot spot, String message) {
+        Grid grid = game.getGrid();
+        for (GridDirection position : GridDirection.values()) {
+            TerrainType terrain = spot.getTile().getTerrain(position);
+            if (terrain != TerrainType.CASTLE && terrain != TerrainType.ROAD && terrain != TerrainType.FIELDS) {
+                continue;
+            }
+            GridPattern pattern = terrain == TerrainType.FIELDS ? new FieldsPattern(spot, position)
+                    : new CastleAndRoadPattern(spot, position, terrain);
+            for (Player player : players(game.getRound())) {
+                for (boolean fortifying : new boolean[] {true, false}) {
+                    GameSettings settings = new GameSettings();
+                    settings.setAllowFortifying(fortifying);
+                    boolean expected = pattern.isNotOccupied() || pattern.isOccupiedBy(player) && fortifying;
+                    assertEquals(message + " " + position, expected, grid.allowsPlacingMeeple(spot, position, player, settings));
+                }
+            }
+            pattern.removeTileTags();
+        }
+    }
+
+    private static List<Player> players(Round round) {
+        List<Player> players = new ArrayList<>();
+        for (int number = 0; number < round.getPlayerCount(); number++) {
+            players.add(round.getPlayer(number));
+        }
+        return players;
+    }
+}
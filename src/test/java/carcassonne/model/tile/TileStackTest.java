@@ -0,0 +1,88 @@
+package carcassonne.model.tile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import carcassonne.settings.GameSettings;
+import carcassonne.util.RandomStreams;
+
+/**
+ * Tests the tile quantities and the change notifications of the {@link TileStack}.
+ * @author Timur Saglam
+ */
+public class TileStackTest {
+    private static final long SEED = 7;
+
+    @Test
+    public void testQuantities() {
+        TileStack stack = createStack();
+        int[] expected = new int[TileType.values().length];
+        for (TileType type : TileType.validTiles()) {
+            expected[type.ordinal()] = stack.getQuantity(type);
+        }
+        while (!stack.isEmpty()) {
+            Tile tile = stack.drawTile();
+            expected[tile.getType().ordinal()]--;
+            if (stack.getSize() % 3 == 0 && stack.putBack(tile)) {
+                expected[tile.getType().ordinal()]++;
+            }
+            for (TileType type : TileType.values()) {
+                assertEquals(type.name(), expected[type.ordinal()], stack.getQuantity(type));
+                assertEquals(type.name(), expected[type.ordinal()], (int) stack.getTileQuantities().getOrDefault(type, 0));
+            }
+        }
+    }
+
+    @Test
+    public void testChangeListener() {
+        TileStack stack = createStack();
+        AtomicInteger changes = new AtomicInteger();
+        stack.registerChangeListener(changes::incrementAndGet);
+        Tile tile = stack.drawTile();
+        assertEquals(1, changes.get());
+        assertTrue(stack.putBack(tile));
+        assertEquals(2, changes.get());
+        stack.fork().drawTile(); // the listeners observe the live stack only
+        assertEquals(2, changes.get());
+        Tile returnedTile = null;
+        while (!stack.isEmpty()) {
+            returnedTile = stack.drawTile(); // the returned tile is drawn last
+        }
+        int draws = changes.get();
+        assertEquals(tile.getType(), returnedTile.getType());
+        assertFalse(stack.putBack(returnedTile)); // a tile is discarded when it is returned a second time
+        assertEquals(draws, changes.get());
+    }
+
+    @Test
+    public void testFork() {
+        TileStack stack = createStack();
+        Tile drawnTile = stack.drawTile();
+        stack.drawTile();
+        TileStack fork = stack.fork();
+        assertTrue(fork.putBack(drawnTile)); // the fork knows the tiles drawn from the original stack
+        assertEquals(stack.getSize() + 1, fork.getSize());
+        assertEquals(stack.getQuantity(drawnTile.getType()) + 1, fork.getQuantity(drawnTile.getType()));
+        while (!stack.isEmpty()) {
+            Tile tile = stack.drawTile();
+            Tile forkedTile = fork.drawTile();
+            assertEquals(tile.getType(), forkedTile.getType());
+            assertEquals(tile.getRotation(), forkedTile.getRotation());
+        }
+        Tile returnedTile = fork.drawTile();
+        assertEquals(drawnTile.getType(), returnedTile.getType());
+        assertTrue(fork.isEmpty());
+        assertFalse(fork.putBack(returnedTile));
+        assertTrue(stack.putBack(drawnTile)); // the original is not affected by the fork
+    }
+
+    private static TileStack createStack() {
+        GameSettings settings = new GameSettings();
+        return new TileStack(settings.getTileDistribution(), settings.getStackSizeMultiplier(), new RandomStreams(SEED));
+    }
+}
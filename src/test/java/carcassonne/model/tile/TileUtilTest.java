@@ -0,0 +1,26 @@
+package carcassonne.model.tile;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import carcassonne.settings.GameSettings;
+
+/**
+ * Checks the static catalog of image files of the {@link TileUtil} against the image resources in the tile folder, so
+ * that adding or removing an image file cannot silently break the rotations of a tile type.
+ * @author Timur Saglam
+ */
+public class TileUtilTest {
+
+    @Test
+    public void testImageCounts() {
+        for (TileType type : TileType.values()) {
+            for (int image = 0; image < TileRotation.values().length; image++) {
+                String path = GameSettings.TILE_FOLDER_PATH + type.name() + image + GameSettings.TILE_FILE_TYPE;
+                boolean exists = TileUtilTest.class.getClassLoader().getResource(path) != null;
+                assertEquals(path, image < TileUtil.rotationLimitFor(type), exists);
+            }
+        }
+    }
+}